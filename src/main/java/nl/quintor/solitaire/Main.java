@@ -1,15 +1,28 @@
 package nl.quintor.solitaire;
 
+import nl.quintor.solitaire.corpus.DealCorpus;
+import nl.quintor.solitaire.corpus.DealIndex;
+import nl.quintor.solitaire.corpus.Difficulty;
 import nl.quintor.solitaire.game.GameStateController;
 import nl.quintor.solitaire.game.moves.*;
 import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.leaderboard.Leaderboard;
+import nl.quintor.solitaire.leaderboard.Score;
 import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.save.AutoSaver;
+import nl.quintor.solitaire.ui.LatencyTracker;
+import nl.quintor.solitaire.ui.LatencyTracker.Phase;
 import nl.quintor.solitaire.ui.UI;
 import nl.quintor.solitaire.ui.cli.CommandLineUI;
+import nl.quintor.solitaire.ui.raw.RawTerminalUI;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.Random;
 
 
 /**
@@ -29,19 +42,38 @@ public class Main {
      *     <li>communicate the result to the player
      * </ul>
      *
+     * All input that the player typed ahead (or that was piped in) is translated and applied before the GameState
+     * object is visualized again.
+     *
+     * After every applied move, the GameState object is handed to an {@link AutoSaver}, which saves it on a
+     * background thread. If a saved game exists at startup, the player is offered to resume it. The save is deleted
+     * when the game is over.
+     *
      * When the game loop exits, the result of the game is communicated to the player and the UI is refreshed one final
      * time.
      *
+     * The time it takes to handle every input, from reading it to drawing the next frame, is recorded by a
+     * {@link LatencyTracker}. The hidden command "L" shows its report.
+     *
+     * The option {@code --difficulty=easy|medium|hard} deals a game of the requested difficulty from the default
+     * {@link DealCorpus}, if its {@link DealIndex} has been filled by {@link nl.quintor.solitaire.rating.DealRater}. The option
+     * {@code --raw} plays with single keystrokes in a {@link RawTerminalUI}, if the terminal supports it.
+     *
      * @param args the command-line arguments
      */
-    public static void main(String... args){
-        // initialize the GameState, UI and all possible moves
-        UI ui = new CommandLineUI();
-        GameState gameState = GameStateController.init();
+    public static void main(String... args) {
+        // initialize the GameState, UI and all possible moves; resume the saved game if the player wants to
+        LatencyTracker latency = new LatencyTracker();
+        UI ui = createUI(args, latency);
+        GameState gameState = AutoSaver.load(AutoSaver.DEFAULT_FILE)
+            .filter(saved -> ui.requestConfirmation("Resume your previous game (score " + saved.getScore() + ")?"))
+            .orElseGet(() -> newGame(option(args, "--difficulty=")));
+        AutoSaver autoSaver = new AutoSaver(AutoSaver.DEFAULT_FILE);
         List<String> keys = Arrays.asList("C", "M", "R", "H", "Q");
         List<Move> moves = Arrays.asList(new CycleStock(), new MoveCard(), new Revert(), new Help(), new Quit());
         HashMap<String, Move> possibleMoves = new HashMap<>();
         for (int i = 0; i<keys.size(); i++) possibleMoves.put(keys.get(i), moves.get(i));
+        possibleMoves.put("L", new ShowLatency(latency)); // hidden, for diagnosing slow terminals
 
         // start the game by displaying the help info
         ui.setMessage(new Help().apply(gameState));
@@ -49,30 +81,112 @@ public class Main {
 
         // game loop
         while (!gameState.isGameOver()) {
-            // show gamestate to the player and ask for next move
-            String playerInput = ui.refreshAndRequestMove(gameState, moves).toUpperCase();
+            // show gamestate to the player and ask for the next moves; apply all queued moves before the next refresh
+            for (String input : ui.refreshAndRequestMoves(gameState, moves)) {
+                long start = System.nanoTime();
+                String playerInput = input.toUpperCase();
 
-            // default to the previous input if this input is empty (if the player hits <Return>)
-            playerInput = playerInput.length() == 0 ? previousInput : playerInput;
-            Move move = possibleMoves
-                .getOrDefault(playerInput.substring(0,1), new Dummy()) // default to dummy if the player enters nonsense
-                .createInstance(playerInput);
-            previousInput = playerInput;
+                // default to the previous input if this input is empty (if the player hits <Return>)
+                playerInput = playerInput.length() == 0 ? previousInput : playerInput;
+                Move move = possibleMoves
+                    .getOrDefault(playerInput.substring(0,1), new Dummy()) // default to dummy if the player enters nonsense
+                    .createInstance(playerInput);
+                previousInput = playerInput;
+                start = latency.record(Phase.PARSE, start);
 
-            try{
-                ui.setMessage(move.apply(gameState));
-                GameStateController.detectGameWin(gameState);
-                GameStateController.applyTimePenalty(gameState);
-            } catch (MoveException e){
-                ui.setErrorMessage(e.getMessage());
+                try{
+                    ui.setMessage(move.apply(gameState));
+                    start = latency.record(Phase.APPLY, start);
+                    GameStateController.detectGameWin(gameState);
+                    gameState.setEndTime(LocalDateTime.now());
+                    GameStateController.applyTimePenalty(gameState);
+                    autoSaver.submit(gameState);
+                    latency.record(Phase.UPDATE, start);
+                } catch (MoveException e){
+                    latency.record(Phase.APPLY, start);
+                    ui.setErrorMessage(e.getMessage());
+                }
+                if (gameState.isGameOver()) break;
             }
         }
 
+        // a finished game can't be resumed
+        try {
+            autoSaver.discard();
+        } catch (IOException e) {
+            ui.setErrorMessage("The saved game could not be deleted: " + e.getMessage());
+        }
+
         // if the game is over, add the time bonus and refresh one final time but don't show any possible moves
         if (gameState.isGameWon()){
             GameStateController.applyBonusScore(gameState);
-            ui.setMessage("Congratulations, you beat the game!!! " + gameState.toString());
+            ui.setMessage("Congratulations, you beat the game!!! " + gameState.toString() + submitScore(gameState));
         }
         ui.refresh(gameState);
+        ui.close();
+    }
+
+    /**
+     * Creates the {@link RawTerminalUI} if the option {@code --raw} is given and the terminal supports raw mode, and
+     * the {@link CommandLineUI} otherwise.
+     *
+     * @param args the command-line arguments
+     * @param latency latency tracker of the session
+     * @return UI
+     */
+    private static UI createUI(String[] args, LatencyTracker latency) {
+        if (Arrays.asList(args).contains("--raw")) {
+            try {
+                return RawTerminalUI.open(latency);
+            } catch (IOException e) {
+                System.err.println("Raw terminal mode is not available, using the command line: " + e.getMessage());
+            }
+        }
+        return new CommandLineUI(latency);
+    }
+
+    /**
+     * Submits the final score of a won game to the {@link Leaderboard}.
+     *
+     * @param gameState the won game
+     * @return the rank of the score, to be shown to the player
+     */
+    private static String submitScore(GameState gameState) {
+        try (Leaderboard leaderboard = Leaderboard.open(Leaderboard.DEFAULT_FILE, Leaderboard.DEFAULT_CAPACITY)) {
+            Score score = leaderboard.submit(System.getProperty("user.name"), gameState.getScore(), gameState.getSeed());
+            return "\nYour score ranks #" + leaderboard.rank(score.getScore()) + " on the leaderboard.";
+        } catch (IOException e) {
+            return "\nThe leaderboard could not be updated: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Deals a new game. If a difficulty is requested, a deal of that difficulty is picked from the {@link DealIndex} of
+     * the default {@link DealCorpus}; otherwise, or if there is no such deal, a random deal.
+     *
+     * @param difficulty requested difficulty, case insensitive, or null
+     * @return new GameState object
+     */
+    private static GameState newGame(String difficulty) {
+        if (difficulty == null) return GameStateController.init();
+        try (DealCorpus corpus = DealCorpus.open(DealCorpus.DEFAULT_FILE);
+             DealIndex index = DealIndex.open(DealIndex.pathFor(DealCorpus.DEFAULT_FILE))) {
+            OptionalLong deal = index.random(Difficulty.valueOf(difficulty.toUpperCase()), new Random());
+            return deal.isPresent() ? GameStateController.init(corpus.seed(deal.getAsLong())) : GameStateController.init();
+        } catch (IOException | IllegalArgumentException e) {
+            return GameStateController.init();
+        }
+    }
+
+    /**
+     * Returns the value of the command-line option with the provided prefix.
+     *
+     * @param args the command-line arguments
+     * @param prefix option name including the '=' sign
+     * @return option value, or null if the option is absent
+     */
+    private static String option(String[] args, String prefix) {
+        for (String arg : args) if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        return null;
     }
 }
@@ -0,0 +1,179 @@
+package nl.quintor.solitaire.analytics;
+
+import nl.quintor.solitaire.corpus.Difficulty;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable record of a finished game, as consumed by {@link ResultAggregator}. Results are stored in result files as
+ * one comma-separated line per game, see {@link #toString()} and {@link #parse(String)}. The strategy is the name of
+ * the bot that played the game, or {@value #HUMAN} for games played by a person.
+ */
+public final class GameResult {
+    /**
+     * Header line of result files. Lines starting with '#' are ignored by {@link #parse(String)} users.
+     */
+    public static final String HEADER = "#seed,difficulty,strategy,won,moves,durationMillis,score,stockCycles";
+
+    /**
+     * Strategy of games played by a person.
+     */
+    public static final String HUMAN = "human";
+
+    private final long seed;
+    private final Difficulty difficulty;
+    private final String strategy;
+    private final boolean won;
+    private final int moves;
+    private final long durationMillis;
+    private final long score;
+    private final int stockCycles;
+
+    /**
+     * Creates a new GameResult.
+     *
+     * @param seed seed of the deal
+     * @param difficulty difficulty of the deal
+     * @param strategy name of the strategy that played the game, without commas
+     * @param won true if the game was won
+     * @param moves number of moves played
+     * @param durationMillis playing time in milliseconds
+     * @param score final score
+     * @param stockCycles number of times the stock was cycled
+     */
+    public GameResult(long seed, Difficulty difficulty, String strategy, boolean won, int moves, long durationMillis,
+                      long score, int stockCycles) {
+        if (strategy.indexOf(',') >= 0) throw new IllegalArgumentException("Strategy name with a comma: " + strategy);
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.strategy = strategy;
+        this.won = won;
+        this.moves = moves;
+        this.durationMillis = durationMillis;
+        this.score = score;
+        this.stockCycles = stockCycles;
+    }
+
+    /**
+     * Creates the result of the provided finished game. Games without an end time are considered to end now.
+     *
+     * @param gameState finished game
+     * @param difficulty difficulty of the deal
+     * @param strategy name of the strategy that played the game
+     * @return result of the game
+     */
+    public static GameResult of(GameState gameState, Difficulty difficulty, String strategy) {
+        LocalDateTime end = gameState.getEndTime() == null ? LocalDateTime.now() : gameState.getEndTime();
+        return new GameResult(gameState.getSeed(), difficulty, strategy, gameState.isGameWon(),
+            gameState.getMoves().size(), Duration.between(gameState.getStartTime(), end).toMillis(),
+            gameState.getScore(), gameState.getStockCycles());
+    }
+
+    /**
+     * Parses a line of a result file. Lines without a strategy, written before the strategy was recorded, are parsed
+     * with an empty strategy.
+     *
+     * @param line line in the format of {@link #toString()}
+     * @return parsed result
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static GameResult parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length == 7) {
+            fields = new String[]{fields[0], fields[1], "", fields[2], fields[3], fields[4], fields[5], fields[6]};
+        }
+        if (fields.length != 8) throw new IllegalArgumentException("Malformed game result: " + line);
+        try {
+            return new GameResult(Long.parseLong(fields[0]), Difficulty.valueOf(fields[1]), fields[2],
+                Boolean.parseBoolean(fields[3]), Integer.parseInt(fields[4]), Long.parseLong(fields[5]),
+                Long.parseLong(fields[6]), Integer.parseInt(fields[7]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed game result: " + line, e);
+        }
+    }
+
+    /**
+     * Getter for seed.
+     *
+     * @return seed of the deal
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for difficulty.
+     *
+     * @return difficulty of the deal
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Getter for strategy.
+     *
+     * @return name of the strategy that played the game
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Getter for won.
+     *
+     * @return true if the game was won
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Getter for moves.
+     *
+     * @return number of moves played
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Getter for durationMillis.
+     *
+     * @return playing time in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Getter for score.
+     *
+     * @return final score
+     */
+    public long getScore() {
+        return score;
+    }
+
+    /**
+     * Getter for stockCycles.
+     *
+     * @return number of times the stock was cycled
+     */
+    public int getStockCycles() {
+        return stockCycles;
+    }
+
+    /**
+     * Returns the result as a line of a result file, for example "42,UNRATED,Greedy,true,120,35000,1500,2".
+     *
+     * @return comma-separated fields in the order of {@link #HEADER}
+     */
+    @Override
+    public String toString() {
+        return seed + "," + difficulty + "," + strategy + "," + won + "," + moves + "," + durationMillis + "," + score
+            + "," + stockCycles;
+    }
+}
@@ -0,0 +1,108 @@
+package nl.quintor.solitaire.analytics;
+
+import nl.quintor.solitaire.corpus.Difficulty;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Streaming aggregator of finished-game records. Every result is recorded in the {@link ResultStats} of all games, in
+ * those of its deal bucket, the {@link Difficulty} of the deal, and in those of its strategy. Memory use only grows
+ * with the number of strategies, however many results are consumed.
+ *
+ * <p>
+ * An aggregator is not thread-safe. Parallel workers each fill their own aggregator, and the aggregators are merged
+ * afterwards; {@link #collector()} does exactly that for (parallel) streams.
+ */
+public final class ResultAggregator implements Consumer<GameResult> {
+    private final ResultStats total = new ResultStats();
+    private final Map<Difficulty, ResultStats> buckets = new EnumMap<>(Difficulty.class);
+    private final Map<String, ResultStats> strategies = new TreeMap<>();
+
+    /**
+     * Creates an empty aggregator.
+     */
+    public ResultAggregator() {
+        for (Difficulty difficulty : Difficulty.values()) buckets.put(difficulty, new ResultStats());
+    }
+
+    /**
+     * Returns a collector that aggregates a stream of results, merging the aggregators of parallel substreams.
+     *
+     * @return collector of game results
+     */
+    public static Collector<GameResult, ResultAggregator, ResultAggregator> collector() {
+        return Collector.of(ResultAggregator::new, ResultAggregator::accept, ResultAggregator::merge,
+            Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Records a single game result.
+     *
+     * @param result game result
+     */
+    @Override
+    public void accept(GameResult result) {
+        total.record(result);
+        buckets.get(result.getDifficulty()).record(result);
+        strategies.computeIfAbsent(result.getStrategy(), strategy -> new ResultStats()).record(result);
+    }
+
+    /**
+     * Adds all results recorded in the provided aggregator to this aggregator.
+     *
+     * @param other aggregator to merge into this one
+     * @return this aggregator
+     */
+    public ResultAggregator merge(ResultAggregator other) {
+        total.merge(other.total);
+        buckets.forEach((difficulty, stats) -> stats.merge(other.buckets.get(difficulty)));
+        other.strategies.forEach((strategy, stats) ->
+            strategies.computeIfAbsent(strategy, s -> new ResultStats()).merge(stats));
+        return this;
+    }
+
+    /**
+     * Returns the stats of all recorded games.
+     *
+     * @return stats of all games
+     */
+    public ResultStats getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the stats of the games of a single deal bucket.
+     *
+     * @param difficulty difficulty of the deals
+     * @return stats of the games played on deals of the provided difficulty
+     */
+    public ResultStats getBucket(Difficulty difficulty) {
+        return buckets.get(difficulty);
+    }
+
+    /**
+     * Returns the names of the strategies of the recorded games.
+     *
+     * @return strategy names, in alphabetical order
+     */
+    public Set<String> getStrategies() {
+        return Collections.unmodifiableSet(strategies.keySet());
+    }
+
+    /**
+     * Returns the stats of the games played by a single strategy.
+     *
+     * @param strategy name of the strategy
+     * @return stats of the games played by the strategy, empty if it played none
+     */
+    public ResultStats getStrategy(String strategy) {
+        ResultStats stats = strategies.get(strategy);
+        return stats == null ? new ResultStats() : stats;
+    }
+}
@@ -0,0 +1,105 @@
+package nl.quintor.solitaire.analytics;
+
+/**
+ * Counters and {@link LogHistogram}s of a group of {@link GameResult}s: moves, duration, score and stock cycles. Like
+ * LogHistogram, ResultStats is not thread-safe, but can be merged.
+ */
+public final class ResultStats {
+    private long games = 0;
+    private long wins = 0;
+    private final LogHistogram moves = new LogHistogram();
+    private final LogHistogram durationMillis = new LogHistogram();
+    private final LogHistogram score = new LogHistogram();
+    private final LogHistogram stockCycles = new LogHistogram();
+
+    /**
+     * Records a single game result.
+     *
+     * @param result game result
+     */
+    public void record(GameResult result) {
+        games++;
+        if (result.isWon()) wins++;
+        moves.record(result.getMoves());
+        durationMillis.record(result.getDurationMillis());
+        score.record(result.getScore());
+        stockCycles.record(result.getStockCycles());
+    }
+
+    /**
+     * Adds all results recorded in the provided stats to these stats.
+     *
+     * @param other stats to merge into these
+     */
+    public void merge(ResultStats other) {
+        games += other.games;
+        wins += other.wins;
+        moves.merge(other.moves);
+        durationMillis.merge(other.durationMillis);
+        score.merge(other.score);
+        stockCycles.merge(other.stockCycles);
+    }
+
+    /**
+     * Getter for games.
+     *
+     * @return number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Getter for wins.
+     *
+     * @return number of games won
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the fraction of games won.
+     *
+     * @return win rate between 0 and 1
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Getter for moves.
+     *
+     * @return histogram of the number of moves per game
+     */
+    public LogHistogram getMoves() {
+        return moves;
+    }
+
+    /**
+     * Getter for durationMillis.
+     *
+     * @return histogram of the playing time per game, in milliseconds
+     */
+    public LogHistogram getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Getter for score.
+     *
+     * @return histogram of the final score per game
+     */
+    public LogHistogram getScore() {
+        return score;
+    }
+
+    /**
+     * Getter for stockCycles.
+     *
+     * @return histogram of the number of stock cycles per game
+     */
+    public LogHistogram getStockCycles() {
+        return stockCycles;
+    }
+}
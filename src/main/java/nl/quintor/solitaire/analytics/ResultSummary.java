@@ -0,0 +1,92 @@
+package nl.quintor.solitaire.analytics;
+
+import nl.quintor.solitaire.corpus.Difficulty;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Command-line tool that summarises result files: {@code ResultSummary file...}. Result files contain one
+ * {@link GameResult} line per game; lines starting with '#' are ignored. The files are read in parallel.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public class ResultSummary {
+    private ResultSummary(){}
+
+    /**
+     * Aggregates the results in the provided files.
+     *
+     * @param files result files
+     * @return aggregated results
+     * @throws IOException if a file cannot be read
+     */
+    public static ResultAggregator summarise(Path... files) throws IOException {
+        try {
+            return Arrays.stream(files).parallel()
+                .flatMap(ResultSummary::lines)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(GameResult::parse)
+                .collect(ResultAggregator.collector());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Stream<String> lines(Path file) {
+        try {
+            return Files.lines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Prints a report of the aggregated results: win rates per deal bucket, win rates and medians per strategy and
+     * percentiles of every metric.
+     *
+     * @param results aggregated results
+     * @param out stream to print the report to
+     */
+    public static void print(ResultAggregator results, PrintStream out) {
+        out.printf("%-10s %10s %8s%n", "Deals", "Games", "Won");
+        for (Difficulty difficulty : Difficulty.values()) {
+            ResultStats bucket = results.getBucket(difficulty);
+            if (bucket.getGames() > 0) out.printf("%-10s %10d %7.2f%%%n", difficulty, bucket.getGames(), bucket.getWinRate() * 100);
+        }
+        ResultStats total = results.getTotal();
+        out.printf("%-10s %10d %7.2f%%%n%n", "ALL", total.getGames(), total.getWinRate() * 100);
+
+        out.printf("%-16s %10s %8s %10s %10s%n", "Strategy", "Games", "Won", "p50 moves", "p50 score");
+        for (String strategy : results.getStrategies()) {
+            ResultStats stats = results.getStrategy(strategy);
+            out.printf("%-16s %10d %7.2f%% %10d %10d%n", strategy.isEmpty() ? "-" : strategy, stats.getGames(),
+                stats.getWinRate() * 100, stats.getMoves().getPercentile(50), stats.getScore().getPercentile(50));
+        }
+        out.println();
+
+        out.printf("%-14s %10s %12s %10s %10s %10s %10s %10s%n", "Metric", "Count", "Mean", "Min", "p50", "p90", "p99", "Max");
+        out.printf("%-14s %s%n", "Moves", total.getMoves());
+        out.printf("%-14s %s%n", "Duration (ms)", total.getDurationMillis());
+        out.printf("%-14s %s%n", "Score", total.getScore());
+        out.printf("%-14s %s%n", "Stock cycles", total.getStockCycles());
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ResultSummary file...");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        ResultAggregator results = summarise(Arrays.stream(args).map(Paths::get).toArray(Path[]::new));
+        print(results, System.out);
+        System.out.printf("%n%d game(s) summarised in %d ms%n", results.getTotal().getGames(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+}
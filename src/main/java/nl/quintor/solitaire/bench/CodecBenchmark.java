@@ -0,0 +1,59 @@
+package nl.quintor.solitaire.bench;
+
+import nl.quintor.solitaire.codec.BinaryStateEncoder;
+import nl.quintor.solitaire.codec.JsonStateEncoder;
+import nl.quintor.solitaire.codec.StateEncoder;
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Benchmark of the {@link nl.quintor.solitaire.codec} encoders. Every round encodes a set of dealt games with each
+ * encoder and reports the encodes per second, the encoding size and the bytes allocated per encode by the benchmark
+ * thread, which should be 0 once the buffers have grown.
+ *
+ * <p>
+ * Usage: {@code CodecBenchmark [encodes] [rounds]}.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public class CodecBenchmark {
+    private CodecBenchmark(){}
+
+    /**
+     * Command-line entry point, see the class documentation.
+     *
+     * @param args the command-line arguments
+     */
+    public static void main(String... args) {
+        int encodes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        GameState[] gameStates = new GameState[64];
+        for (int i = 0; i < gameStates.length; i++) gameStates[i] = GameStateController.init(i);
+        StateEncoder[] encoders = {new BinaryStateEncoder(), new BinaryStateEncoder(true), new JsonStateEncoder(),
+            new JsonStateEncoder(true)};
+        String[] names = {"binary", "binary (hidden)", "json", "json (hidden)"};
+
+        for (int round = 1; round <= rounds; round++) {
+            for (int e = 0; e < encoders.length; e++) {
+                long bytes = 0;
+                long allocated = allocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < encodes; i++) bytes += encoders[e].encode(gameStates[i & 63]);
+                long elapsed = System.nanoTime() - start;
+                allocated = allocatedBytes() - allocated;
+                System.out.printf("round %d %-16s %,12.0f encodes/s %6.1f bytes/encoding %8.3f allocated bytes/encode%n",
+                    round, names[e], encodes * 1e9 / elapsed, (double) bytes / encodes, (double) allocated / encodes);
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,101 @@
+package nl.quintor.solitaire.bench;
+
+import nl.quintor.solitaire.bot.GameStateView;
+import nl.quintor.solitaire.bot.GreedyStrategy;
+import nl.quintor.solitaire.bot.LegalMoves;
+import nl.quintor.solitaire.bot.Strategy;
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.replay.Replay;
+import nl.quintor.solitaire.replay.ReplayArchiveReader;
+import nl.quintor.solitaire.replay.ReplayArchiveWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark of the {@link nl.quintor.solitaire.replay} archive format. Plays games with a randomized greedy player,
+ * writes their replays to an archive, and reports the archive size per move and game, and the speed at which the
+ * archive is read and played back through the engine.
+ *
+ * <p>
+ * Usage: {@code ReplayBenchmark [games] [archiveFile]}. Without an archive file, a temporary file is used.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public class ReplayBenchmark {
+    private static final int MAX_MOVES = 500;
+
+    private ReplayBenchmark(){}
+
+    /**
+     * Command-line entry point, see the class documentation.
+     *
+     * @param args the command-line arguments
+     * @throws IOException if the archive can't be written or read
+     */
+    public static void main(String... args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Path path = args.length > 1 ? Paths.get(args[1]) : Files.createTempFile("replays", ".sra");
+
+        long start = System.nanoTime();
+        try (ReplayArchiveWriter writer = new ReplayArchiveWriter(path)) {
+            SplittableRandom random = new SplittableRandom(0);
+            for (int seed = 0; seed < games; seed++) writer.append(play(seed, random));
+        }
+        double playSeconds = (System.nanoTime() - start) / 1e9;
+        long size = Files.size(path);
+
+        long replays;
+        long moves;
+        start = System.nanoTime();
+        try (ReplayArchiveReader reader = ReplayArchiveReader.open(path)) {
+            replays = reader.forEach(replay -> { });
+        }
+        double readSeconds = (System.nanoTime() - start) / 1e9;
+        start = System.nanoTime();
+        try (ReplayArchiveReader reader = ReplayArchiveReader.open(path)) {
+            moves = reader.playAll(gameState -> { });
+        }
+        double replaySeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%,d games, %,d moves played in %.1f s%n", replays, moves, playSeconds);
+        System.out.printf("archive: %,d bytes, %.3f bytes/move, %.1f bytes/game%n", size, (double) size / moves,
+            (double) size / replays);
+        System.out.printf("read:    %,.0f replays/s, %,.0f moves/s%n", replays / readSeconds, moves / readSeconds);
+        System.out.printf("replay:  %,.0f replays/s, %,.0f moves/s%n", replays / replaySeconds, moves / replaySeconds);
+        if (args.length < 2) Files.delete(path);
+    }
+
+    /**
+     * Plays a game with a greedy player that makes a random legal move one in eight times.
+     */
+    private static Replay play(long seed, SplittableRandom random) {
+        GameState gameState = GameStateController.init(seed);
+        GameStateView view = new GameStateView(gameState);
+        Strategy strategy = new GreedyStrategy();
+        List<Move> played = new ArrayList<>();
+        while (!gameState.isGameOver() && played.size() < MAX_MOVES) {
+            List<Move> legalMoves = LegalMoves.of(gameState);
+            if (legalMoves.isEmpty()) break;
+            Move move = random.nextInt(8) == 0
+                ? legalMoves.get(random.nextInt(legalMoves.size()))
+                : strategy.choose(view, legalMoves);
+            try {
+                move.apply(gameState);
+            } catch (MoveException e) {
+                throw new IllegalStateException(e);
+            }
+            played.add(move);
+            GameStateController.detectGameWin(gameState);
+        }
+        return Replay.of(seed, gameState.getDrawCount(), played);
+    }
+}
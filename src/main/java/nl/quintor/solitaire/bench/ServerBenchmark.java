@@ -0,0 +1,113 @@
+package nl.quintor.solitaire.bench;
+
+import nl.quintor.solitaire.analytics.LogHistogram;
+import nl.quintor.solitaire.server.GameServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load benchmark of the {@link GameServer}. Every client creates a game and then, until the benchmark ends, alternately
+ * cycles the stock and fetches the game, waiting for every response before sending the next request. The latency of
+ * every request is recorded in a {@link LogHistogram}; the benchmark reports the throughput and the latency
+ * percentiles.
+ *
+ * <p>
+ * Usage: {@code ServerBenchmark [clients] [seconds] [url]}, for example {@code ServerBenchmark 16 10}. Without a url, a
+ * server is started in the benchmark's own JVM, on a free port.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public class ServerBenchmark {
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    private ServerBenchmark(){}
+
+    /**
+     * Runs a single client until the deadline.
+     *
+     * @param client HTTP client
+     * @param base base url of the server, for example http://localhost:8080
+     * @param deadline {@link System#nanoTime()} at which to stop
+     * @param errors counter of unexpected responses
+     * @return latencies of the requests in microseconds
+     * @throws IOException on connection errors
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    static LogHistogram runClient(HttpClient client, URI base, long deadline, AtomicLong errors)
+            throws IOException, InterruptedException {
+        LogHistogram latencies = new LogHistogram();
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(base.resolve("/games"))
+            .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        Matcher id = ID.matcher(created.body());
+        if (created.statusCode() != 201 || !id.find()) throw new IOException("Unexpected response " + created.body());
+        URI game = base.resolve("/games/" + id.group(1));
+        HttpRequest cycle = HttpRequest.newBuilder(URI.create(game + "/moves"))
+            .POST(HttpRequest.BodyPublishers.ofString("{\"command\":\"C\"}")).build();
+        HttpRequest fetch = HttpRequest.newBuilder(game).GET().build();
+
+        for (int i = 0; System.nanoTime() < deadline; i++) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(i % 2 == 0 ? cycle : fetch, HttpResponse.BodyHandlers.ofString());
+            latencies.record((System.nanoTime() - start) / 1000);
+            if (response.statusCode() != 200) errors.incrementAndGet();
+        }
+        return latencies;
+    }
+
+    public static void main(String... args) throws IOException, InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        GameServer server = null;
+        URI base;
+        if (args.length > 2) {
+            base = URI.create(args[2]);
+        } else {
+            server = new GameServer(new InetSocketAddress("localhost", 0), null);
+            server.start();
+            base = URI.create("http://localhost:" + server.getPort());
+        }
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        runClient(client, base, System.nanoTime() + 2_000_000_000L, new AtomicLong()); // warm up
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        List<LogHistogram> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    LogHistogram latencies = runClient(client, base, deadline, errors);
+                    synchronized (results) {
+                        results.add(latencies);
+                    }
+                } catch (IOException e) {
+                    errors.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) thread.join();
+        if (server != null) server.stop();
+
+        LogHistogram total = new LogHistogram();
+        results.forEach(total::merge);
+        System.out.printf("%d client(s), %d s: %d request(s), %.0f requests/s, %d error(s)%n", clients, seconds,
+            total.getCount(), total.getCount() / (double) seconds, errors.get());
+        System.out.printf("latency: p50 %d us, p99 %d us, max %d us%n", total.getPercentile(50),
+            total.getPercentile(99), total.getMax());
+    }
+}
@@ -0,0 +1,77 @@
+package nl.quintor.solitaire.bench;
+
+import nl.quintor.solitaire.Main;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark of the time-to-first-frame of a fresh game session. Every run starts a new JVM with the current class
+ * path, starts {@link Main} and measures the time until the first frame, including the input prompt, is printed.
+ * The standard input of the game is then closed, which ends the session.
+ *
+ * <p>
+ * Usage: {@code StartupBenchmark [runs] [jvm options...]}, for example {@code StartupBenchmark 20 -Xshare:auto}.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public class StartupBenchmark {
+    private static final String PROMPT = "What would you like to do?";
+
+    private StartupBenchmark(){}
+
+    /**
+     * Starts a single game session in a new JVM and returns its time-to-first-frame.
+     *
+     * @param jvmOptions extra options for the new JVM
+     * @return nanoseconds between starting the process and reading the input prompt
+     * @throws IOException if the process cannot be started, or ends before printing the prompt
+     * @throws InterruptedException if interrupted while waiting for the process to end
+     */
+    public static long timeToFirstFrame(List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Main.class.getName());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.contains(PROMPT)) {
+                    long elapsed = System.nanoTime() - start;
+                    process.getOutputStream().close();
+                    process.waitFor();
+                    return elapsed;
+                }
+            }
+        } finally {
+            process.destroy();
+        }
+        throw new IOException("Game session ended before the first frame was printed");
+    }
+
+    public static void main(String... args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        List<String> jvmOptions = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : List.of();
+
+        timeToFirstFrame(jvmOptions); // warm up the file system cache
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = timeToFirstFrame(jvmOptions) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        System.out.printf("Time to first frame over %d run(s): min %d ms, median %d ms, max %d ms%n",
+            runs, millis[0], millis[runs / 2], millis[runs - 1]);
+    }
+}
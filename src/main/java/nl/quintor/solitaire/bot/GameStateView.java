@@ -0,0 +1,139 @@
+package nl.quintor.solitaire.bot;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.card.CardSet;
+import nl.quintor.solitaire.models.card.MutableCardSet;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only view of a {@link GameState} for {@link Strategy} implementations. The view only exposes what a player at
+ * the table can see: the face-up stock cards, the stack piles and the visible column cards. Face-down cards, that is
+ * the waste and the invisible column cards, are only exposed as counts. The view reflects later changes to the
+ * underlying GameState.
+ */
+public final class GameStateView {
+    private final GameState gameState;
+
+    /**
+     * Creates a view of the provided GameState object.
+     *
+     * @param gameState GameState object to view
+     */
+    public GameStateView(GameState gameState) {
+        this.gameState = gameState;
+    }
+
+    /**
+     * Returns the face-up stock cards; the last card is the one that can be played.
+     *
+     * @return unmodifiable list of stock cards
+     */
+    public List<Card> getStock() {
+        return Collections.unmodifiableList(gameState.getStock());
+    }
+
+    /**
+     * Returns the number of face-down cards in the waste.
+     *
+     * @return waste size
+     */
+    public int getWasteSize() {
+        return gameState.getWaste().size();
+    }
+
+    /**
+     * Returns the stack pile headers, "SA" to "SD".
+     *
+     * @return unmodifiable set of stack pile headers
+     */
+    public Set<String> getStackHeaders() {
+        return Collections.unmodifiableSet(gameState.getStackPiles().keySet());
+    }
+
+    /**
+     * Returns the cards of the stack pile with the provided header.
+     *
+     * @param header stack pile header, for example "SA"
+     * @return unmodifiable list of stack pile cards
+     */
+    public List<Card> getStackPile(String header) {
+        return Collections.unmodifiableList(gameState.getStackPiles().get(header));
+    }
+
+    /**
+     * Returns the column headers, "A" to "G".
+     *
+     * @return unmodifiable set of column headers
+     */
+    public Set<String> getColumnHeaders() {
+        return Collections.unmodifiableSet(gameState.getColumns().keySet());
+    }
+
+    /**
+     * Returns the visible cards of the column with the provided header. The first visible card has row number
+     * {@link #getInvisibleCards(String)} in move commands.
+     *
+     * @param header column header, for example "A"
+     * @return unmodifiable list of visible column cards
+     */
+    public List<Card> getVisibleCards(String header) {
+        Deck column = gameState.getColumns().get(header);
+        return Collections.unmodifiableList(column.subList(column.getInvisibleCards(), column.size()));
+    }
+
+    /**
+     * Returns the number of invisible cards in the column with the provided header.
+     *
+     * @param header column header, for example "A"
+     * @return number of invisible cards
+     */
+    public int getInvisibleCards(String header) {
+        return gameState.getColumns().get(header).getInvisibleCards();
+    }
+
+    /**
+     * Getter for stockCycles.
+     *
+     * @return number of times the stock has been cycled
+     */
+    public int getStockCycles() {
+        return gameState.getStockCycles();
+    }
+
+    /**
+     * Getter for score.
+     *
+     * @return current score
+     */
+    public long getScore() {
+        return gameState.getScore();
+    }
+
+    /**
+     * Returns the number of moves played so far.
+     *
+     * @return number of moves
+     */
+    public int getMoveCount() {
+        return gameState.getMoves().size();
+    }
+
+    /**
+     * Returns the cards of the deal that are face-down: the cards of the waste and the invisible column cards.
+     *
+     * @return set of face-down cards
+     */
+    public CardSet getHiddenCards() {
+        MutableCardSet visible = new MutableCardSet(gameState.getStock());
+        for (Deck deck : gameState.getStackPiles().values()) visible.addAll(deck);
+        for (Deck deck : gameState.getColumns().values()) {
+            for (int i = deck.getInvisibleCards(); i < deck.size(); i++) visible.add(deck.get(i));
+        }
+        return CardSet.STANDARD_DECK.minus(visible.toCardSet());
+    }
+}
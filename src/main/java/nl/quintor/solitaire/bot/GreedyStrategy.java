@@ -0,0 +1,61 @@
+package nl.quintor.solitaire.bot;
+
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.MoveCard;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link Strategy} that plays the legal move with the best immediate value, picking randomly between equally valued
+ * moves. Moves to a stack pile are preferred, then moves that expose an invisible column card, then moves that take a
+ * card from the stock. Cycling the stock comes next, and shuffling cards between columns without exposing anything or
+ * taking cards back from a stack pile come last.
+ */
+public class GreedyStrategy implements Strategy {
+    @Override
+    public Move choose(GameStateView gameState, List<Move> legalMoves) {
+        Move best = null;
+        int bestValue = Integer.MIN_VALUE;
+        int ties = 0;
+        for (Move move : legalMoves) {
+            int value = value(gameState, move);
+            if (value > bestValue) {
+                best = move;
+                bestValue = value;
+                ties = 1;
+            } else if (value == bestValue && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Determines the immediate value of the provided move.
+     *
+     * @param gameState view of the game
+     * @param move legal move
+     * @return value of the move, higher is better
+     */
+    static int value(GameStateView gameState, Move move) {
+        if (!(move instanceof MoveCard)) return 1;
+        String source = ((MoveCard) move).getSource();
+        String destination = ((MoveCard) move).getDestination();
+        if (source.startsWith("S")) return -15;
+
+        int value = destination.startsWith("S") ? 10 : 0;
+        if ("O".equals(source)) return value + 5;
+        String column = source.substring(0, 1);
+        int row = Integer.parseInt(source.substring(1));
+        int invisible = gameState.getInvisibleCards(column);
+        if (row == invisible && invisible > 0) value += 5;
+        else if (row == 0 && !destination.startsWith("S")) value -= 5; // moving a whole column to an empty one
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "Greedy";
+    }
+}
@@ -0,0 +1,67 @@
+package nl.quintor.solitaire.bot;
+
+import nl.quintor.solitaire.game.CardMoveChecks;
+import nl.quintor.solitaire.game.PlacementRules;
+import nl.quintor.solitaire.game.moves.CycleStock;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.MoveCard;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.deck.DeckType;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Library class that lists the moves that can be applied to a {@link GameState}. The class is not instantiable, all
+ * constructors are private and all methods are static.
+ */
+public class LegalMoves {
+    private LegalMoves(){}
+
+    /**
+     * Lists all legal card moves, that is the moves that pass the {@link CardMoveChecks}, followed by a {@link CycleStock} move if
+     * cycling the stock would change the GameState. Card moves are listed per source: the stock, the stack piles and
+     * then every visible card of every column.
+     *
+     * @param gameState GameState object to list the moves for
+     * @return new list of legal moves
+     */
+    public static List<Move> of(GameState gameState) {
+        List<Move> result = new ArrayList<>();
+        addMoves(result, gameState, "O", gameState.getStock(), gameState.getStock().size() - 1);
+        for (Map.Entry<String, Deck> stack : gameState.getStackPiles().entrySet()) {
+            addMoves(result, gameState, stack.getKey(), stack.getValue(), stack.getValue().size() - 1);
+        }
+        for (Map.Entry<String, Deck> column : gameState.getColumns().entrySet()) {
+            Deck deck = column.getValue();
+            for (int row = deck.getInvisibleCards(); row < deck.size(); row++) {
+                addMoves(result, gameState, column.getKey() + row, deck, row);
+            }
+        }
+        if (!gameState.getWaste().isEmpty() || gameState.getStock().size() > 1) result.add(new CycleStock());
+        return result;
+    }
+
+    private static void addMoves(List<Move> result, GameState gameState, String source, Deck sourceDeck, int index) {
+        if (index < 0) return;
+        boolean singleCard = index == sourceDeck.size() - 1;
+        if (singleCard && sourceDeck.getDeckType() != DeckType.STACK) {
+            for (Map.Entry<String, Deck> stack : gameState.getStackPiles().entrySet()) {
+                addIfLegal(result, source, sourceDeck, index, stack.getKey(), stack.getValue());
+            }
+        }
+        for (Map.Entry<String, Deck> column : gameState.getColumns().entrySet()) {
+            addIfLegal(result, source, sourceDeck, index, column.getKey(), column.getValue());
+        }
+    }
+
+    private static void addIfLegal(List<Move> result, String source, Deck sourceDeck, int index,
+                                   String destination, Deck destinationDeck) {
+        // the sources and destinations are chosen so that the deck level checks pass, except for the same-deck check
+        if (sourceDeck != destinationDeck && PlacementRules.KLONDIKE.accepts(destinationDeck, sourceDeck.get(index))) {
+            result.add(new MoveCard("M " + source + " " + destination));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package nl.quintor.solitaire.bot;
+
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.MoveCard;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.models.state.GameStatePool;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate {@link Strategy} that estimates the value of every legal move with randomized playouts, and plays the
+ * move with the best estimate.
+ *
+ * <p>Because the strategy can't see the face-down cards, every playout starts from a copy of the visible position in
+ * which the face-down cards are re-sampled from the cards that are not visible. The candidate move is applied to that
+ * copy, after which the game is played out by a randomized {@link GreedyStrategy} for at most a fixed number of moves.
+ * A won playout is worth 1; a playout that is not won is worth half the fraction of cards on the stack piles, so that
+ * moves are still ranked when no playout is won. Playouts of all candidates run in parallel on the common
+ * {@link java.util.concurrent.ForkJoinPool}, each with its own pseudo-random generator.
+ */
+public class MonteCarloStrategy implements Strategy {
+    /**
+     * Default number of playouts per candidate move.
+     */
+    public static final int DEFAULT_PLAYOUTS = 32;
+
+    /**
+     * Default maximum number of moves per playout.
+     */
+    public static final int DEFAULT_PLAYOUT_MOVES = 150;
+
+    private static final GameStatePool POOL = new GameStatePool(1);
+
+    private final int playouts;
+    private final int playoutMoves;
+
+    /**
+     * Creates a strategy with the default rollout budget.
+     */
+    public MonteCarloStrategy() {
+        this(DEFAULT_PLAYOUTS, DEFAULT_PLAYOUT_MOVES);
+    }
+
+    /**
+     * Creates a strategy with the provided rollout budget.
+     *
+     * @param playouts number of playouts per candidate move
+     * @param playoutMoves maximum number of moves per playout
+     */
+    public MonteCarloStrategy(int playouts, int playoutMoves) {
+        if (playouts < 1 || playoutMoves < 1) throw new IllegalArgumentException("playouts >= 1 and playoutMoves >= 1");
+        this.playouts = playouts;
+        this.playoutMoves = playoutMoves;
+    }
+
+    @Override
+    public Move choose(GameStateView gameState, List<Move> legalMoves) {
+        if (legalMoves.size() == 1) return legalMoves.get(0);
+        GameState visible = visiblePosition(gameState);
+        List<Card> hidden = List.copyOf(gameState.getHiddenCards());
+        long seed = ThreadLocalRandom.current().nextLong();
+        DoubleAdder[] values = new DoubleAdder[legalMoves.size()];
+        for (int i = 0; i < values.length; i++) values[i] = new DoubleAdder();
+
+        IntStream.range(0, legalMoves.size() * playouts).parallel().forEach(playout -> {
+            int candidate = playout / playouts;
+            SplittableRandom random = new SplittableRandom(seed + playout);
+            values[candidate].add(playout(visible, hidden, legalMoves.get(candidate), random));
+        });
+
+        int best = 0;
+        for (int i = 1; i < values.length; i++) if (values[i].sum() > values[best].sum()) best = i;
+        return legalMoves.get(best);
+    }
+
+    /**
+     * Plays out a single game: re-samples the face-down cards, applies the candidate move and lets a randomized greedy
+     * player finish the game.
+     *
+     * @param visible visible position, with null for every face-down card
+     * @param hidden the cards that are face-down
+     * @param candidate move to evaluate
+     * @param random pseudo-random generator of this playout
+     * @return value of the playout between 0 and 1
+     */
+    private double playout(GameState visible, List<Card> hidden, Move candidate, SplittableRandom random) {
+        GameState gameState = POOL.acquireCopy(visible);
+        try {
+            deal(gameState, hidden, random);
+            return playout(gameState, candidate, random);
+        } finally {
+            POOL.release(gameState);
+        }
+    }
+
+    private double playout(GameState gameState, Move candidate, SplittableRandom random) {
+        GameStateView view = new GameStateView(gameState);
+        Strategy rollout = new GreedyStrategy();
+        try {
+            fresh(candidate).apply(gameState);
+            for (int moves = 0; moves < playoutMoves && !gameState.isGameWon(); moves++) {
+                List<Move> legalMoves = LegalMoves.of(gameState);
+                if (legalMoves.isEmpty()) break;
+                Move move = random.nextInt(8) == 0
+                    ? legalMoves.get(random.nextInt(legalMoves.size()))
+                    : rollout.choose(view, legalMoves);
+                fresh(move).apply(gameState);
+                GameStateController.detectGameWin(gameState);
+            }
+        } catch (MoveException e) {
+            return 0;
+        }
+        if (gameState.isGameWon()) return 1;
+        return gameState.getStackPiles().values().stream().mapToInt(Deck::size).sum() / 104.0;
+    }
+
+    /**
+     * Builds a GameState with the visible cards of the view, and null in place of every face-down card.
+     */
+    private static GameState visiblePosition(GameStateView view) {
+        GameState gameState = new GameState();
+        gameState.getStock().addAll(view.getStock());
+        for (int i = 0; i < view.getWasteSize(); i++) gameState.getWaste().add(null);
+        for (String header : view.getStackHeaders()) gameState.getStackPiles().get(header).addAll(view.getStackPile(header));
+        for (String header : view.getColumnHeaders()) {
+            Deck column = gameState.getColumns().get(header);
+            int invisible = view.getInvisibleCards(header);
+            for (int i = 0; i < invisible; i++) column.add(null);
+            column.addAll(view.getVisibleCards(header));
+            column.setInvisibleCards(invisible);
+        }
+        gameState.setStockCycles(view.getStockCycles());
+        return gameState;
+    }
+
+    /**
+     * Replaces the null placeholders of the provided position by a random permutation of the hidden cards.
+     */
+    private static void deal(GameState gameState, List<Card> hidden, SplittableRandom random) {
+        Card[] cards = hidden.toArray(new Card[0]);
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Card swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+        int next = 0;
+        for (Deck column : gameState.getColumns().values()) {
+            for (int i = 0; i < column.getInvisibleCards(); i++) column.set(i, cards[next++]);
+        }
+        Deck waste = gameState.getWaste();
+        for (int i = 0; i < waste.size(); i++) waste.set(i, cards[next++]);
+    }
+
+    /**
+     * Moves keep state once applied, so every application needs a new instance.
+     */
+    private static Move fresh(Move move) {
+        return move.createInstance(move instanceof MoveCard ? ((MoveCard) move).getPlayerInput() : move.toString());
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarlo(" + playouts + ")";
+    }
+
+    /**
+     * Command-line entry point: {@code MonteCarloStrategy [deals] [playouts] [playoutMoves]}. Plays the deals with
+     * seeds 0 up to {@code deals} and prints a report.
+     *
+     * @param args the command-line arguments
+     * @throws InterruptedException if interrupted while waiting for the games to finish
+     */
+    public static void main(String... args) throws InterruptedException {
+        int deals = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int playouts = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLAYOUTS;
+        int playoutMoves = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PLAYOUT_MOVES;
+
+        long start = System.nanoTime();
+        Tournament tournament = new Tournament(List.of(() -> new MonteCarloStrategy(playouts, playoutMoves)),
+            Tournament.DEFAULT_MAX_MOVES);
+        StrategyStats stats = tournament.run(0, deals).get(0);
+        double minutes = (System.nanoTime() - start) / 60e9;
+        System.out.println(stats);
+        System.out.printf("%.1f game(s) per minute%n", deals / minutes);
+    }
+}
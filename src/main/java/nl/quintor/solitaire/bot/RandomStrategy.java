@@ -0,0 +1,21 @@
+package nl.quintor.solitaire.bot;
+
+import nl.quintor.solitaire.game.moves.Move;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Baseline {@link Strategy} that plays a uniformly random legal move.
+ */
+public class RandomStrategy implements Strategy {
+    @Override
+    public Move choose(GameStateView gameState, List<Move> legalMoves) {
+        return legalMoves.get(ThreadLocalRandom.current().nextInt(legalMoves.size()));
+    }
+
+    @Override
+    public String toString() {
+        return "Random";
+    }
+}
@@ -0,0 +1,31 @@
+package nl.quintor.solitaire.bot;
+
+import nl.quintor.solitaire.game.moves.Move;
+
+import java.util.List;
+
+/**
+ * Service provider interface for automated playing strategies. Strategies are registered as
+ * {@link java.util.ServiceLoader} providers in {@code META-INF/services/nl.quintor.solitaire.bot.Strategy}, and must
+ * therefore have a public no-argument constructor. A new instance is created for every game, so implementations may
+ * keep per-game state but don't have to be thread-safe.
+ */
+public interface Strategy {
+    /**
+     * Chooses the next move to play. The provided list is never empty; the returned move must be one of its elements.
+     *
+     * @param gameState read-only view of the game, without the face-down cards
+     * @param legalMoves moves that can be applied to the game
+     * @return the move to apply
+     */
+    Move choose(GameStateView gameState, List<Move> legalMoves);
+
+    /**
+     * The name of the strategy to show in reports. Override of {@link Object} method to force implementing classes to
+     * implement the method.
+     *
+     * @return name of the strategy
+     */
+    @Override
+    String toString();
+}
@@ -0,0 +1,102 @@
+package nl.quintor.solitaire.bot;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe accumulator of the results of all games a single {@link Strategy} played in a {@link Tournament}.
+ */
+public final class StrategyStats {
+    private final String name;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder score = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder decisionNanos = new LongAdder();
+
+    StrategyStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records the result of a single game.
+     *
+     * @param won true if the game was won
+     * @param score final score of the game
+     * @param moves number of moves applied
+     * @param decisions number of times the strategy was asked to choose a move
+     * @param decisionNanos time spent choosing moves, in nanoseconds
+     */
+    void record(boolean won, long score, int moves, int decisions, long decisionNanos) {
+        this.games.increment();
+        if (won) this.wins.increment();
+        this.score.add(score);
+        this.moves.add(moves);
+        this.decisions.add(decisions);
+        this.decisionNanos.add(decisionNanos);
+    }
+
+    /**
+     * Getter for name.
+     *
+     * @return name of the strategy
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return number of games
+     */
+    public long getGames() {
+        return games.sum();
+    }
+
+    /**
+     * Returns the fraction of games won.
+     *
+     * @return win rate between 0 and 1
+     */
+    public double getWinRate() {
+        long games = getGames();
+        return games == 0 ? 0 : (double) wins.sum() / games;
+    }
+
+    /**
+     * Returns the average final score per game.
+     *
+     * @return average score
+     */
+    public double getAverageScore() {
+        long games = getGames();
+        return games == 0 ? 0 : (double) score.sum() / games;
+    }
+
+    /**
+     * Returns the average number of moves applied per game.
+     *
+     * @return average number of moves
+     */
+    public double getAverageMoves() {
+        long games = getGames();
+        return games == 0 ? 0 : (double) moves.sum() / games;
+    }
+
+    /**
+     * Returns the number of decisions the strategy makes per second of time spent choosing, summed over all threads.
+     *
+     * @return decisions per second
+     */
+    public double getDecisionsPerSecond() {
+        long nanos = decisionNanos.sum();
+        return nanos == 0 ? 0 : decisions.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-16s %8d %7.2f%% %10.1f %8.1f %14.0f",
+            name, getGames(), getWinRate() * 100, getAverageScore(), getAverageMoves(), getDecisionsPerSecond());
+    }
+}
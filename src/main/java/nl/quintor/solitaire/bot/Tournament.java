@@ -0,0 +1,213 @@
+package nl.quintor.solitaire.bot;
+
+import nl.quintor.solitaire.analytics.GameResult;
+import nl.quintor.solitaire.corpus.DealCorpus;
+import nl.quintor.solitaire.corpus.DealIndex;
+import nl.quintor.solitaire.corpus.Difficulty;
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.models.state.GameStatePool;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Tournament that plays every {@link Strategy} on the same seeded deals and collects {@link StrategyStats} per
+ * strategy. Games are independent, so they are spread over a thread pool with one thread per available processor. Every
+ * thread reuses its GameState objects through a {@link GameStatePool}.
+ */
+public class Tournament {
+    /**
+     * Default maximum number of moves per game; games that take longer are counted as lost.
+     */
+    public static final int DEFAULT_MAX_MOVES = 1000;
+
+    private final List<Supplier<? extends Strategy>> strategies;
+    private final int maxMoves;
+    private final GameStatePool pool = new GameStatePool(1);
+    private Consumer<GameResult> resultListener = result -> {};
+    private LongFunction<Difficulty> difficulties = seed -> Difficulty.UNRATED;
+
+    /**
+     * Creates a tournament between the provided strategies. Every supplier is called once per game, and must return a
+     * new Strategy instance.
+     *
+     * @param strategies suppliers of the competing strategies
+     * @param maxMoves maximum number of moves per game
+     */
+    public Tournament(List<Supplier<? extends Strategy>> strategies, int maxMoves) {
+        this.strategies = strategies;
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Setter for resultListener. The listener receives the {@link GameResult} of every game, and is called from the
+     * tournament's worker threads, so it must be thread-safe.
+     *
+     * @param resultListener listener for the results of finished games
+     */
+    public void setResultListener(Consumer<GameResult> resultListener) {
+        this.resultListener = resultListener;
+    }
+
+    /**
+     * Looks up the difficulty of every deal in the provided index, for the {@link GameResult}s. Without an index, or
+     * for seeds outside the corpus, deals are {@link Difficulty#UNRATED}. The corpus and index must stay open while
+     * the tournament runs.
+     *
+     * @param corpus corpus of the deals
+     * @param index side index of the corpus, filled by {@link nl.quintor.solitaire.rating.DealRater}
+     */
+    public void setDealIndex(DealCorpus corpus, DealIndex index) {
+        this.difficulties = seed -> {
+            long i = corpus.indexOf(seed);
+            return i < 0 || i >= index.size() ? Difficulty.UNRATED : index.getDifficulty(i);
+        };
+    }
+
+    /**
+     * Creates a tournament between all strategies registered through {@link ServiceLoader}.
+     *
+     * @return new tournament
+     */
+    public static Tournament ofRegisteredStrategies() {
+        List<Supplier<? extends Strategy>> strategies = ServiceLoader.load(Strategy.class).stream()
+            .collect(Collectors.toList());
+        return new Tournament(strategies, DEFAULT_MAX_MOVES);
+    }
+
+    /**
+     * Plays every strategy on the deals with seeds {@code firstSeed} up to {@code firstSeed + deals}.
+     *
+     * @param firstSeed seed of the first deal
+     * @param deals number of deals
+     * @return stats per strategy, in the order the strategies were provided
+     * @throws InterruptedException if interrupted while waiting for the games to finish
+     */
+    public List<StrategyStats> run(long firstSeed, int deals) throws InterruptedException {
+        List<StrategyStats> result = new ArrayList<>();
+        for (Supplier<? extends Strategy> strategy : strategies) result.add(new StrategyStats(strategy.get().toString()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<?>> games = new ArrayList<>();
+            for (int deal = 0; deal < deals; deal++) {
+                for (int i = 0; i < strategies.size(); i++) {
+                    Supplier<? extends Strategy> strategy = strategies.get(i);
+                    StrategyStats stats = result.get(i);
+                    long seed = firstSeed + deal;
+                    games.add(executor.submit(() -> play(strategy.get(), seed, stats)));
+                }
+            }
+            for (Future<?> game : games) game.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    /**
+     * Plays a single game until it is won, no legal moves are left or the maximum number of moves is reached.
+     *
+     * @param strategy strategy that plays the game
+     * @param seed seed of the deal
+     * @param stats accumulator for the result
+     */
+    void play(Strategy strategy, long seed, StrategyStats stats) {
+        GameState gameState = pool.acquire(seed);
+        GameStateView view = new GameStateView(gameState);
+        int moves = 0;
+        int decisions = 0;
+        long decisionNanos = 0;
+        while (!gameState.isGameOver() && moves < maxMoves) {
+            List<Move> legalMoves = LegalMoves.of(gameState);
+            if (legalMoves.isEmpty()) break;
+            long start = System.nanoTime();
+            Move move = strategy.choose(view, legalMoves);
+            decisionNanos += System.nanoTime() - start;
+            decisions++;
+            try {
+                move.apply(gameState);
+            } catch (MoveException e) {
+                throw new IllegalStateException(strategy + " chose an illegal move: " + e.getMessage(), e);
+            }
+            moves++;
+            GameStateController.detectGameWin(gameState);
+        }
+        stats.record(gameState.isGameWon(), gameState.getScore(), moves, decisions, decisionNanos);
+        resultListener.accept(GameResult.of(gameState, difficulties.apply(seed), strategy.toString()));
+        pool.release(gameState);
+    }
+
+    /**
+     * Command-line entry point: {@code Tournament [firstSeed] [deals] [resultFile]}. Plays all registered strategies
+     * and prints a report. If a result file is provided, the result of every game is written to it, see
+     * {@link nl.quintor.solitaire.analytics.ResultSummary}, with the difficulty of the deal from the index of the
+     * default {@link DealCorpus}, if there is one.
+     *
+     * @param args the command-line arguments
+     * @throws InterruptedException if interrupted while waiting for the games to finish
+     * @throws IOException if the result file cannot be written
+     */
+    public static void main(String... args) throws InterruptedException, IOException {
+        long firstSeed = args.length > 0 ? Long.parseLong(args[0]) : 0;
+        int deals = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        long start = System.nanoTime();
+        Tournament tournament = ofRegisteredStrategies();
+        Path indexPath = DealIndex.pathFor(DealCorpus.DEFAULT_FILE);
+        List<StrategyStats> stats;
+        if (Files.exists(DealCorpus.DEFAULT_FILE) && Files.exists(indexPath)) {
+            try (DealCorpus corpus = DealCorpus.open(DealCorpus.DEFAULT_FILE);
+                 DealIndex index = DealIndex.open(indexPath)) {
+                tournament.setDealIndex(corpus, index);
+                stats = run(tournament, firstSeed, deals, args.length > 2 ? args[2] : null);
+            }
+        } else {
+            stats = run(tournament, firstSeed, deals, args.length > 2 ? args[2] : null);
+        }
+        System.out.printf("%-16s %8s %8s %10s %8s %14s%n", "Strategy", "Games", "Won", "Avg score", "Avg moves", "Decisions/s");
+        stats.forEach(System.out::println);
+        System.out.printf("%d deal(s) played in %d ms%n", deals, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Runs the tournament, writing the results to the provided file, if any.
+     */
+    private static List<StrategyStats> run(Tournament tournament, long firstSeed, int deals, String resultFile)
+        throws InterruptedException, IOException {
+        List<StrategyStats> stats;
+        if (resultFile != null) {
+            try (PrintWriter results = new PrintWriter(Files.newBufferedWriter(Paths.get(resultFile)))) {
+                results.println(GameResult.HEADER);
+                tournament.setResultListener(result -> {
+                    synchronized (results) {
+                        results.println(result);
+                    }
+                });
+                stats = tournament.run(firstSeed, deals);
+            }
+        } else {
+            stats = tournament.run(firstSeed, deals);
+        }
+        return stats;
+    }
+}
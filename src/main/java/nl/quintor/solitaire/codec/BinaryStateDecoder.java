@@ -0,0 +1,35 @@
+package nl.quintor.solitaire.codec;
+
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+/**
+ * {@link StateDecoder} of the encodings of a {@link BinaryStateEncoder}. Decoders are stateless and thread-safe.
+ */
+public final class BinaryStateDecoder implements StateDecoder {
+    @Override
+    public GameState decode(byte[] bytes, int offset, int length) {
+        ByteInput in = new ByteInput(bytes, offset, length);
+        if (in.read() != BinaryStateEncoder.VERSION) throw new IllegalArgumentException("Unsupported encoding version");
+        GameState gameState = new GameState();
+        gameState.setSeed(in.readLong());
+        gameState.setDrawCount(in.read());
+        gameState.setBaseScore(in.readZigZag());
+        gameState.setTimeScore(in.readZigZag());
+        gameState.setStockCycles((int) in.readVarLong());
+        in.readVarLong(); // number of moves, which can't be restored
+        int status = in.read();
+        gameState.setGameWon((status & BinaryStateEncoder.WON) != 0);
+        gameState.setGameLost((status & BinaryStateEncoder.LOST) != 0);
+        for (int pile = 0; pile < StateLayout.PILES; pile++) {
+            Deck deck = StateLayout.deck(gameState, pile);
+            int size = in.read();
+            int invisible = in.read();
+            if (invisible > size) throw new IllegalArgumentException("More invisible cards than cards");
+            for (int i = 0; i < size; i++) deck.add(StateLayout.card(in.read()));
+            deck.setInvisibleCards(invisible);
+        }
+        if (in.hasRemaining()) throw new IllegalArgumentException("Trailing bytes after the encoding");
+        return gameState;
+    }
+}
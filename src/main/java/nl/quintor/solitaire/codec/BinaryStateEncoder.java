@@ -0,0 +1,57 @@
+package nl.quintor.solitaire.codec;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+/**
+ * Compact binary {@link StateEncoder}, decoded by {@link BinaryStateDecoder}. The encoding is a version byte, the seed
+ * (8 bytes, big-endian), the draw count (1 byte), the base score and time score (zigzag variable-length integers), the
+ * stock cycles and the number of moves (variable-length integers) and a status byte (bit 0 won, bit 1 lost), followed
+ * by all {@value StateLayout#PILES} piles in {@link StateLayout} order: the number of cards, the number of invisible
+ * cards and one byte per card, the card ordinal or {@value StateLayout#HIDDEN} for a hidden card. A freshly dealt game
+ * takes about 90 bytes.
+ */
+public final class BinaryStateEncoder extends StateEncoder {
+    static final int VERSION = 1;
+    static final int WON = 1;
+    static final int LOST = 2;
+
+    /**
+     * Creates an encoder that writes all cards.
+     */
+    public BinaryStateEncoder() {
+        this(false);
+    }
+
+    /**
+     * Creates an encoder.
+     *
+     * @param hideFaceDown true to write the face-down cards as hidden cards
+     */
+    public BinaryStateEncoder(boolean hideFaceDown) {
+        super(hideFaceDown);
+    }
+
+    @Override
+    void write(GameState gameState) {
+        out.write(VERSION);
+        out.writeLong(gameState.getSeed());
+        out.write(gameState.getDrawCount());
+        out.writeZigZag(gameState.getBaseScore());
+        out.writeZigZag(gameState.getTimeScore());
+        out.writeVarLong(gameState.getStockCycles());
+        out.writeVarLong(gameState.getMoves().size());
+        out.write((gameState.isGameWon() ? WON : 0) | (gameState.isGameLost() ? LOST : 0));
+        for (int pile = 0; pile < StateLayout.PILES; pile++) {
+            Deck deck = StateLayout.deck(gameState, pile);
+            int hidden = hideFaceDown ? StateLayout.faceDown(pile, deck) : 0;
+            out.write(deck.size());
+            out.write(deck.getInvisibleCards());
+            for (int i = 0; i < deck.size(); i++) {
+                Card card = deck.get(i);
+                out.write(i < hidden || card == null ? StateLayout.HIDDEN : card.getOrdinal());
+            }
+        }
+    }
+}
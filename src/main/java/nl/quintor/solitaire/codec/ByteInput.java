@@ -0,0 +1,112 @@
+package nl.quintor.solitaire.codec;
+
+/**
+ * Cursor over a range of a byte array, reading the formats written by {@link ByteOutput}. A cursor can be pointed at
+ * another range with {@link #reset(byte[], int, int)}, so reading doesn't allocate. Reading past the end of the range,
+ * or a malformed value, throws an {@link IllegalArgumentException}.
+ */
+public final class ByteInput {
+    private byte[] bytes;
+    private int position;
+    private int end;
+
+    /**
+     * Creates a cursor over the provided bytes.
+     *
+     * @param bytes bytes to read
+     */
+    public ByteInput(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Creates a cursor over a range of the provided bytes.
+     *
+     * @param bytes bytes to read
+     * @param offset index of the first byte to read
+     * @param length number of bytes to read
+     */
+    public ByteInput(byte[] bytes, int offset, int length) {
+        reset(bytes, offset, length);
+    }
+
+    /**
+     * Points this cursor at a range of the provided bytes.
+     *
+     * @param bytes bytes to read
+     * @param offset index of the first byte to read
+     * @param length number of bytes to read
+     */
+    public void reset(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Range " + offset + "+" + length + " out of " + bytes.length);
+        }
+        this.bytes = bytes;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * Returns the number of bytes left to read.
+     *
+     * @return remaining bytes
+     */
+    public int remaining() {
+        return end - position;
+    }
+
+    /**
+     * Returns true if there are bytes left to read.
+     *
+     * @return true before the end of the range
+     */
+    public boolean hasRemaining() {
+        return position < end;
+    }
+
+    /**
+     * Reads an unsigned byte.
+     *
+     * @return 0-255
+     */
+    public int read() {
+        if (position >= end) throw new IllegalArgumentException("Truncated input");
+        return bytes[position++] & 0xFF;
+    }
+
+    /**
+     * Reads a big-endian long, see {@link ByteOutput#writeLong(long)}.
+     *
+     * @return value
+     */
+    public long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) value = value << 8 | read();
+        return value;
+    }
+
+    /**
+     * Reads an unsigned LEB128 variable-length integer, see {@link ByteOutput#writeVarLong(long)}.
+     *
+     * @return value, to be treated as unsigned
+     */
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = read();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+
+    /**
+     * Reads a ZigZag-encoded signed variable-length integer, see {@link ByteOutput#writeZigZag(long)}.
+     *
+     * @return value
+     */
+    public long readZigZag() {
+        long value = readVarLong();
+        return value >>> 1 ^ -(value & 1);
+    }
+}
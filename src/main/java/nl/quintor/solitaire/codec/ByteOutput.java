@@ -0,0 +1,159 @@
+package nl.quintor.solitaire.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that the encoders write into. The buffer is reused between encodings, so once it has grown to
+ * the size of the largest encoding, encoding doesn't allocate.
+ */
+public final class ByteOutput {
+    private final byte[] digits = new byte[20];
+    private byte[] bytes;
+    private int length = 0;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity initial capacity in bytes
+     */
+    public ByteOutput(int capacity) {
+        bytes = new byte[capacity];
+    }
+
+    /**
+     * Returns the backing array, which is replaced when the buffer grows.
+     *
+     * @return backing array, holding {@link #length()} bytes
+     */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * Getter for length.
+     *
+     * @return number of bytes written since the last reset
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Empties the buffer, keeping its capacity.
+     */
+    public void reset() {
+        length = 0;
+    }
+
+    /**
+     * Writes the low byte of the provided int.
+     *
+     * @param b byte
+     */
+    public void write(int b) {
+        if (length == bytes.length) grow(1);
+        bytes[length++] = (byte) b;
+    }
+
+    /**
+     * Writes the provided bytes.
+     *
+     * @param b bytes
+     */
+    public void write(byte[] b) {
+        if (length + b.length > bytes.length) grow(b.length);
+        System.arraycopy(b, 0, bytes, length, b.length);
+        length += b.length;
+    }
+
+    /**
+     * Writes a range of the provided bytes.
+     *
+     * @param b bytes
+     * @param offset index of the first byte to write
+     * @param count number of bytes to write
+     */
+    public void write(byte[] b, int offset, int count) {
+        if (length + count > bytes.length) grow(count);
+        System.arraycopy(b, offset, bytes, length, count);
+        length += count;
+    }
+
+    /**
+     * Writes a big-endian long.
+     *
+     * @param value value
+     */
+    public void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) write((int) (value >>> shift));
+    }
+
+    /**
+     * Writes an unsigned LEB128 variable-length integer: 7 bits per byte, least significant first.
+     *
+     * @param value value, treated as unsigned
+     */
+    public void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+
+    /**
+     * Writes a signed integer as a zigzag-encoded variable-length integer, so small negative values stay short.
+     *
+     * @param value value
+     */
+    public void writeZigZag(long value) {
+        writeVarLong(value << 1 ^ value >> 63);
+    }
+
+    /**
+     * Writes the decimal ASCII representation of the provided value.
+     *
+     * @param value value
+     */
+    public void writeDecimal(long value) {
+        if (value < 0) {
+            write('-');
+            if (value == Long.MIN_VALUE) {
+                write(Long.toString(value).substring(1).getBytes());
+                return;
+            }
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (count > 0) write(digits[--count]);
+    }
+
+    /**
+     * Writes the contents of the buffer to the provided stream.
+     *
+     * @param out stream
+     * @throws IOException if the stream can't be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    /**
+     * Returns a copy of the contents of the buffer.
+     *
+     * @return copy of the written bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private void grow(int needed) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + needed));
+    }
+}
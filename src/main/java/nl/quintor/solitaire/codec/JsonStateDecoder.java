@@ -0,0 +1,178 @@
+package nl.quintor.solitaire.codec;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link StateDecoder} of the encodings of a {@link JsonStateEncoder}. The decoder is a small hand-written parser for
+ * exactly that document: members may come in any order and whitespace is allowed between tokens, but unknown members
+ * are rejected. Decoders are stateless and thread-safe.
+ */
+public final class JsonStateDecoder implements StateDecoder {
+    @Override
+    public GameState decode(byte[] bytes, int offset, int length) {
+        Parser parser = new Parser(bytes, offset, offset + length);
+        GameState gameState = new GameState();
+        parser.expect('{');
+        do {
+            String name = parser.string();
+            parser.expect(':');
+            switch (name) {
+                case "seed": gameState.setSeed(parser.number()); break;
+                case "drawCount": gameState.setDrawCount((int) parser.number()); break;
+                case "baseScore": gameState.setBaseScore(parser.number()); break;
+                case "timeScore": gameState.setTimeScore(parser.number()); break;
+                case "stockCycles": gameState.setStockCycles((int) parser.number()); break;
+                case "moves": parser.number(); break; // the moves can't be restored
+                case "won": gameState.setGameWon(parser.bool()); break;
+                case "lost": gameState.setGameLost(parser.bool()); break;
+                case "piles": piles(parser, gameState); break;
+                default: throw parser.error("Unknown member \"" + name + "\"");
+            }
+        } while (parser.next(','));
+        parser.expect('}');
+        parser.end();
+        return gameState;
+    }
+
+    private static void piles(Parser parser, GameState gameState) {
+        parser.expect('{');
+        if (parser.next('}')) return;
+        do {
+            String name = parser.string();
+            int pile = StateLayout.pile(name);
+            if (pile < 0) throw parser.error("Unknown pile \"" + name + "\"");
+            parser.expect(':');
+            pile(parser, StateLayout.deck(gameState, pile));
+        } while (parser.next(','));
+        parser.expect('}');
+    }
+
+    private static void pile(Parser parser, Deck deck) {
+        int invisible = 0;
+        parser.expect('{');
+        do {
+            String name = parser.string();
+            parser.expect(':');
+            if ("invisible".equals(name)) {
+                invisible = (int) parser.number();
+            } else if ("cards".equals(name)) {
+                deck.clear();
+                parser.expect('[');
+                if (!parser.next(']')) {
+                    do deck.add(parser.card()); while (parser.next(','));
+                    parser.expect(']');
+                }
+            } else {
+                throw parser.error("Unknown member \"" + name + "\"");
+            }
+        } while (parser.next(','));
+        parser.expect('}');
+        if (invisible < 0 || invisible > deck.size()) throw parser.error("Invalid number of invisible cards");
+        deck.setInvisibleCards(invisible);
+    }
+
+    /**
+     * Cursor over the bytes of a document.
+     */
+    private static class Parser {
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        private Parser(byte[] bytes, int position, int end) {
+            this.bytes = bytes;
+            this.position = position;
+            this.end = end;
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (bytes[position] == ' ' || bytes[position] == '\n'
+                || bytes[position] == '\r' || bytes[position] == '\t')) position++;
+        }
+
+        private void expect(char c) {
+            if (!next(c)) throw error("Expected '" + c + "'");
+        }
+
+        /**
+         * Consumes the provided character if it is the next token.
+         */
+        private boolean next(char c) {
+            skipWhitespace();
+            if (position < end && bytes[position] == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void end() {
+            skipWhitespace();
+            if (position != end) throw error("Trailing characters after the document");
+        }
+
+        private String string() {
+            expect('"');
+            int start = position;
+            while (position < end && bytes[position] != '"') {
+                if (bytes[position] == '\\') throw error("Escapes are not supported");
+                position++;
+            }
+            if (position >= end) throw error("Unterminated string");
+            return new String(bytes, start, position++ - start, StandardCharsets.US_ASCII);
+        }
+
+        private long number() {
+            skipWhitespace();
+            boolean negative = position < end && bytes[position] == '-';
+            if (negative) position++;
+            int start = position;
+            long value = 0;
+            while (position < end && bytes[position] >= '0' && bytes[position] <= '9') {
+                value = value * 10 + (bytes[position++] - '0');
+            }
+            if (position == start || position - start > 19) throw error("Expected a number");
+            return negative ? -value : value;
+        }
+
+        private boolean bool() {
+            if (literal("true")) return true;
+            if (literal("false")) return false;
+            throw error("Expected true or false");
+        }
+
+        private boolean literal(String literal) {
+            skipWhitespace();
+            if (end - position < literal.length()) return false;
+            for (int i = 0; i < literal.length(); i++) if (bytes[position + i] != literal.charAt(i)) return false;
+            position += literal.length();
+            return true;
+        }
+
+        /**
+         * Parses a card label, see {@link JsonStateEncoder#label(int)}, or null for a hidden card.
+         */
+        private Card card() {
+            if (literal("null")) return null;
+            String label = string();
+            if ("JB".equals(label)) return Card.valueOf(52);
+            if ("JR".equals(label)) return Card.valueOf(53);
+            int suit = label.isEmpty() ? -1 : JsonStateEncoder.SUITS.indexOf(label.charAt(label.length() - 1));
+            if (suit >= 0) {
+                String rank = label.substring(0, label.length() - 1);
+                for (int i = 0; i < JsonStateEncoder.RANKS.length; i++) {
+                    if (JsonStateEncoder.RANKS[i].equals(rank)) return Card.valueOf(suit * 13 + i);
+                }
+            }
+            throw error("Invalid card \"" + label + "\"");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + position);
+        }
+    }
+}
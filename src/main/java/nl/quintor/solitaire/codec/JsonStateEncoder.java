@@ -0,0 +1,115 @@
+package nl.quintor.solitaire.codec;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON {@link StateEncoder}, decoded by {@link JsonStateDecoder}. The encoding is a single UTF-8 (in fact ASCII) line:
+ *
+ * <pre>
+ * {"seed":5,"drawCount":1,"baseScore":0,"timeScore":0,"stockCycles":0,"moves":0,"won":false,"lost":false,
+ *  "piles":{"stock":{"invisible":0,"cards":["KS"]},"waste":{"invisible":0,"cards":[null,...]},...}}
+ * </pre>
+ *
+ * The piles are named as in {@link StateLayout}. Cards are written as rank and suit letter, for example {@code "10H"}
+ * or {@code "AS"}, the Jokers as {@code "JB"} and {@code "JR"}, and hidden cards as {@code null}. All names and card
+ * labels are encoded to bytes once, when the class is loaded, and copied into the buffer.
+ */
+public final class JsonStateEncoder extends StateEncoder {
+    static final String[] RANKS = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A"};
+    static final String SUITS = "CDHS";
+
+    private static final byte[] SEED = ascii("{\"seed\":");
+    private static final byte[] DRAW_COUNT = ascii(",\"drawCount\":");
+    private static final byte[] BASE_SCORE = ascii(",\"baseScore\":");
+    private static final byte[] TIME_SCORE = ascii(",\"timeScore\":");
+    private static final byte[] STOCK_CYCLES = ascii(",\"stockCycles\":");
+    private static final byte[] MOVES = ascii(",\"moves\":");
+    private static final byte[] WON = ascii(",\"won\":");
+    private static final byte[] LOST = ascii(",\"lost\":");
+    private static final byte[] PILES = ascii(",\"piles\":{");
+    private static final byte[] CARDS = ascii(",\"cards\":[");
+    private static final byte[] END_PILE = ascii("]}");
+    private static final byte[] END = ascii("}}");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[][] PILE_NAMES = new byte[StateLayout.PILES][];
+    private static final byte[][] LABELS = new byte[54][];
+
+    static {
+        for (int pile = 0; pile < StateLayout.PILES; pile++) {
+            PILE_NAMES[pile] = ascii((pile == 0 ? "" : ",") + "\"" + StateLayout.NAMES[pile] + "\":{\"invisible\":");
+        }
+        for (int ordinal = 0; ordinal < LABELS.length; ordinal++) LABELS[ordinal] = ascii("\"" + label(ordinal) + "\"");
+    }
+
+    /**
+     * Creates an encoder that writes all cards.
+     */
+    public JsonStateEncoder() {
+        this(false);
+    }
+
+    /**
+     * Creates an encoder.
+     *
+     * @param hideFaceDown true to write the face-down cards as null
+     */
+    public JsonStateEncoder(boolean hideFaceDown) {
+        super(hideFaceDown);
+    }
+
+    @Override
+    void write(GameState gameState) {
+        out.write(SEED);
+        out.writeDecimal(gameState.getSeed());
+        out.write(DRAW_COUNT);
+        out.writeDecimal(gameState.getDrawCount());
+        out.write(BASE_SCORE);
+        out.writeDecimal(gameState.getBaseScore());
+        out.write(TIME_SCORE);
+        out.writeDecimal(gameState.getTimeScore());
+        out.write(STOCK_CYCLES);
+        out.writeDecimal(gameState.getStockCycles());
+        out.write(MOVES);
+        out.writeDecimal(gameState.getMoves().size());
+        out.write(WON);
+        out.write(gameState.isGameWon() ? TRUE : FALSE);
+        out.write(LOST);
+        out.write(gameState.isGameLost() ? TRUE : FALSE);
+        out.write(PILES);
+        for (int pile = 0; pile < StateLayout.PILES; pile++) {
+            Deck deck = StateLayout.deck(gameState, pile);
+            int hidden = hideFaceDown ? StateLayout.faceDown(pile, deck) : 0;
+            out.write(PILE_NAMES[pile]);
+            out.writeDecimal(deck.getInvisibleCards());
+            out.write(CARDS);
+            for (int i = 0; i < deck.size(); i++) {
+                if (i > 0) out.write(',');
+                Card card = deck.get(i);
+                out.write(i < hidden || card == null ? NULL : LABELS[card.getOrdinal()]);
+            }
+            out.write(END_PILE);
+        }
+        out.write(END);
+    }
+
+    /**
+     * Returns the label of the card with the provided ordinal, for example "10H".
+     *
+     * @param ordinal 0-53 card ordinal
+     * @return card label
+     */
+    static String label(int ordinal) {
+        if (ordinal >= 52) return ordinal == 52 ? "JB" : "JR";
+        return RANKS[ordinal % 13] + SUITS.charAt(ordinal / 13);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,32 @@
+package nl.quintor.solitaire.codec;
+
+import nl.quintor.solitaire.models.state.GameState;
+
+/**
+ * Decoder of the encodings of a {@link StateEncoder}. The decoded GameState object has the cards, counters, scores and
+ * status of the encoded one; hidden cards are decoded as null. The moves list can't be rebuilt from an encoding, so
+ * the decoded GameState has no moves to revert, and its start time is the time of decoding.
+ */
+public interface StateDecoder {
+    /**
+     * Decodes an encoding.
+     *
+     * @param bytes buffer that holds the encoding
+     * @param offset start of the encoding
+     * @param length length of the encoding
+     * @return decoded GameState object
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    GameState decode(byte[] bytes, int offset, int length);
+
+    /**
+     * Decodes an encoding that fills the provided array.
+     *
+     * @param bytes the encoding
+     * @return decoded GameState object
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    default GameState decode(byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,83 @@
+package nl.quintor.solitaire.codec;
+
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Base class of the streaming {@link GameState} encoders. An encoder writes into its own reusable buffer: after
+ * {@link #encode(GameState)}, the encoding is in the first {@link #getLength()} bytes of {@link #getBuffer()}, until
+ * the next call. Once the buffer has grown to fit the largest encoding, encoding doesn't allocate any objects.
+ * Encoders are not thread-safe; use one encoder per thread.
+ *
+ * <p>Encoders either write the face-down cards, for storage, or hide them, for players and spectators: the waste and
+ * the invisible column cards are then written as hidden cards, which decode as null.
+ */
+public abstract class StateEncoder {
+    private static final int INITIAL_CAPACITY = 512;
+
+    final ByteOutput out = new ByteOutput(INITIAL_CAPACITY);
+    final boolean hideFaceDown;
+
+    StateEncoder(boolean hideFaceDown) {
+        this.hideFaceDown = hideFaceDown;
+    }
+
+    /**
+     * Encodes the provided GameState object into the buffer, replacing the previous encoding.
+     *
+     * @param gameState GameState object to encode
+     * @return length of the encoding in bytes
+     */
+    public final int encode(GameState gameState) {
+        out.reset();
+        write(gameState);
+        return out.length();
+    }
+
+    /**
+     * Writes the encoding of the provided GameState object.
+     *
+     * @param gameState GameState object to encode
+     */
+    abstract void write(GameState gameState);
+
+    /**
+     * Returns the buffer that holds the last encoding. The buffer may be replaced by a larger one by the next call to
+     * {@link #encode(GameState)}.
+     *
+     * @return buffer, of which the first {@link #getLength()} bytes are valid
+     */
+    public byte[] getBuffer() {
+        return out.bytes();
+    }
+
+    /**
+     * Returns the length of the last encoding.
+     *
+     * @return length in bytes
+     */
+    public int getLength() {
+        return out.length();
+    }
+
+    /**
+     * Writes the last encoding to the provided stream.
+     *
+     * @param stream stream to write to
+     * @throws IOException on write errors
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        out.writeTo(stream);
+    }
+
+    /**
+     * Returns a copy of the last encoding.
+     *
+     * @return new array with the encoding
+     */
+    public byte[] toByteArray() {
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,119 @@
+package nl.quintor.solitaire.codec;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+/**
+ * Pile numbering shared by the encoders and decoders of this package and of {@link nl.quintor.solitaire.sync}. Piles
+ * are numbered in a fixed order: the stock, the waste, stack piles SA to SD and columns A to G. Face-down cards are
+ * written as {@link #HIDDEN} by encoders that hide them, and decoded as null.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public final class StateLayout {
+    /**
+     * Number of piles in a GameState.
+     */
+    public static final int PILES = 13;
+
+    /**
+     * Code of a hidden card, as an unsigned byte.
+     */
+    public static final int HIDDEN = 0xFF;
+
+    /**
+     * Maximum number of cards in a single pile.
+     */
+    public static final int MAX_SIZE = 54;
+
+    static final String[] NAMES = {"stock", "waste", "SA", "SB", "SC", "SD", "A", "B", "C", "D", "E", "F", "G"};
+
+    private static final int WASTE = 1;
+    private static final int FIRST_STACK = 2;
+    private static final int FIRST_COLUMN = 6;
+
+    private StateLayout(){}
+
+    /**
+     * Returns the deck of the provided pile.
+     *
+     * @param gameState GameState object
+     * @param pile pile number
+     * @return deck
+     */
+    static Deck deck(GameState gameState, int pile) {
+        if (pile == 0) return gameState.getStock();
+        if (pile == WASTE) return gameState.getWaste();
+        if (pile < FIRST_COLUMN) return gameState.getStackPiles().get(NAMES[pile]);
+        return gameState.getColumns().get(NAMES[pile]);
+    }
+
+    /**
+     * Returns the decks of the provided GameState object in pile order.
+     *
+     * @param gameState GameState object
+     * @param decks array of {@value #PILES} decks to fill
+     */
+    public static void decks(GameState gameState, Deck[] decks) {
+        int pile = 0;
+        decks[pile++] = gameState.getStock();
+        decks[pile++] = gameState.getWaste();
+        for (Deck deck : gameState.getStackPiles().values()) decks[pile++] = deck;
+        for (Deck deck : gameState.getColumns().values()) decks[pile++] = deck;
+    }
+
+    /**
+     * Projects the cards of a pile to bytes, as the player sees them: the card ordinal for face-up cards and
+     * {@link #HIDDEN} for face-down cards, see {@link #faceDown(int, Deck)}.
+     *
+     * @param pile pile number
+     * @param deck deck of the pile
+     * @param projection array of at least {@value #MAX_SIZE} bytes to fill
+     * @return number of cards in the pile
+     */
+    public static int project(int pile, Deck deck, byte[] projection) {
+        int hidden = faceDown(pile, deck);
+        for (int i = 0; i < deck.size(); i++) {
+            Card card = deck.get(i);
+            projection[i] = (byte) (i < hidden || card == null ? HIDDEN : card.getOrdinal());
+        }
+        return deck.size();
+    }
+
+    /**
+     * Returns the number of face-down cards at the start of the provided pile, as seen by the player: all cards of
+     * the waste and the invisible cards of the other piles.
+     *
+     * @param pile pile number
+     * @param deck deck of the pile
+     * @return number of face-down cards
+     */
+    static int faceDown(int pile, Deck deck) {
+        return pile == WASTE ? deck.size() : deck.getInvisibleCards();
+    }
+
+    /**
+     * Returns the pile number of the provided pile name, or -1.
+     *
+     * @param name pile name
+     * @return pile number or -1
+     */
+    static int pile(String name) {
+        for (int pile = 0; pile < PILES; pile++) if (NAMES[pile].equals(name)) return pile;
+        return -1;
+    }
+
+    /**
+     * Returns the card with the provided code, or null for {@link #HIDDEN}.
+     *
+     * @param code card ordinal or {@link #HIDDEN}
+     * @return card or null
+     * @throws IllegalArgumentException if the code is not a card ordinal
+     */
+    public static Card card(int code) {
+        if (code == HIDDEN) return null;
+        if (code < 0 || code > 53) throw new IllegalArgumentException("Invalid card " + code);
+        return Card.valueOf(code);
+    }
+}
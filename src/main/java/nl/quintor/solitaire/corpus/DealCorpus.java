@@ -0,0 +1,173 @@
+package nl.quintor.solitaire.corpus;
+
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Read-only, memory-mapped view of a deal corpus file written by {@link DealCorpusWriter}.
+ *
+ * <p>A corpus file starts with a {@value #HEADER_SIZE}-byte header (magic number, record size, first seed and record
+ * count), followed by fixed-size records of {@value #RECORD_SIZE} bytes. Every record holds the card ordinals of one
+ * deal in dealing order, see {@link GameStateController#deal(GameState, byte[])}. Record {@code i} is the deal for
+ * seed {@code firstSeed + i}, so looking up a deal by seed is a matter of arithmetic. Because the file is mapped,
+ * records are read straight from the page cache without any parsing or copying; a {@link DealCorpus} can safely be
+ * shared between threads.
+ */
+public final class DealCorpus implements Closeable {
+    /**
+     * Default location of the corpus: {@code .solitaire/deals.corpus} in the user's home directory.
+     */
+    public static final Path DEFAULT_FILE = Paths.get(System.getProperty("user.home"), ".solitaire", "deals.corpus");
+
+    static final int MAGIC = 0x53444331; // "SDC1"
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = GameStateController.DEAL_SIZE;
+    static final int SEGMENT_RECORDS = Integer.MAX_VALUE / RECORD_SIZE; // a single mapping is limited to 2 GiB
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long firstSeed;
+    private final long size;
+
+    private DealCorpus(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC) throw new IOException("Not a deal corpus file");
+        if (header.getInt(4) != RECORD_SIZE) throw new IOException("Unsupported record size " + header.getInt(4));
+        this.firstSeed = header.getLong(8);
+        this.size = header.getLong(16);
+        if (channel.size() < HEADER_SIZE + size * RECORD_SIZE) throw new IOException("Deal corpus file is truncated");
+
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS)];
+        for (int i = 0; i < segments.length; i++) {
+            long records = Math.min(SEGMENT_RECORDS, size - (long) i * SEGMENT_RECORDS);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_SIZE + (long) i * SEGMENT_RECORDS * RECORD_SIZE, records * RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Opens and maps an existing corpus file.
+     *
+     * @param path location of the corpus file
+     * @return mapped corpus
+     * @throws IOException if the file can't be read or is not a corpus file
+     */
+    public static DealCorpus open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new DealCorpus(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Getter for size.
+     *
+     * @return number of deals in this corpus
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Getter for firstSeed.
+     *
+     * @return seed of the first deal in this corpus
+     */
+    public long getFirstSeed() {
+        return firstSeed;
+    }
+
+    /**
+     * Returns the seed of the deal at the provided index.
+     *
+     * @param index record index
+     * @return seed of the deal
+     */
+    public long seed(long index) {
+        checkIndex(index);
+        return firstSeed + index;
+    }
+
+    /**
+     * Returns the record index of the deal with the provided seed, or -1 if the corpus does not contain the seed.
+     *
+     * @param seed seed of the deal
+     * @return record index or -1
+     */
+    public long indexOf(long seed) {
+        long index = seed - firstSeed;
+        return index >= 0 && index < size ? index : -1;
+    }
+
+    /**
+     * Copies the card ordinals of the deal at the provided index to the provided array.
+     *
+     * @param index record index
+     * @param deal array of at least {@value #RECORD_SIZE} bytes
+     */
+    public void read(long index, byte[] deal) {
+        checkIndex(index);
+        MappedByteBuffer segment = segments[(int) (index / SEGMENT_RECORDS)];
+        int offset = (int) (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        for (int i = 0; i < RECORD_SIZE; i++) deal[i] = segment.get(offset + i);
+    }
+
+    /**
+     * Creates a new GameState object for the deal at the provided index.
+     *
+     * @param index record index
+     * @return a new GameState object, ready to go
+     */
+    public GameState get(long index) {
+        GameState gameState = new GameState();
+        byte[] deal = new byte[RECORD_SIZE];
+        read(index, deal);
+        GameStateController.deal(gameState, deal);
+        gameState.setSeed(firstSeed + index);
+        return gameState;
+    }
+
+    /**
+     * Sequentially streams all deals in this corpus.
+     *
+     * @return GameState objects in record order
+     */
+    public Stream<GameState> stream() {
+        return stream(LongStream.range(0, size));
+    }
+
+    /**
+     * Streams the deals at the provided record indices, for example the result of
+     * {@link DealIndex#indices(Difficulty)}.
+     *
+     * @param indices record indices
+     * @return GameState objects in the order of the indices
+     */
+    public Stream<GameState> stream(LongStream indices) {
+        return indices.mapToObj(this::get);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Deal " + index + " out of " + size);
+    }
+}
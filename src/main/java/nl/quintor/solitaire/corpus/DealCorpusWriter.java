@@ -0,0 +1,78 @@
+package nl.quintor.solitaire.corpus;
+
+import nl.quintor.solitaire.game.GameStateController;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.LongStream;
+
+import static nl.quintor.solitaire.corpus.DealCorpus.*;
+
+/**
+ * Generator for deal corpus files, see {@link DealCorpus} for the file format. The class is not instantiable, all
+ * constructors are private and all methods are static.
+ */
+public class DealCorpusWriter {
+    private DealCorpusWriter(){}
+
+    /**
+     * Writes a corpus of consecutively seeded deals to the provided path, overwriting an existing file. Deals are
+     * shuffled in parallel and written straight into the mapped file.
+     *
+     * @param path location of the corpus file
+     * @param firstSeed seed of the first deal
+     * @param count number of deals
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path path, long firstSeed, long count) throws IOException {
+        if (count < 0) throw new IllegalArgumentException("count >= 0");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, RECORD_SIZE);
+            header.putLong(8, firstSeed);
+            header.putLong(16, count);
+
+            for (long start = 0; start < count; start += SEGMENT_RECORDS) {
+                long records = Math.min(SEGMENT_RECORDS, count - start);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + start * RECORD_SIZE, records * RECORD_SIZE);
+                long segmentStart = start;
+                LongStream.range(0, records).parallel().forEach(i -> {
+                    byte[] deal = GameStateController.shuffle(firstSeed + segmentStart + i);
+                    int offset = (int) i * RECORD_SIZE;
+                    for (int card = 0; card < RECORD_SIZE; card++) segment.put(offset + card, deal[card]);
+                });
+                segment.force();
+            }
+            header.force();
+        }
+    }
+
+    /**
+     * Command-line entry point: {@code DealCorpusWriter <file> <firstSeed> <count>}. Also creates an empty
+     * {@link DealIndex} next to the corpus file.
+     *
+     * @param args the command-line arguments
+     * @throws IOException if the files can't be written
+     */
+    public static void main(String... args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: DealCorpusWriter <file> <firstSeed> <count>");
+            System.exit(1);
+        }
+        Path path = Paths.get(args[0]);
+        long firstSeed = Long.parseLong(args[1]);
+        long count = Long.parseLong(args[2]);
+
+        long start = System.nanoTime();
+        write(path, firstSeed, count);
+        DealIndex.create(DealIndex.pathFor(path), count).close();
+        System.out.printf("Wrote %d deals to %s in %d ms%n", count, path, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,201 @@
+package nl.quintor.solitaire.corpus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/**
+ * Memory-mapped side index of a {@link DealCorpus}, holding the {@link Solvability} and {@link Difficulty} of every
+ * deal. Lookup by seed goes through {@link DealCorpus#indexOf(long)}, because records are ordered by seed.
+ *
+ * <p>The index file consists of a {@value #HEADER_SIZE}-byte header (magic number and record count) followed by a
+ * single byte per deal: bits 0-1 hold the Solvability ordinal and bits 2-4 the Difficulty ordinal. A fresh index marks
+ * all deals {@link Solvability#UNKNOWN} and {@link Difficulty#UNRATED}. Different threads may update different
+ * records concurrently.
+ */
+public final class DealIndex implements Closeable {
+    static final int MAGIC = 0x53444931; // "SDI1"
+    static final int HEADER_SIZE = 16;
+    private static final int SOLVABILITY_MASK = 0b11;
+    private static final int DIFFICULTY_SHIFT = 2;
+    private static final int DIFFICULTY_MASK = 0b111;
+    private static final Solvability[] SOLVABILITIES = Solvability.values();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private DealIndex(FileChannel channel, long size) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        this.segments = new MappedByteBuffer[(int) ((size + Integer.MAX_VALUE - 1) / Integer.MAX_VALUE)];
+        for (int i = 0; i < segments.length; i++) {
+            long records = Math.min(Integer.MAX_VALUE, size - (long) i * Integer.MAX_VALUE);
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) i * Integer.MAX_VALUE, records);
+        }
+    }
+
+    /**
+     * Returns the conventional index location for a corpus file: the corpus path with ".idx" appended.
+     *
+     * @param corpusPath location of the corpus file
+     * @return location of the index file
+     */
+    public static Path pathFor(Path corpusPath) {
+        return corpusPath.resolveSibling(corpusPath.getFileName() + ".idx");
+    }
+
+    /**
+     * Creates a new index file for the provided number of deals, overwriting an existing file.
+     *
+     * @param path location of the index file
+     * @param size number of deals in the corpus
+     * @return mapped index
+     * @throws IOException if the file can't be written
+     */
+    public static DealIndex create(Path path, long size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putLong(8, size);
+            return new DealIndex(channel, size);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens and maps an existing index file.
+     *
+     * @param path location of the index file
+     * @return mapped index
+     * @throws IOException if the file can't be read or is not an index file
+     */
+    public static DealIndex open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) throw new IOException("Not a deal index file");
+            long size = header.getLong(8);
+            if (channel.size() < HEADER_SIZE + size) throw new IOException("Deal index file is truncated");
+            return new DealIndex(channel, size);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Getter for size.
+     *
+     * @return number of deals in this index
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the solvability of the deal at the provided index.
+     *
+     * @param index record index
+     * @return solvability
+     */
+    public Solvability getSolvability(long index) {
+        return SOLVABILITIES[get(index) & SOLVABILITY_MASK];
+    }
+
+    /**
+     * Returns the difficulty of the deal at the provided index.
+     *
+     * @param index record index
+     * @return difficulty
+     */
+    public Difficulty getDifficulty(long index) {
+        return DIFFICULTIES[(get(index) >>> DIFFICULTY_SHIFT) & DIFFICULTY_MASK];
+    }
+
+    /**
+     * Stores the solvability and difficulty of the deal at the provided index.
+     *
+     * @param index record index
+     * @param solvability solvability of the deal
+     * @param difficulty difficulty of the deal
+     */
+    public void set(long index, Solvability solvability, Difficulty difficulty) {
+        checkIndex(index);
+        segments[(int) (index / Integer.MAX_VALUE)]
+            .put((int) (index % Integer.MAX_VALUE), (byte) (solvability.ordinal() | difficulty.ordinal() << DIFFICULTY_SHIFT));
+    }
+
+    /**
+     * Returns the record indices of all deals of the provided difficulty, in ascending order. Feed the result to
+     * {@link DealCorpus#stream(LongStream)} to stream the deals themselves.
+     *
+     * @param difficulty requested difficulty
+     * @return matching record indices
+     */
+    public LongStream indices(Difficulty difficulty) {
+        return LongStream.range(0, size).filter(i -> getDifficulty(i) == difficulty);
+    }
+
+    /**
+     * Picks a random deal of the provided difficulty: the first matching record at or after a random record, wrapping
+     * around at the end. Deals that follow a run of deals of other difficulties are picked more often, but unlike
+     * {@link #indices(Difficulty)} a pick takes expected constant time when the difficulty is common.
+     *
+     * @param difficulty requested difficulty
+     * @param random source of randomness
+     * @return record index of a matching deal, or empty if there is none
+     */
+    public OptionalLong random(Difficulty difficulty, Random random) {
+        if (size == 0) return OptionalLong.empty();
+        long start = Math.floorMod(random.nextLong(), size);
+        for (long i = 0; i < size; i++) {
+            long index = start + i < size ? start + i : start + i - size;
+            if (getDifficulty(index) == difficulty) return OptionalLong.of(index);
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns the record indices of all deals of the provided solvability, in ascending order.
+     *
+     * @param solvability requested solvability
+     * @return matching record indices
+     */
+    public LongStream indices(Solvability solvability) {
+        return LongStream.range(0, size).filter(i -> getSolvability(i) == solvability);
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : segments) segment.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int get(long index) {
+        checkIndex(index);
+        return segments[(int) (index / Integer.MAX_VALUE)].get((int) (index % Integer.MAX_VALUE));
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Deal " + index + " out of " + size);
+    }
+}
@@ -0,0 +1,9 @@
+package nl.quintor.solitaire.corpus;
+
+/**
+ * Enum of deal difficulty buckets. The ordering of the enum values should NOT be changed, the ordinal is stored in
+ * {@link DealIndex} files.
+ */
+public enum Difficulty {
+    UNRATED, EASY, MEDIUM, HARD
+}
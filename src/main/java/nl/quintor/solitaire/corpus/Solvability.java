@@ -0,0 +1,9 @@
+package nl.quintor.solitaire.corpus;
+
+/**
+ * Enum of the known solvability of a deal. The ordering of the enum values should NOT be changed, the ordinal is
+ * stored in {@link DealIndex} files.
+ */
+public enum Solvability {
+    UNKNOWN, SOLVABLE, UNSOLVABLE
+}
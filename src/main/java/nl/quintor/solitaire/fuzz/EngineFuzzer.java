@@ -0,0 +1,295 @@
+package nl.quintor.solitaire.fuzz;
+
+import nl.quintor.solitaire.bot.LegalMoves;
+import nl.quintor.solitaire.game.moves.CycleStock;
+import nl.quintor.solitaire.game.moves.Dummy;
+import nl.quintor.solitaire.game.moves.Help;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.MoveCard;
+import nl.quintor.solitaire.game.moves.Revert;
+import nl.quintor.solitaire.game.moves.RevertibleMove;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.models.state.GameStatePool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Randomized stress test of the game engine. Every run deals a seeded game and plays random commands through
+ * {@link Move#createInstance(String)} and {@link Move#apply(GameState)}, the way {@link nl.quintor.solitaire.Main}
+ * does: mostly legal moves, mixed with reverts, illegal card moves and garbage input. After every command the fuzzer
+ * checks that:
+ * <ul>
+ *     <li>a rejected command (a {@link MoveException}) left the GameState unchanged, and no other exception was thrown
+ *     <li>all 52 cards are present exactly once and invisible card counts are valid, see {@link Invariants}
+ *     <li>reverting a {@link RevertibleMove} restores the exact prior state, and applying the command again results in
+ *     the same state as before the revert
+ * </ul>
+ * Runs are spread over a thread pool. The commands of a run only depend on its seed, so the first failure is reported as
+ * a {@link FuzzFailure} with the seed and a command trace, which is minimized by removing every command that isn't
+ * needed to reproduce the failure.
+ */
+public class EngineFuzzer {
+    private static final String[] SOURCES = {"O", "SA", "SB", "SC", "SD", "A", "B", "C", "D", "E", "F", "G", "H", "X"};
+    private static final String[] DESTINATIONS = {"O", "SA", "SB", "SC", "SD", "SE", "A", "B", "C", "D", "E", "F", "G", "Z"};
+    private static final String[] GARBAGE = {"M", "M O", "M O SA SB", "MOSA", "M 3 A", "M A99 B", "X", "C C", "R1", "H"};
+    private static final Map<String, Move> MOVES = Map.of(
+        "C", new CycleStock(), "M", new MoveCard(), "R", new Revert(), "H", new Help());
+
+    private final int steps;
+    private final LongAdder commands = new LongAdder();
+    private final GameStatePool pool = new GameStatePool(1);
+
+    /**
+     * Creates a fuzzer that plays the provided number of commands per run.
+     *
+     * @param steps number of commands per run
+     */
+    public EngineFuzzer(int steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Returns the number of commands played so far, over all threads.
+     *
+     * @return number of commands
+     */
+    public long getCommands() {
+        return commands.sum();
+    }
+
+    /**
+     * Plays the runs with seeds {@code firstSeed} up to {@code firstSeed + runs} on the provided number of threads, and
+     * stops at the first failure.
+     *
+     * @param firstSeed seed of the first run
+     * @param runs number of runs
+     * @param threads number of threads
+     * @throws FuzzFailure with a minimized trace, if an invariant is broken
+     * @throws InterruptedException if interrupted while waiting for the runs to finish
+     */
+    public void fuzz(long firstSeed, long runs, int threads) throws FuzzFailure, InterruptedException {
+        AtomicReference<FuzzFailure> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                long offset = worker;
+                workers.add(executor.submit(() -> {
+                    for (long run = offset; run < runs && failure.get() == null; run += threads) {
+                        try {
+                            run(firstSeed + run);
+                        } catch (FuzzFailure e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    throw new IllegalStateException("Fuzzer worker failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        if (failure.get() != null) throw minimize(failure.get());
+    }
+
+    /**
+     * Plays a single run: deals the seed and plays random commands. The commands only depend on the seed, so a run can
+     * be reproduced by {@link #replay(long, List)} of its trace.
+     *
+     * @param seed seed of the deal and the commands
+     * @return trace of the commands played
+     * @throws FuzzFailure with the full trace, if an invariant is broken
+     */
+    public List<String> run(long seed) throws FuzzFailure {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> trace = new ArrayList<>();
+        GameState gameState = pool.acquire(seed);
+        try {
+            Probe probe = new Probe(gameState);
+            for (int step = 0; step < steps && !gameState.isGameOver(); step++) {
+                String command = command(gameState, random);
+                trace.add(command);
+                play(probe, command, seed, trace);
+            }
+            commands.add(trace.size());
+            return trace;
+        } finally {
+            pool.release(gameState);
+        }
+    }
+
+    /**
+     * Deals the seed and plays the provided commands, checking the invariants after every command.
+     *
+     * @param seed seed of the deal
+     * @param trace commands to play
+     * @throws FuzzFailure if an invariant is broken
+     */
+    public static void replay(long seed, List<String> trace) throws FuzzFailure {
+        GameState gameState = new GameState();
+        gameState.reset(seed);
+        Probe probe = new Probe(gameState);
+        for (int step = 0; step < trace.size(); step++) play(probe, trace.get(step), seed, trace.subList(0, step + 1));
+    }
+
+    private static void play(Probe probe, String command, long seed, List<String> trace) throws FuzzFailure {
+        GameState gameState = probe.gameState;
+        Move prototype = MOVES.getOrDefault(command.isEmpty() ? "" : command.substring(0, 1), new Dummy());
+        Move move = prototype.createInstance(command);
+        probe.snapshot(probe.before);
+        try {
+            move.apply(gameState);
+        } catch (MoveException e) {
+            if (!probe.unchanged(probe.before)) {
+                throw new FuzzFailure("Rejected command changed the state", seed, new ArrayList<>(trace), e);
+            }
+            return;
+        } catch (RuntimeException e) {
+            throw new FuzzFailure("Command threw " + e, seed, new ArrayList<>(trace), e);
+        }
+        String broken = Invariants.check(gameState, probe.decks);
+        if (broken != null) throw new FuzzFailure(broken, seed, new ArrayList<>(trace), null);
+
+        if (move instanceof RevertibleMove && !gameState.getMoves().isEmpty()
+            && gameState.getMoves().get(gameState.getMoves().size() - 1) == move) {
+            probe.snapshot(probe.after);
+            try {
+                ((RevertibleMove) move).revert(gameState);
+                gameState.forget((RevertibleMove) move);
+                if (!probe.unchanged(probe.before)) {
+                    throw new FuzzFailure("Revert didn't restore the prior state", seed, new ArrayList<>(trace), null);
+                }
+                prototype.createInstance(command).apply(gameState);
+            } catch (MoveException | RuntimeException e) {
+                throw new FuzzFailure("Command couldn't be replayed after revert", seed, new ArrayList<>(trace), e);
+            }
+            if (!probe.unchanged(probe.after)) {
+                throw new FuzzFailure("Replay after revert resulted in another state", seed, new ArrayList<>(trace), null);
+            }
+        }
+    }
+
+    /**
+     * Reusable snapshot buffers for a single GameState object.
+     */
+    private static class Probe {
+        private final GameState gameState;
+        private final Deck[] decks;
+        private final long[] before = new long[Invariants.SNAPSHOT_SIZE + 1];
+        private final long[] after = new long[Invariants.SNAPSHOT_SIZE + 1];
+        private final long[] current = new long[Invariants.SNAPSHOT_SIZE + 1];
+
+        private Probe(GameState gameState) {
+            this.gameState = gameState;
+            this.decks = Invariants.decks(gameState);
+        }
+
+        /**
+         * Writes a snapshot of the GameState object, preceded by its length.
+         */
+        private void snapshot(long[] into) {
+            into[0] = Invariants.snapshot(gameState, decks, current);
+            System.arraycopy(current, 0, into, 1, (int) into[0]);
+        }
+
+        /**
+         * Returns true if the GameState object matches the provided snapshot.
+         */
+        private boolean unchanged(long[] snapshot) {
+            int length = Invariants.snapshot(gameState, decks, current);
+            return length == snapshot[0] && Arrays.equals(current, 0, length, snapshot, 1, length + 1);
+        }
+    }
+
+    /**
+     * Returns a random command: mostly legal moves, and otherwise reverts, random card moves, cycling the stock and
+     * garbage input.
+     */
+    private static String command(GameState gameState, SplittableRandom random) {
+        int kind = random.nextInt(100);
+        if (kind < 60) {
+            List<Move> legalMoves = LegalMoves.of(gameState);
+            if (!legalMoves.isEmpty()) {
+                Move move = legalMoves.get(random.nextInt(legalMoves.size()));
+                return move instanceof MoveCard ? ((MoveCard) move).getPlayerInput() : "C";
+            }
+        }
+        if (kind < 70) return "R";
+        if (kind < 75) return "C";
+        if (kind < 95) {
+            String source = SOURCES[random.nextInt(SOURCES.length)];
+            if (source.length() == 1 && !source.equals("O")) source += random.nextInt(21);
+            return "M " + source + " " + DESTINATIONS[random.nextInt(DESTINATIONS.length)];
+        }
+        return GARBAGE[random.nextInt(GARBAGE.length)];
+    }
+
+    /**
+     * Removes commands from the trace of the failure as long as the shorter trace still fails, first in large chunks
+     * and then one by one.
+     */
+    private static FuzzFailure minimize(FuzzFailure failure) {
+        FuzzFailure smallest = failure;
+        List<String> trace = new ArrayList<>(failure.getTrace());
+        for (int chunk = Math.max(1, trace.size() / 2); chunk >= 1; chunk /= 2) {
+            for (int start = trace.size() - chunk; start >= 0; start -= chunk) {
+                List<String> candidate = new ArrayList<>(trace.subList(0, start));
+                candidate.addAll(trace.subList(start + chunk, trace.size()));
+                if (candidate.isEmpty()) continue;
+                try {
+                    replay(failure.getSeed(), candidate);
+                } catch (FuzzFailure e) {
+                    trace = new ArrayList<>(e.getTrace());
+                    smallest = e;
+                    start = Math.min(start, trace.size());
+                }
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Command-line entry point: {@code EngineFuzzer [firstSeed] [runs] [steps] [threads]}. Prints the throughput, or
+     * the minimized failure.
+     *
+     * @param args the command-line arguments
+     * @throws InterruptedException if interrupted while waiting for the runs to finish
+     */
+    public static void main(String... args) throws InterruptedException {
+        long firstSeed = args.length > 0 ? Long.parseLong(args[0]) : 0;
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+        int steps = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        EngineFuzzer fuzzer = new EngineFuzzer(steps);
+        long start = System.nanoTime();
+        try {
+            fuzzer.fuzz(firstSeed, runs, threads);
+            System.out.println("No failures");
+        } catch (FuzzFailure e) {
+            System.out.println(e.getMessage());
+            if (e.getCause() != null) e.getCause().printStackTrace(System.out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d command(s) in %.1f s, %.0f command(s) per second%n",
+            fuzzer.getCommands(), seconds, fuzzer.getCommands() / seconds);
+    }
+}
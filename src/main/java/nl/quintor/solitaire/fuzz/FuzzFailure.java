@@ -0,0 +1,45 @@
+package nl.quintor.solitaire.fuzz;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown by {@link EngineFuzzer} when a command breaks an engine invariant. The failure can be reproduced by dealing
+ * the {@link #getSeed() seed} and playing the {@link #getTrace() trace}, see {@link EngineFuzzer#replay(long, List)}.
+ */
+public class FuzzFailure extends Exception {
+    private final long seed;
+    private final List<String> trace;
+
+    /**
+     * Creates a new FuzzFailure.
+     *
+     * @param message description of the broken invariant
+     * @param seed seed of the deal
+     * @param trace commands that lead to the failure, the last one breaks the invariant
+     * @param cause exception thrown by the engine, or null
+     */
+    public FuzzFailure(String message, long seed, List<String> trace, Throwable cause) {
+        super(message + " (seed " + seed + ", trace " + trace + ")", cause);
+        this.seed = seed;
+        this.trace = Collections.unmodifiableList(trace);
+    }
+
+    /**
+     * Getter for seed.
+     *
+     * @return seed of the deal
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for trace.
+     *
+     * @return commands that lead to the failure
+     */
+    public List<String> getTrace() {
+        return trace;
+    }
+}
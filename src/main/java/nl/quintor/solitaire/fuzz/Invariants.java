@@ -0,0 +1,113 @@
+package nl.quintor.solitaire.fuzz;
+
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.PlacementRules;
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.card.CardSet;
+import nl.quintor.solitaire.models.card.MutableCardSet;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.util.Map;
+
+/**
+ * Invariant checks and exact snapshots of a {@link GameState} for the {@link EngineFuzzer}.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+final class Invariants {
+    /**
+     * Maximum length of a snapshot: two values per deck, one per card, and six counters.
+     */
+    static final int SNAPSHOT_SIZE = 2 * 13 + GameStateController.DEAL_SIZE + 6;
+
+    private Invariants(){}
+
+    /**
+     * Checks the invariants of the GameState object: every card of the deal is present exactly once, invisible card
+     * counts are within bounds, and stack piles and the visible part of columns are built according to the rules.
+     *
+     * @param gameState GameState object to check
+     * @param decks decks of the GameState object, see {@link #decks(GameState)}
+     * @return description of the first broken invariant, or null if all invariants hold
+     */
+    static String check(GameState gameState, Deck[] decks) {
+        MutableCardSet seen = new MutableCardSet();
+        for (Deck deck : decks) {
+            for (Card card : deck) {
+                if (card == null) return "null card in " + deck.getDeckType();
+                if (!CardSet.STANDARD_DECK.contains(card)) return "unexpected card " + card;
+                if (!seen.add(card)) return "duplicate card " + card;
+            }
+        }
+        if (!seen.equals(CardSet.STANDARD_DECK)) return seen.size() + " cards instead of " + GameStateController.DEAL_SIZE;
+
+        for (Map.Entry<String, Deck> column : gameState.getColumns().entrySet()) {
+            Deck deck = column.getValue();
+            int invisible = deck.getInvisibleCards();
+            if (invisible < 0 || invisible > Math.max(0, deck.size() - 1)) {
+                return "column " + column.getKey() + " has " + invisible + " invisible of " + deck.size() + " cards";
+            }
+            for (int i = invisible + 1; i < deck.size(); i++) {
+                if (!PlacementRules.KLONDIKE.acceptsOnColumn(deck.get(i - 1), deck.get(i))) {
+                    return "column " + column.getKey() + " has " + deck.get(i) + " on " + deck.get(i - 1);
+                }
+            }
+        }
+        for (Map.Entry<String, Deck> stack : gameState.getStackPiles().entrySet()) {
+            Deck deck = stack.getValue();
+            if (deck.getInvisibleCards() != 0) return "stack pile " + stack.getKey() + " has invisible cards";
+            for (int i = 0; i < deck.size(); i++) {
+                if (!PlacementRules.KLONDIKE.acceptsOnStack(i == 0 ? null : deck.get(i - 1), deck.get(i))) return "stack pile " + stack.getKey() + " has " + deck.get(i) + " at " + i;
+            }
+        }
+        if (gameState.getStock().getInvisibleCards() != 0 || gameState.getWaste().getInvisibleCards() != 0) {
+            return "stock or waste has invisible cards";
+        }
+        return null;
+    }
+
+    /**
+     * Writes an exact snapshot of everything a move may change to the provided array: all decks with their invisible
+     * card counts, the scores, the number of stock cycles, the game status and the number of remembered moves.
+     *
+     * @param gameState GameState object
+     * @param decks decks of the GameState object, see {@link #decks(GameState)}
+     * @param snapshot array of at least {@value #SNAPSHOT_SIZE} values to write the snapshot to
+     * @return length of the snapshot
+     */
+    static int snapshot(GameState gameState, Deck[] decks, long[] snapshot) {
+        int i = 0;
+        for (Deck deck : decks) {
+            snapshot[i++] = deck.size();
+            snapshot[i++] = deck.getInvisibleCards();
+            for (int card = 0; card < deck.size(); card++) {
+                snapshot[i++] = deck.get(card) == null ? -1 : deck.get(card).getOrdinal();
+            }
+        }
+        snapshot[i++] = gameState.getBaseScore();
+        snapshot[i++] = gameState.getTimeScore();
+        snapshot[i++] = gameState.getStockCycles();
+        snapshot[i++] = gameState.isGameWon() ? 1 : 0;
+        snapshot[i++] = gameState.isGameLost() ? 1 : 0;
+        snapshot[i++] = gameState.getMoves().size();
+        return i;
+    }
+
+    /**
+     * Returns the decks of the GameState object: the stock, the waste, the stack piles and the columns. The decks of a
+     * GameState object never change, so the result can be reused.
+     *
+     * @param gameState GameState object
+     * @return all decks
+     */
+    static Deck[] decks(GameState gameState) {
+        Deck[] decks = new Deck[2 + gameState.getStackPiles().size() + gameState.getColumns().size()];
+        int i = 0;
+        decks[i++] = gameState.getStock();
+        decks[i++] = gameState.getWaste();
+        for (Deck deck : gameState.getStackPiles().values()) decks[i++] = deck;
+        for (Deck deck : gameState.getColumns().values()) decks[i++] = deck;
+        return decks;
+    }
+}
@@ -0,0 +1,111 @@
+package nl.quintor.solitaire.game;
+
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Library class for the canonical form of {@link GameState} objects. The class is not instantiable, all constructors
+ * are private and all methods are static.
+ *
+ * <p>The rules don't distinguish between columns, nor between stack piles, so two positions that only differ in which
+ * column holds which cards, or which stack pile holds which suit, are equivalent: every move in one has a mirror move
+ * in the other. The canonical form sorts the columns and the stack piles by their bottom card, with the empty decks
+ * last, so all equivalent positions have the same canonical form and the same {@link #hash(GameState)}. Searches that
+ * key visited positions on the canonical hash only explore one position of every class of equivalent positions.
+ */
+public class CanonicalForm {
+    private static final int EMPTY = Integer.MAX_VALUE;
+
+    private CanonicalForm(){}
+
+    /**
+     * Creates the canonical form of the provided GameState object: a copy in which the column and stack pile contents
+     * are sorted by their bottom card. Scores, counters and times are copied as is.
+     *
+     * @param gameState GameState object
+     * @return new GameState object in canonical form
+     */
+    public static GameState of(GameState gameState){
+        GameState canonical = gameState.copy();
+        arrange(canonical.getStackPiles(), sorted(gameState.getStackPiles().values()));
+        arrange(canonical.getColumns(), sorted(gameState.getColumns().values()));
+        return canonical;
+    }
+
+    /**
+     * Calculates the canonical position hash of the provided GameState object without creating its canonical form.
+     * Equals {@code StateHash.of(CanonicalForm.of(gameState))}.
+     *
+     * @param gameState GameState object to hash
+     * @return 64-bit canonical position hash
+     */
+    public static long hash(GameState gameState){
+        long hash = StateHash.hash(0, gameState.getStock());
+        hash = StateHash.hash(hash, gameState.getWaste());
+        for (Deck deck : sorted(gameState.getStackPiles().values())) hash = StateHash.hash(hash, deck);
+        for (Deck deck : sorted(gameState.getColumns().values())) hash = StateHash.hash(hash, deck);
+        return StateHash.mix(hash);
+    }
+
+    /**
+     * Returns true if the provided GameState objects are equivalent, that is if their canonical forms hold the same
+     * cards in the same places.
+     *
+     * @param gameState1 the first GameState object
+     * @param gameState2 the second GameState object
+     * @return true if the positions are equivalent
+     */
+    public static boolean equivalent(GameState gameState1, GameState gameState2){
+        return same(gameState1.getStock(), gameState2.getStock())
+            && same(gameState1.getWaste(), gameState2.getWaste())
+            && same(sorted(gameState1.getStackPiles().values()), sorted(gameState2.getStackPiles().values()))
+            && same(sorted(gameState1.getColumns().values()), sorted(gameState2.getColumns().values()));
+    }
+
+    /**
+     * Sorts the provided decks by the ordinal of their bottom card, empty decks last. Decks are few, so this is an
+     * insertion sort on a small array.
+     */
+    private static Deck[] sorted(Collection<Deck> decks){
+        Deck[] sorted = decks.toArray(new Deck[0]);
+        for (int i = 1; i < sorted.length; i++) {
+            Deck deck = sorted[i];
+            int key = key(deck);
+            int j = i - 1;
+            for (; j >= 0 && key(sorted[j]) > key; j--) sorted[j + 1] = sorted[j];
+            sorted[j + 1] = deck;
+        }
+        return sorted;
+    }
+
+    private static int key(Deck deck){
+        return deck.isEmpty() ? EMPTY : deck.get(0).getOrdinal();
+    }
+
+    /**
+     * Refills the decks of the provided map, in header order, with the contents of the sorted decks.
+     */
+    private static void arrange(Map<String, Deck> decks, Deck[] sorted){
+        Iterator<Deck> targets = decks.values().iterator();
+        for (Deck source : sorted) {
+            Deck target = targets.next();
+            target.clear();
+            target.addAll(source);
+            target.setInvisibleCards(source.getInvisibleCards());
+        }
+    }
+
+    private static boolean same(Deck[] decks1, Deck[] decks2){
+        if (decks1.length != decks2.length) return false;
+        for (int i = 0; i < decks1.length; i++) if (!same(decks1[i], decks2[i])) return false;
+        return true;
+    }
+
+    private static boolean same(Deck deck1, Deck deck2){
+        return deck1.getInvisibleCards() == deck2.getInvisibleCards() && deck1.equals(deck2);
+    }
+}
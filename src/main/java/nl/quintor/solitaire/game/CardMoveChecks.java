@@ -1,15 +1,13 @@
 package nl.quintor.solitaire.game;
 
-import nl.quintor.solitaire.game.moves.Help;
 import nl.quintor.solitaire.game.moves.ex.MoveException;
 import nl.quintor.solitaire.models.card.Card;
-import nl.quintor.solitaire.models.card.Rank;
 import nl.quintor.solitaire.models.card.Suit;
 import nl.quintor.solitaire.models.deck.Deck;
 import nl.quintor.solitaire.models.deck.DeckType;
+import nl.quintor.solitaire.ui.Terminal;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Library class for card move legality checks. The class is not instantiable, all constructors are private and all methods are
@@ -21,7 +19,8 @@ public class CardMoveChecks {
     private CardMoveChecks() {
     }
 
-    private final static String helpInstructions = new Help().toString();
+    private final static Pattern SOURCE_LOCATION = Pattern.compile("O|S[A-D]|[A-G][0-9]{1,2}");
+    private final static Pattern DESTINATION_LOCATION = Pattern.compile("S[A-D]|[A-G]");
 
     /**
      * Verifies that the player input for a CardMove is syntactically legal. Legal input consists of three parts:
@@ -35,33 +34,18 @@ public class CardMoveChecks {
      * @throws MoveException on syntax error
      */
     public static void checkPlayerInput(String[] input) throws MoveException {
-        // TODO: Write implementation
-        if (input.length == 3) {
-            String moveCommand = input[0];
-            String sourceLocation = input[1];
-            String destinationLocation = input[2];
-
-            if (moveCommand != "M") {
-                throw new MoveException("test");
-            }
-
-            String[] validSourceLocations = new String[]{"O", "A", "A2", "B", "C", "C10", "D", "E", "F", "G", "SA", "SB", "SC", "SD"};
-            List<String> sourceList = Arrays.asList(validSourceLocations);
-            if (!sourceList.contains(sourceLocation)) {
-                throw new MoveException("Invalid Move syntax. \"Z\" is not a valid source location.\n" +
-                    "See H̲elp for instructions.");
-            }
-
-            String[] validDestinationLocations = new String[]{"A", "B", "C", "D", "E", "F", "G", "SA", "SB", "SC", "SD"};
-            List<String> destinationList = Arrays.asList(validDestinationLocations);
-            if (!destinationList.contains(destinationLocation)) {
-                throw new MoveException("Invalid Move syntax. \"Z\" is not a valid destination location.\n" +
-                    "See H̲elp for instructions.");
-            }
-
-            return;
+        if (input.length != 3 || !"M".equals(input[0])) {
+            throw new MoveException("Invalid Move syntax. A move consists of M, a source and a destination.\n" +
+                "See " + Terminal.command("Help") + " for instructions.");
+        }
+        if (!SOURCE_LOCATION.matcher(input[1]).matches()) {
+            throw new MoveException("Invalid Move syntax. \"" + input[1] + "\" is not a valid source location.\n" +
+                "See " + Terminal.command("Help") + " for instructions.");
+        }
+        if (!DESTINATION_LOCATION.matcher(input[2]).matches()) {
+            throw new MoveException("Invalid Move syntax. \"" + input[2] + "\" is not a valid destination location.\n" +
+                "See " + Terminal.command("Help") + " for instructions.");
         }
-        throw new MoveException("test");
     }
 
     /**
@@ -84,10 +68,10 @@ public class CardMoveChecks {
             throw new MoveException("You can\'t move a card from an empty deck");
         } else if (destinationDeck.getDeckType() == DeckType.STOCK) {
             throw new MoveException("You can\'t move cards to the stock");
-        } else if (sourceDeck.size() - sourceCardIndex > 1 && sourceDeck.getInvisibleCards() == 0 && destinationDeck.getDeckType() == DeckType.STACK) {
-            throw new MoveException("You can't move more than 1 card at a time to a Stack Pile");
         } else if (sourceDeck.getInvisibleCards() > sourceCardIndex) {
             throw new MoveException("You can't move an invisible card");
+        } else if (sourceDeck.size() - sourceCardIndex > 1 && destinationDeck.getDeckType() == DeckType.STACK) {
+            throw new MoveException("You can't move more than 1 card at a time to a Stack Pile");
         }
     }
 
@@ -95,34 +79,38 @@ public class CardMoveChecks {
      * Verifies that a card move is possible given the rank and suit of the card or first card to be moved. Assumes the
      * {@link #checkPlayerInput(String[])} and {@link #deckLevelChecks(Deck, int, Deck)} checks have passed. The checks
      * for moves to a stack pile or to a column are quite different, so the method calls one of two helper methods,
-     * {@link #checkStackMove(Card, Card)} and {@link #checkColumnMove(Card, Card)}.
+     * {@link #checkStackMove(Card, Card)} and {@link #checkColumnMove(Card, Card)}. The standard
+     * {@link PlacementRules#KLONDIKE} rules apply.
      *
      * @param targetDeck deck that the card(s) will be transferred to
      * @param cardToAdd  (first) card
      * @throws MoveException on illegal move
      */
     public static void cardLevelChecks(Deck targetDeck, Card cardToAdd) throws MoveException {
+        cardLevelChecks(PlacementRules.KLONDIKE, targetDeck, cardToAdd);
+    }
 
-
+    /**
+     * Verifies that a card move is possible given the rank and suit of the card or first card to be moved, under the
+     * provided placement rules. See {@link #cardLevelChecks(Deck, Card)}.
+     *
+     * @param rules      placement rules of the game variant
+     * @param targetDeck deck that the card(s) will be transferred to
+     * @param cardToAdd  (first) card
+     * @throws MoveException on illegal move
+     */
+    public static void cardLevelChecks(PlacementRules rules, Deck targetDeck, Card cardToAdd) throws MoveException {
+        Card targetCard = targetDeck.isEmpty() ? null : targetDeck.get(targetDeck.size() - 1);
         if (targetDeck.getDeckType() == DeckType.STACK) {
-            if (targetDeck.size() == 0 && cardToAdd.getRank() != Rank.ACE) {
+            if (targetCard == null && !rules.acceptsOnStack(null, cardToAdd)) {
                 throw new MoveException("An Ace has to be the first card of a Stack Pile");
             }
-            if (targetDeck.size() > 0) {
-                var targetCard = targetDeck.get(targetDeck.size() - 1);
-                checkStackMove(targetCard, cardToAdd);
-            }
-//            else{ targetDeck.add(cardToAdd);}
-
+            if (targetCard != null) checkStackMove(rules, targetCard, cardToAdd);
         } else if (targetDeck.getDeckType() == DeckType.COLUMN) {
-            if (targetDeck.size() == 0 && cardToAdd.getRank() != Rank.KING) {
+            if (targetCard == null && !rules.acceptsOnColumn(null, cardToAdd)) {
                 throw new MoveException("A King has to be the first card of a Column");
             }
-            if (targetDeck.size() > 0) {
-                var targetCard = targetDeck.get(targetDeck.size() - 1);
-                checkColumnMove(targetCard, cardToAdd);
-            }
-//            else{ targetDeck.add(cardToAdd);}
+            if (targetCard != null) checkColumnMove(rules, targetCard, cardToAdd);
         } else {
             throw new MoveException("Target deck is neither Stack nor Column.");
         }
@@ -138,18 +126,18 @@ public class CardMoveChecks {
      * @throws MoveException on illegal move
      */
     static void checkStackMove(Card targetCard, Card cardToAdd) throws MoveException {
+        checkStackMove(PlacementRules.KLONDIKE, targetCard, cardToAdd);
+    }
 
-        if (targetCard.getSuit() != cardToAdd.getSuit()) {
+    private static void checkStackMove(PlacementRules rules, Card targetCard, Card cardToAdd) throws MoveException {
+        if (rules.acceptsOnStack(targetCard, cardToAdd)) return;
+        // illegal move, only now determine the reason
+        if (targetCard != null && targetCard.getSuit() != cardToAdd.getSuit()) {
             throw new MoveException("Stack Piles can only contain same-suit cards");
-        } else if (cardToAdd.getRank().ordinal() - targetCard.getRank().ordinal() == -12) {
-
-        } else if (cardToAdd.getRank().ordinal() - targetCard.getRank().ordinal() != 1) {
-            throw new MoveException("Stack Piles hold same-suit cards of increasing Rank from Ace to King");
         }
-
+        throw new MoveException("Stack Piles hold same-suit cards of increasing Rank from Ace to King");
     }
 
-
     /**
      * Verifies that the proposed move is legal given that the targetCard is the last card of a column.
      *
@@ -158,17 +146,17 @@ public class CardMoveChecks {
      * @throws MoveException on illegal move
      */
     static void checkColumnMove(Card targetCard, Card cardToAdd) throws MoveException {
-        if (targetCard.getSuit() == cardToAdd.getSuit()
-            || targetCard.getSuit() == Suit.DIAMONDS && cardToAdd.getSuit() == Suit.HEARTS
-            || targetCard.getSuit() == Suit.SPADES && cardToAdd.getSuit() == Suit.CLUBS
-            || targetCard.getSuit() == Suit.HEARTS && cardToAdd.getSuit() == Suit.DIAMONDS
-            || targetCard.getSuit() == Suit.CLUBS && cardToAdd.getSuit() == Suit.SPADES) {
+        checkColumnMove(PlacementRules.KLONDIKE, targetCard, cardToAdd);
+    }
+
+    private static void checkColumnMove(PlacementRules rules, Card targetCard, Card cardToAdd) throws MoveException {
+        if (rules.acceptsOnColumn(targetCard, cardToAdd)) return;
+        // illegal move, only now determine the reason
+        if (targetCard != null && targetCard.getSuit() != Suit.JOKER && cardToAdd.getSuit() != Suit.JOKER
+            && !opposingColor(targetCard, cardToAdd)) {
             throw new MoveException("Column cards have te alternate colors (red and black)");
-        } else if ( targetCard.getRank().ordinal() - cardToAdd.getRank().ordinal() != 1) {
-            throw new MoveException("Columns hold alternating-color cards of decreasing rank from King to Two");
         }
-
-
+        throw new MoveException("Columns hold alternating-color cards of decreasing rank from King to Two");
     }
 
     /**
@@ -1,5 +1,8 @@
 package nl.quintor.solitaire.game;
 
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.card.CardSet;
+import nl.quintor.solitaire.models.card.MutableCardSet;
 import nl.quintor.solitaire.models.deck.Deck;
 import nl.quintor.solitaire.models.state.GameState;
 
@@ -10,12 +13,20 @@ import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Random;
 
 /**
  * Library class for GameState initiation and status checks that are called from {@link nl.quintor.solitaire.Main}.
  * The class is not instantiable, all constructors are private and all methods are static.
  */
 public class GameStateController {
+    /**
+     * Number of cards in a deal: a standard deck of cards without Jokers.
+     */
+    public static final int DEAL_SIZE = 52;
+
+    private static final ThreadLocal<Shuffler> SHUFFLER = ThreadLocal.withInitial(Shuffler::new);
+
     private GameStateController(){}
 
     /**
@@ -26,7 +37,94 @@ public class GameStateController {
      * @return a new GameState object, ready to go
      */
     public static GameState init(){
-        return new GameState();
+        return init(new Random().nextLong());
+    }
+
+    /**
+     * Creates and initializes a new GameState object, like {@link #init()}, but shuffles the cards with the provided
+     * seed. The same seed always results in the same deal.
+     *
+     * @param seed seed for shuffling the cards
+     * @return a new GameState object, ready to go
+     */
+    public static GameState init(long seed){
+        GameState gameState = new GameState();
+        deal(gameState, seed);
+        return gameState;
+    }
+
+    /**
+     * Shuffles the cards with the provided seed and deals them to the GameState object, like {@link #init(long)}, but
+     * reuses the GameState object's decks. The shuffle buffer is kept per thread, so dealing doesn't allocate.
+     *
+     * @param gameState GameState object to deal the cards to
+     * @param seed seed for shuffling the cards
+     */
+    public static void deal(GameState gameState, long seed){
+        Shuffler shuffler = SHUFFLER.get();
+        shuffler.random.setSeed(seed);
+        shuffle(shuffler.random, shuffler.deal);
+        deal(gameState, shuffler.deal);
+        gameState.setSeed(seed);
+    }
+
+    /**
+     * Returns the ordinals of a standard deck of cards without Jokers, shuffled with the provided seed. The result is in
+     * dealing order, see {@link #deal(GameState, byte[])}.
+     *
+     * @param seed seed for shuffling the cards
+     * @return {@value #DEAL_SIZE} card ordinals in dealing order
+     */
+    public static byte[] shuffle(long seed){
+        byte[] deal = new byte[DEAL_SIZE];
+        shuffle(new Random(seed), deal);
+        return deal;
+    }
+
+    private static void shuffle(Random random, byte[] deal){
+        for (int i = 0; i < DEAL_SIZE; i++) deal[i] = (byte) i;
+        for (int i = DEAL_SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = deal[i];
+            deal[i] = deal[j];
+            deal[j] = swap;
+        }
+    }
+
+    /**
+     * Deals the provided card ordinals to the GameState object's decks, which are cleared first. The cards are dealt
+     * like a real Klondike deal: row by row to the columns, starting each row one column further to the right, so that
+     * column A gets one card and column G gets seven. All column cards except the last are invisible. The next card is
+     * placed face-up on the stock and the remaining 23 cards form the face-down waste.
+     *
+     * @param gameState GameState object to deal the cards to
+     * @param deal {@value #DEAL_SIZE} card ordinals in dealing order
+     * @throws IllegalArgumentException if the deal isn't a permutation of a standard deck of cards without Jokers
+     */
+    public static void deal(GameState gameState, byte[] deal){
+        if (deal.length != DEAL_SIZE) throw new IllegalArgumentException("A deal consists of " + DEAL_SIZE + " cards");
+        MutableCardSet dealt = new MutableCardSet();
+        for (byte ordinal : deal) {
+            if (ordinal < 0 || !dealt.add(ordinal)) throw new IllegalArgumentException("Invalid or duplicate card " + ordinal);
+        }
+        if (!dealt.equals(CardSet.STANDARD_DECK)) throw new IllegalArgumentException("A deal can't contain Jokers");
+        for (Deck stackPile : gameState.getStackPiles().values()) stackPile.clear();
+        gameState.getStock().clear();
+        gameState.getWaste().clear();
+
+        // row r of the deal starts at card 7r - r(r-1)/2 with the card of column r, so every column can be filled at once
+        int columns = gameState.getColumns().size();
+        int column = 0;
+        for (Deck deck : gameState.getColumns().values()) {
+            deck.clear();
+            for (int row = 0; row <= column; row++) {
+                deck.add(Card.valueOf(deal[columns * row - row * (row - 1) / 2 + column - row]));
+            }
+            deck.setInvisibleCards(column++);
+        }
+        int card = columns * (columns + 1) / 2;
+        gameState.getStock().add(Card.valueOf(deal[card++]));
+        while (card < DEAL_SIZE) gameState.getWaste().add(Card.valueOf(deal[card++]));
     }
 
     /**
@@ -69,4 +167,12 @@ public class GameStateController {
         gameState.setGameWon(!foundInvisibleCards && gameState.getStock().isEmpty() && gameState.getWaste().isEmpty());
 
     }
+
+    /**
+     * Per-thread shuffle state for {@link #deal(GameState, long)}.
+     */
+    private static class Shuffler {
+        private final Random random = new Random();
+        private final byte[] deal = new byte[DEAL_SIZE];
+    }
 }
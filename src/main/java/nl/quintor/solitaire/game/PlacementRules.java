@@ -0,0 +1,121 @@
+package nl.quintor.solitaire.game;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.card.Rank;
+import nl.quintor.solitaire.models.card.Suit;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.deck.DeckType;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed card placement legality tables, indexed by {@link Card} ordinal. For every possible top card of a stack
+ * pile or last card of a column, a 64-bit mask holds the ordinals of the cards that may be placed on it; two more
+ * masks hold the cards that an empty stack pile or column accepts. A legality check is a single table lookup. Rule
+ * variants can be supported by creating an instance with different tables; {@link #KLONDIKE} holds the standard
+ * rules.
+ */
+public final class PlacementRules {
+    private static final int CARDS = 54;
+
+    /**
+     * Standard Klondike rules: stack piles hold same-suit cards of increasing rank from Ace to King, columns hold
+     * alternating-color cards of decreasing rank from King to Two, empty stack piles accept Aces and empty columns
+     * accept Kings. Jokers are never accepted.
+     */
+    public static final PlacementRules KLONDIKE = klondike();
+
+    private final long[] stackAccepts;
+    private final long[] columnAccepts;
+    private final long emptyStackAccepts;
+    private final long emptyColumnAccepts;
+
+    /**
+     * Creates placement rules from the provided tables. The tables are copied.
+     *
+     * @param stackAccepts per top card ordinal, the mask of card ordinals a stack pile accepts
+     * @param columnAccepts per last card ordinal, the mask of card ordinals a column accepts
+     * @param emptyStackAccepts mask of card ordinals an empty stack pile accepts
+     * @param emptyColumnAccepts mask of card ordinals an empty column accepts
+     */
+    public PlacementRules(long[] stackAccepts, long[] columnAccepts, long emptyStackAccepts, long emptyColumnAccepts) {
+        if (stackAccepts.length != CARDS || columnAccepts.length != CARDS) {
+            throw new IllegalArgumentException("Tables need an entry for each of the " + CARDS + " cards");
+        }
+        this.stackAccepts = Arrays.copyOf(stackAccepts, CARDS);
+        this.columnAccepts = Arrays.copyOf(columnAccepts, CARDS);
+        this.emptyStackAccepts = emptyStackAccepts;
+        this.emptyColumnAccepts = emptyColumnAccepts;
+    }
+
+    /**
+     * Determines if the card may be placed on top of the stack pile whose top card is the target card.
+     *
+     * @param targetCard top card of the stack pile, or null if the stack pile is empty
+     * @param cardToAdd card to place
+     * @return true if the placement is legal
+     */
+    public boolean acceptsOnStack(Card targetCard, Card cardToAdd) {
+        long mask = targetCard == null ? emptyStackAccepts : stackAccepts[targetCard.getOrdinal()];
+        return (mask >>> cardToAdd.getOrdinal() & 1) != 0;
+    }
+
+    /**
+     * Determines if the card may be placed at the end of the column whose last card is the target card.
+     *
+     * @param targetCard last card of the column, or null if the column is empty
+     * @param cardToAdd (first) card to place
+     * @return true if the placement is legal
+     */
+    public boolean acceptsOnColumn(Card targetCard, Card cardToAdd) {
+        long mask = targetCard == null ? emptyColumnAccepts : columnAccepts[targetCard.getOrdinal()];
+        return (mask >>> cardToAdd.getOrdinal() & 1) != 0;
+    }
+
+    /**
+     * Determines if the card may be added to the provided stack pile or column deck.
+     *
+     * @param targetDeck stack pile or column
+     * @param cardToAdd (first) card to add
+     * @return true if the placement is legal, false if it is not or if the deck is neither a stack pile nor a column
+     */
+    public boolean accepts(Deck targetDeck, Card cardToAdd) {
+        Card targetCard = targetDeck.isEmpty() ? null : targetDeck.get(targetDeck.size() - 1);
+        if (targetDeck.getDeckType() == DeckType.STACK) return acceptsOnStack(targetCard, cardToAdd);
+        if (targetDeck.getDeckType() == DeckType.COLUMN) return acceptsOnColumn(targetCard, cardToAdd);
+        return false;
+    }
+
+    private static PlacementRules klondike() {
+        long[] stack = new long[CARDS];
+        long[] column = new long[CARDS];
+        long emptyStack = 0;
+        long emptyColumn = 0;
+        for (int add = 0; add < CARDS; add++) {
+            Card cardToAdd = new Card(add);
+            if (cardToAdd.getSuit() == Suit.JOKER) continue;
+            if (cardToAdd.getRank() == Rank.ACE) emptyStack |= 1L << add;
+            if (cardToAdd.getRank() == Rank.KING) emptyColumn |= 1L << add;
+            for (int target = 0; target < CARDS; target++) {
+                Card targetCard = new Card(target);
+                if (targetCard.getSuit() == Suit.JOKER) continue;
+                if (targetCard.getSuit() == cardToAdd.getSuit()
+                    && stackValue(cardToAdd) - stackValue(targetCard) == 1) stack[target] |= 1L << add;
+                if (red(targetCard) != red(cardToAdd)
+                    && targetCard.getRank().ordinal() - cardToAdd.getRank().ordinal() == 1) column[target] |= 1L << add;
+            }
+        }
+        return new PlacementRules(stack, column, emptyStack, emptyColumn);
+    }
+
+    /**
+     * Value of a card on a stack pile: Ace is 1, Two is 2, ..., King is 13.
+     */
+    private static int stackValue(Card card) {
+        return card.getRank() == Rank.ACE ? 1 : card.getRank().ordinal() + 2;
+    }
+
+    private static boolean red(Card card) {
+        return card.getSuit() == Suit.DIAMONDS || card.getSuit() == Suit.HEARTS;
+    }
+}
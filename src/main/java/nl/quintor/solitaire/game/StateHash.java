@@ -0,0 +1,58 @@
+package nl.quintor.solitaire.game;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+/**
+ * Library class for 64-bit hashes of {@link GameState} objects. The class is not instantiable, all constructors are
+ * private and all methods are static.
+ *
+ * <p>The hash covers the position only: the cards in every deck, in deck order, and the number of invisible cards per
+ * deck. Scores, counters, moves and times are ignored, so two GameState objects with the same cards in the same places
+ * have the same hash. The hash of a freshly dealt GameState identifies the deal.
+ */
+public class StateHash {
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private StateHash(){}
+
+    /**
+     * Calculates the position hash of the provided GameState object.
+     *
+     * @param gameState GameState object to hash
+     * @return 64-bit position hash
+     */
+    public static long of(GameState gameState){
+        long hash = hash(0, gameState.getStock());
+        hash = hash(hash, gameState.getWaste());
+        for (Deck deck : gameState.getStackPiles().values()) hash = hash(hash, deck);
+        for (Deck deck : gameState.getColumns().values()) hash = hash(hash, deck);
+        return mix(hash);
+    }
+
+    /**
+     * Folds a single deck into a running hash.
+     *
+     * @param hash running hash
+     * @param deck deck to fold into the hash
+     * @return new running hash
+     */
+    static long hash(long hash, Deck deck){
+        hash = hash * MULTIPLIER + deck.getInvisibleCards() + 1;
+        for (Card card : deck) hash = hash * MULTIPLIER + card.getOrdinal() + 1;
+        return hash * MULTIPLIER + 0xFF; // deck separator, so [A][B, C] and [A, B][C] differ
+    }
+
+    /**
+     * Finalizes a running hash by spreading all bits over the full 64 bits (the SplitMix64 finalizer).
+     *
+     * @param hash running hash
+     * @return mixed hash
+     */
+    static long mix(long hash){
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
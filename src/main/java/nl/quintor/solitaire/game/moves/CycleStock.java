@@ -1,16 +1,23 @@
 package nl.quintor.solitaire.game.moves;
 
 import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.card.Card;
 import nl.quintor.solitaire.models.deck.Deck;
 import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.Terminal;
+
+import java.util.List;
 
 /**
  * Class that represents a player action to cycle the stock. This is an action that influences the {@link GameState}, is
- * revertible and influences the {@link GameState#baseScore}. It stores the previous score in case this move is reverted.
+ * revertible and influences the {@link GameState#baseScore}. It stores the previous score, the number of cards drawn and
+ * whether the stock was recycled in case this move is reverted.
  */
 public class CycleStock implements RevertibleMove {
-    private final static String name = System.getProperty("os.name").contains("Windows") ? "Cycle stock" : "C̲ycle stock";
+    private final static String name = Terminal.command("Cycle stock");
     private long previousScore = 0;
+    private int drawnCards = 0;
+    private boolean recycled = false;
 
     @Override
     public Move createInstance(String playerInput) {
@@ -26,20 +33,61 @@ public class CycleStock implements RevertibleMove {
      * cycles. Since the first or last card can be removed, this gets complicated really quickly. The move is stored in
      * {@link GameState#moves}.
      *
+     * <p>The first {@link GameState#getDrawCount()} cards of the waste are turned face-up onto the stock. If the waste
+     * is empty, the stock is turned face-down to form the waste first, which counts as a stock cycle and costs points.
+     * Cards are transferred in bulk, and only the number of drawn cards and whether the stock was recycled are
+     * remembered, so that {@link #revert(GameState)} can undo the move without searching.
+     *
      * @param gameState GameState object to which this move will be applied
      * @return result of cycling the stock, i.e. "Stock card 3 out of 14, cycle 1"
      * @throws MoveException on empty stock
      */
     @Override
     public String apply(GameState gameState) throws MoveException{
-        // TODO: Write implementation
-        return null;
+        Deck stock = gameState.getStock();
+        Deck waste = gameState.getWaste();
+        if (stock.isEmpty() && waste.isEmpty()) throw new MoveException("Stock is empty");
+
+        previousScore = gameState.getBaseScore();
+        if (waste.isEmpty()) {
+            waste.addAll(stock);
+            stock.clear();
+            gameState.setStockCycles(gameState.getStockCycles() + 1);
+            recycled = true;
+            addScore(gameState);
+        }
+        drawnCards = Math.min(gameState.getDrawCount(), waste.size());
+        List<Card> drawn = waste.subList(0, drawnCards);
+        stock.addAll(drawn);
+        drawn.clear();
+
+        gameState.remember(this);
+        return "Stock card " + stock.size() + " out of " + (stock.size() + waste.size()) + ", cycle " +
+            gameState.getStockCycles();
     }
 
+    /**
+     * Reverts cycling the stock: the drawn cards are turned face-down onto the front of the waste again, and if the
+     * stock was recycled, the waste is turned face-up to form the stock again and the cycle is subtracted from
+     * {@link GameState#stockCycles}.
+     *
+     * @param gameState GameState object to which this move has been applied
+     * @return result of reverting this move
+     */
     @Override
     public String revert(GameState gameState){
-        // TODO: Write implementation
-        return "";
+        Deck stock = gameState.getStock();
+        Deck waste = gameState.getWaste();
+        List<Card> drawn = stock.subList(stock.size() - drawnCards, stock.size());
+        waste.addAll(0, drawn);
+        drawn.clear();
+        if (recycled) {
+            stock.addAll(waste);
+            waste.clear();
+            gameState.setStockCycles(gameState.getStockCycles() - 1);
+        }
+        gameState.setBaseScore(previousScore);
+        return "Reverted stock cycle, stock card " + stock.size() + " out of " + (stock.size() + waste.size());
     }
 
     @Override
@@ -48,12 +96,11 @@ public class CycleStock implements RevertibleMove {
     }
 
     /**
-     * Subtracts a hundred points from {@link GameState#baseScore} and stores the previous value.
+     * Subtracts a hundred points from {@link GameState#baseScore}. Called when the stock is recycled.
      *
      * @param gameState GameState object that the method is applied to
      */
     private void addScore(GameState gameState){
-        previousScore = gameState.getBaseScore();
-        gameState.setBaseScore(previousScore - 100);
+        gameState.setBaseScore(gameState.getBaseScore() - 100);
     }
 }
@@ -25,8 +25,7 @@ public class Dummy implements Move{
      */
     @Override
     public String apply(GameState gameState) throws MoveException {
-        // TODO: Write implementation
-        return "";
+        throw new MoveException("Unknown move played: " + playerInput);
     }
 
     @Override
@@ -36,7 +35,6 @@ public class Dummy implements Move{
 
     @Override
     public String toString() {
-        // TODO: Write implementation
-        return null;
+        return "Dummy";
     }
 }
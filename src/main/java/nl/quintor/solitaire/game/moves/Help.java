@@ -1,12 +1,13 @@
 package nl.quintor.solitaire.game.moves;
 
 import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.Terminal;
 
 /**
  * Class that represents a player action to view the game instructions.
  */
 public class Help implements Move{
-    private final static String name = System.getProperty("os.name").contains("Windows") ? "Help" : "H̲elp";
+    private final static String name = Terminal.command("Help");
 
     /**
      * Returns the help information for the UI to show the player. Does not influence the {@link GameState}.
@@ -16,8 +17,7 @@ public class Help implements Move{
      */
     @Override
     public String apply(GameState gameState) {
-        // TODO: Write implementation
-        return null;
+        return Terminal.helpText();
     }
 
     @Override
@@ -27,7 +27,6 @@ public class Help implements Move{
 
     @Override
     public String toString() {
-        // TODO: Write implementation
-        return null;
+        return name;
     }
 }
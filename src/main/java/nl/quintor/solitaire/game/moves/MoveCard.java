@@ -5,30 +5,57 @@ import nl.quintor.solitaire.game.moves.ex.MoveException;
 import nl.quintor.solitaire.models.deck.Deck;
 import nl.quintor.solitaire.models.deck.DeckType;
 import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.Terminal;
+
+import java.util.regex.Pattern;
 
 /**
  * Class that represents a player action to move a card or multiple cards. This is an action that influences the
  * {@link GameState}, is revertible and influences the {@link GameState#baseScore}. It contains several helper methods
  * to get the job done, and uses the {@link CardMoveChecks} library class to determine if the requested card move is legal.
  *
- * <p>To make reverting the move possible, instances of this class store the player input, the source deck, the cards moved,
- * the destination deck, whether or not a previously invisible card was exposed on the source deck, whether or not
+ * <p>To make reverting the move possible, instances of this class store the player input, the source deck, the number of
+ * cards moved, the destination deck, whether or not a previously invisible card was exposed on the source deck, whether or not
  * the stock was cycled because the first card was removed from it, and finally the previous score.
+ *
+ * <p>The player input is parsed and its syntax checked once, when the instance is created. Applying and reverting the
+ * move only look up the decks and transfer the cards, so they allocate nothing but the returned message.
  */
 public class MoveCard implements RevertibleMove {
-    private final static String name = System.getProperty("os.name").contains("Windows") ? "Move" : "M̲ove";
+    private final static String name = Terminal.command("Move");
+    private final static Pattern WHITESPACE = Pattern.compile("\\s+");
     private String playerInput;
+    private String source;
+    private String destination;
+    private String sourceHeader;
+    private String destinationHeader;
+    private int sourceRow = -1;
+    private MoveException syntaxError;
     private Deck sourceDeck;
-    private Deck movedCards;
+    private int movedCards = 0;
     private Deck destinationDeck;
     private boolean showedInvisible = false;
     private boolean cycledStock = false;
     private long previousScore = 0;
 
-    public MoveCard(){}
+    public MoveCard(){
+        this(null);
+    }
 
     public MoveCard(String playerInput){
         this.playerInput = playerInput;
+        String[] input = playerInput == null ? new String[0] : WHITESPACE.split(playerInput.trim().toUpperCase());
+        try {
+            CardMoveChecks.checkPlayerInput(input);
+        } catch (MoveException e) {
+            syntaxError = e;
+            return;
+        }
+        source = input[1];
+        destination = input[2];
+        sourceHeader = source.substring(0, 1);
+        destinationHeader = destination.substring(0, 1);
+        if (!"O".equals(sourceHeader) && !"S".equals(sourceHeader)) sourceRow = Integer.parseInt(source.substring(1));
     }
 
     @Override
@@ -50,14 +77,65 @@ public class MoveCard implements RevertibleMove {
      */
     @Override
     public String apply(GameState gameState) throws MoveException {
-        // TODO: Write implementation
-        return null;
+        if (syntaxError != null) throw syntaxError;
+        sourceDeck = getDeck(gameState, source, sourceHeader);
+        destinationDeck = getDeck(gameState, destination, destinationHeader);
+        int cardIndex = getCardIndex(sourceDeck);
+        CardMoveChecks.deckLevelChecks(sourceDeck, cardIndex, destinationDeck);
+        CardMoveChecks.cardLevelChecks(destinationDeck, sourceDeck.get(cardIndex));
+
+        movedCards = sourceDeck.size() - cardIndex;
+        sourceDeck.transferTo(destinationDeck, movedCards);
+
+        if (sourceDeck.getDeckType() == DeckType.COLUMN && sourceDeck.getInvisibleCards() > 0
+            && sourceDeck.getInvisibleCards() == sourceDeck.size()) {
+            sourceDeck.setInvisibleCards(sourceDeck.getInvisibleCards() - 1);
+            showedInvisible = true;
+        }
+        if (sourceDeck.getDeckType() == DeckType.STOCK && sourceDeck.isEmpty() && !gameState.getWaste().isEmpty()) {
+            sourceDeck.add(gameState.getWaste().remove(0));
+            cycledStock = true;
+        }
+
+        addScore(gameState);
+        gameState.remember(this);
+        return "Moved " + destinationDeck.toString(movedCards) + " from " + source + " to " + destination;
     }
 
     @Override
     public String revert(GameState gameState){
-        // TODO: Write implementation
-        return null;
+        if (cycledStock) gameState.getWaste().add(0, sourceDeck.remove(sourceDeck.size() - 1));
+        if (showedInvisible) sourceDeck.setInvisibleCards(sourceDeck.getInvisibleCards() + 1);
+        destinationDeck.transferTo(sourceDeck, movedCards);
+        gameState.setBaseScore(previousScore);
+        return "Reverted move of " + sourceDeck.toString(movedCards) + " " + source + " " + destination;
+    }
+
+    /**
+     * Getter for playerInput.
+     *
+     * @return the player input this move was created with
+     */
+    public String getPlayerInput() {
+        return playerInput;
+    }
+
+    /**
+     * Returns the source location token of the player input, for example "B3" for "M B3 SA".
+     *
+     * @return source location token, cast to uppercase, or null if the player input is not a valid move
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the destination location token of the player input, for example "SA" for "M B3 SA".
+     *
+     * @return destination location token, cast to uppercase, or null if the player input is not a valid move
+     */
+    public String getDestination() {
+        return destination;
     }
 
     @Override
@@ -66,24 +144,22 @@ public class MoveCard implements RevertibleMove {
     }
 
     /**
-     * Returns the index of the source card based on the first player input parameter, the locationToken. If the requested
-     * card is in the stock or a stack pile, the last card of that deck is returned. If the requested card is located in
-     * a column, the specified row number is returned. Assumes the locationToken is syntactically correct and cast to
-     * uppercase.
+     * Returns the index of the source card. If the requested card is in the stock or a stack pile, the last card of
+     * that deck is returned. If the requested card is located in a column, the row of the source location is returned.
      *
      * @param sourceDeck Deck in which the card is looked up
-     * @param locationToken syntactically correct String representation of the source card location
      * @return index in Deck
      * @throws MoveException if no index could be determined
      */
-    private int getCardIndex(Deck sourceDeck, String locationToken) throws MoveException {
+    private int getCardIndex(Deck sourceDeck) throws MoveException {
         if (sourceDeck.getDeckType() == DeckType.STOCK || sourceDeck.getDeckType() == DeckType.STACK) return sourceDeck.size() - 1;
         if (sourceDeck.getDeckType() == DeckType.COLUMN){
-            int row = Integer.parseInt(locationToken.substring(1));
-            if (row >= sourceDeck.size()) throw new MoveException("Column " + locationToken.substring(0, 1) + " has no card " + row);
-            return row;
+            if (sourceRow >= sourceDeck.size()) {
+                throw new MoveException("Column " + sourceHeader + " has no card " + sourceRow);
+            }
+            return sourceRow;
         }
-        throw new MoveException("Card index for token \n" + locationToken + "\n could not be determined.");
+        throw new MoveException("Card index for token \n" + source + "\n could not be determined.");
     }
 
     /**
@@ -92,11 +168,11 @@ public class MoveCard implements RevertibleMove {
      *
      * @param gameState GameState object from which the deck is returned
      * @param locationToken syntactically correct String representation of a card location
+     * @param deckHeader first character of the locationToken
      * @return the deck represented by the locationToken
      * @throws MoveException if the deck could not be determined
      */
-    private Deck getDeck(GameState gameState, String locationToken) throws MoveException {
-        String deckHeader = locationToken.substring(0 ,1);
+    private Deck getDeck(GameState gameState, String locationToken, String deckHeader) throws MoveException {
         if ("O".equals(deckHeader)) return gameState.getStock();
         if (gameState.getStackPiles().containsKey(locationToken)) return gameState.getStackPiles().get(locationToken);
         if (gameState.getColumns().containsKey(deckHeader)) return gameState.getColumns().get(deckHeader);
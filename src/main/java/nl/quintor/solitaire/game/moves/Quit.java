@@ -1,12 +1,13 @@
 package nl.quintor.solitaire.game.moves;
 
 import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.Terminal;
 
 /**
  * Class that represents a player action to quit the game.
  */
 public class Quit implements Move{
-    private final static String name = System.getProperty("os.name").contains("Windows") ? "Quit" : "Q̲uit";
+    private final static String name = Terminal.command("Quit");
 
     /**
      * Sets the {@link GameState#gameLost} boolean to true.
@@ -16,8 +17,8 @@ public class Quit implements Move{
      */
     @Override
     public String apply(GameState gameState){
-        // TODO: Write implementation
-        return "";
+        gameState.setGameLost(true);
+        return "Game Over";
     }
 
     @Override
@@ -27,7 +28,6 @@ public class Quit implements Move{
 
     @Override
     public String toString(){
-        // TODO: Write implementation
-        return null;
+        return name;
     }
 }
@@ -2,6 +2,7 @@ package nl.quintor.solitaire.game.moves;
 
 import nl.quintor.solitaire.game.moves.ex.MoveException;
 import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.Terminal;
 
 import java.util.List;
 
@@ -9,7 +10,7 @@ import java.util.List;
  * Class that represents a player action to revert another move that implements {@link RevertibleMove}.
  */
 public class Revert implements Move {
-    private final static String name = System.getProperty("os.name").contains("Windows") ? "Revert" : "R̲evert";
+    private final static String name = Terminal.command("Revert");
 
     /**
      * Applies the {@link RevertibleMove#revert(GameState)}-method of the previous RevertibleMove contained in the
@@ -21,8 +22,12 @@ public class Revert implements Move {
      */
     @Override
     public String apply(GameState gameState) throws MoveException{
-        // TODO: Write implementation
-        return null;
+        List<RevertibleMove> moves = gameState.getMoves();
+        if (moves.isEmpty()) throw new MoveException("Cannot revert; no moves have been played.");
+        RevertibleMove move = moves.get(moves.size() - 1);
+        String result = move.revert(gameState);
+        gameState.forget(move);
+        return result;
     }
 
     @Override
@@ -0,0 +1,42 @@
+package nl.quintor.solitaire.game.moves;
+
+import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.LatencyTracker;
+
+/**
+ * Class that represents the hidden command to show the input latency of the session, for diagnosing slow terminals.
+ * Does not influence the {@link GameState}, and is not listed among the possible moves.
+ */
+public class ShowLatency implements Move {
+    private final LatencyTracker tracker;
+
+    /**
+     * Creates the command for the provided session.
+     *
+     * @param tracker latency tracker of the session
+     */
+    public ShowLatency(LatencyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * Returns the latency report of the session for the UI to show the player.
+     *
+     * @param gameState GameState object, which is ignored
+     * @return latency report
+     */
+    @Override
+    public String apply(GameState gameState) {
+        return tracker.report();
+    }
+
+    @Override
+    public Move createInstance(String playerInput) {
+        return new ShowLatency(tracker);
+    }
+
+    @Override
+    public String toString() {
+        return "Latency";
+    }
+}
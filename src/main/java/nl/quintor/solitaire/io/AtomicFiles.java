@@ -0,0 +1,31 @@
+package nl.quintor.solitaire.io;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Replaces files by completely written temporary files, so that a crash leaves either the old or the new file, never
+ * a partially written one. The class is not instantiable, all constructors are private and all methods are static.
+ */
+public final class AtomicFiles {
+    private AtomicFiles(){}
+
+    /**
+     * Moves the temporary file over the target file. The move is atomic where the file system supports it, and falls
+     * back to a plain replacing move where it doesn't.
+     *
+     * @param temporary completely written file, next to the target file
+     * @param target file to replace, created if it doesn't exist
+     * @throws IOException if the file can't be moved
+     */
+    public static void replace(Path temporary, Path target) throws IOException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
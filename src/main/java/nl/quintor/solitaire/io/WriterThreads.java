@@ -0,0 +1,29 @@
+package nl.quintor.solitaire.io;
+
+/**
+ * Stops background writer threads without losing their last writes. The class is not instantiable, all constructors
+ * are private and all methods are static.
+ */
+public final class WriterThreads {
+    private WriterThreads(){}
+
+    /**
+     * Waits until the provided thread has stopped, for example a writer thread that writes its last data before it
+     * stops. An interrupt while waiting doesn't stop the waiting, so the data is always written. The interrupt is
+     * reported to the caller instead, which sets the interrupt status again when it is done with its own cleanup.
+     *
+     * @param thread thread to wait for
+     * @return true if the calling thread was interrupted while waiting
+     */
+    public static boolean joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        return interrupted;
+    }
+}
@@ -0,0 +1,216 @@
+package nl.quintor.solitaire.leaderboard;
+
+import nl.quintor.solitaire.io.WriterThreads;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Thread-safe high-score table that keeps the best {@code capacity} {@link Score}s. The scores are kept in a
+ * {@link ConcurrentSkipListSet} in {@link Score#ORDER}, so submissions and queries from many threads don't contend on
+ * a lock.
+ *
+ * <p>
+ * A leaderboard that is {@linkplain #open(Path, int) opened} on a log file persists every submission to an
+ * append-only {@link ScoreLog}. Submissions are queued and appended in batches by a background writer thread, so
+ * {@link #submit(String, long, long)} never waits for the disk. Scores that drop off the board stay in the log until
+ * it grows to more than twice the capacity, at which point the writer compacts it to the scores on the board. Because
+ * a compaction can race with queued submissions, the log may contain a score twice; duplicates are recognized by
+ * their sequence number when the log is reloaded.
+ */
+public class Leaderboard implements AutoCloseable {
+    /**
+     * Default location of the leaderboard log: {@code .solitaire/leaderboard.log} in the user's home directory.
+     */
+    public static final Path DEFAULT_FILE = Paths.get(System.getProperty("user.home"), ".solitaire", "leaderboard.log");
+
+    /**
+     * Default number of scores kept on the board.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final int capacity;
+    private final ConcurrentSkipListSet<Score> scores = new ConcurrentSkipListSet<>(Score.ORDER);
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ScoreLog log;
+    private final ConcurrentLinkedQueue<Score> unwritten = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile boolean closed = false;
+    private volatile IOException lastError;
+    private long logged = 0;
+
+    /**
+     * Creates an empty leaderboard that is not persisted.
+     *
+     * @param capacity maximum number of scores on the board
+     */
+    public Leaderboard(int capacity) {
+        this(capacity, null);
+    }
+
+    private Leaderboard(int capacity, ScoreLog log) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity >= 1");
+        this.capacity = capacity;
+        this.log = log;
+        if (log == null) {
+            writer = null;
+        } else {
+            writer = new Thread(this::writeLoop, "leaderboard-writer");
+            writer.setDaemon(true);
+        }
+    }
+
+    /**
+     * Opens the leaderboard persisted in the provided log, which is created if it doesn't exist. The log is read in a
+     * single buffered pass; if it contains scores that are no longer on the board, it is compacted right away.
+     *
+     * @param path log file
+     * @param capacity maximum number of scores on the board
+     * @return the opened leaderboard
+     * @throws IOException if the log can't be read or written
+     */
+    public static Leaderboard open(Path path, int capacity) throws IOException {
+        List<Score> logged = new ArrayList<>();
+        ScoreLog log = ScoreLog.open(path, logged);
+        Leaderboard leaderboard = new Leaderboard(capacity, log);
+        long next = 0;
+        for (Score score : logged) {
+            leaderboard.add(score);
+            next = Math.max(next, score.getSequence() + 1);
+        }
+        leaderboard.sequence.set(next);
+        leaderboard.logged = logged.size();
+        if (leaderboard.logged > leaderboard.size.get()) leaderboard.compact();
+        leaderboard.writer.start();
+        return leaderboard;
+    }
+
+    /**
+     * Submits the final score of a game. The score is always logged, but it only stays on the board while it is among
+     * the best {@code capacity} scores.
+     *
+     * @param player name of the player
+     * @param score final score of the game
+     * @param seed seed of the deal
+     * @return the submitted entry
+     * @throws IllegalStateException if the leaderboard is closed
+     */
+    public Score submit(String player, long score, long seed) {
+        if (closed) throw new IllegalStateException("Leaderboard is closed");
+        Score entry = new Score(sequence.getAndIncrement(), player, score, seed, System.currentTimeMillis());
+        add(entry);
+        if (writer != null) {
+            unwritten.add(entry);
+            LockSupport.unpark(writer);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the best scores on the board.
+     *
+     * @param k maximum number of scores
+     * @return at most k scores, best first
+     */
+    public List<Score> top(int k) {
+        List<Score> top = new ArrayList<>(Math.min(k, capacity));
+        for (Score score : scores) {
+            if (top.size() >= k) break;
+            top.add(score);
+        }
+        return top;
+    }
+
+    /**
+     * Returns the rank that the provided score has on the board: 1 plus the number of scores on the board that are
+     * higher. Equal scores share a rank. Takes time proportional to the rank.
+     *
+     * @param score score
+     * @return rank of the score, 1 is the best
+     */
+    public int rank(long score) {
+        return scores.headSet(new Score(Long.MIN_VALUE, "", score, 0, 0)).size() + 1;
+    }
+
+    /**
+     * Returns the number of scores on the board.
+     *
+     * @return number of scores, at most the capacity
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Getter for lastError.
+     *
+     * @return the last error of the writer thread, or null if all writes succeeded
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Writes all queued submissions to the log, stops the writer thread and closes the log, see
+     * {@link WriterThreads#joinUninterruptibly(Thread)}.
+     *
+     * @throws IOException if the log can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        if (writer == null) return;
+        LockSupport.unpark(writer);
+        boolean interrupted = WriterThreads.joinUninterruptibly(writer);
+        try {
+            log.close();
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private void add(Score score) {
+        if (!scores.add(score)) return;
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            scores.pollLast();
+        }
+    }
+
+    private void writeLoop() {
+        List<Score> batch = new ArrayList<>();
+        while (true) {
+            for (Score score; (score = unwritten.poll()) != null; ) batch.add(score);
+            if (!batch.isEmpty()) {
+                try {
+                    log.append(batch);
+                    logged += batch.size();
+                    if (logged > 2L * capacity) compact();
+                } catch (IOException e) {
+                    lastError = e;
+                }
+                batch.clear();
+            } else if (closed) {
+                return;
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        List<Score> board = new ArrayList<>(scores);
+        log.compact(board);
+        logged = board.size();
+    }
+}
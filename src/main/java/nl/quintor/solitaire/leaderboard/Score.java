@@ -0,0 +1,98 @@
+package nl.quintor.solitaire.leaderboard;
+
+import java.util.Comparator;
+
+/**
+ * Immutable leaderboard entry. Entries are ordered by descending score; entries with the same score are ordered by
+ * sequence number, so the earliest submission ranks highest. The sequence number identifies the entry.
+ */
+public final class Score {
+    /**
+     * Leaderboard order: highest score first, then lowest sequence number first.
+     */
+    public static final Comparator<Score> ORDER = Comparator.comparingLong((Score score) -> -score.score)
+        .thenComparingLong(score -> score.sequence);
+
+    private final long sequence;
+    private final String player;
+    private final long score;
+    private final long seed;
+    private final long timestamp;
+
+    /**
+     * Creates a new Score.
+     *
+     * @param sequence sequence number of the submission
+     * @param player name of the player
+     * @param score final score of the game
+     * @param seed seed of the deal
+     * @param timestamp submission time in milliseconds since the epoch
+     */
+    public Score(long sequence, String player, long score, long seed, long timestamp) {
+        this.sequence = sequence;
+        this.player = player;
+        this.score = score;
+        this.seed = seed;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Getter for sequence.
+     *
+     * @return sequence number of the submission
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Getter for player.
+     *
+     * @return name of the player
+     */
+    public String getPlayer() {
+        return player;
+    }
+
+    /**
+     * Getter for score.
+     *
+     * @return final score of the game
+     */
+    public long getScore() {
+        return score;
+    }
+
+    /**
+     * Getter for seed.
+     *
+     * @return seed of the deal
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for timestamp.
+     *
+     * @return submission time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Score && ((Score) o).sequence == sequence;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sequence);
+    }
+
+    @Override
+    public String toString() {
+        return player + " " + score + " (deal " + seed + ")";
+    }
+}
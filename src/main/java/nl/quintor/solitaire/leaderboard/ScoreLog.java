@@ -0,0 +1,157 @@
+package nl.quintor.solitaire.leaderboard;
+
+import nl.quintor.solitaire.io.AtomicFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only binary log of {@link Score}s. Every record is the sequence number, score, seed and timestamp as longs,
+ * followed by the player name in modified UTF-8. A record that was cut off by a crash is truncated away when the log
+ * is read. {@link #compact(Collection)} replaces the log by a log of the provided scores, atomically.
+ */
+class ScoreLog implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private DataOutputStream out;
+
+    private ScoreLog(Path path) throws IOException {
+        this.path = path;
+        this.out = openForAppend(path);
+    }
+
+    /**
+     * Reads all complete records of the log at the provided path, truncates a partial last record and opens the log
+     * for appending.
+     *
+     * @param path log file, created if it doesn't exist
+     * @param scores receives the scores in the log, in log order
+     * @return the opened log
+     * @throws IOException on read or write errors
+     */
+    static ScoreLog open(Path path, List<Score> scores) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        long valid = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            CountingInput counter = new CountingInput(in);
+            while (true) {
+                Score score = read(counter.data);
+                scores.add(score);
+                valid = counter.count;
+            }
+        } catch (NoSuchFileException e) {
+            // a new log
+        } catch (EOFException e) {
+            truncate(path, valid);
+        }
+        return new ScoreLog(path);
+    }
+
+    /**
+     * Appends the provided scores and flushes them to the operating system.
+     *
+     * @param scores scores to append
+     * @throws IOException on write errors
+     */
+    void append(Collection<Score> scores) throws IOException {
+        for (Score score : scores) write(out, score);
+        out.flush();
+    }
+
+    /**
+     * Replaces the contents of the log by the provided scores. The new log is written to a temporary file that is
+     * atomically renamed over the log, see {@link AtomicFiles#replace(Path, Path)}.
+     *
+     * @param scores the scores to keep
+     * @throws IOException on write errors
+     */
+    void compact(Collection<Score> scores) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream compacted = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            for (Score score : scores) write(compacted, score);
+        }
+        try {
+            out.close();
+            AtomicFiles.replace(temporary, path);
+        } finally {
+            out = openForAppend(path); // the old or the new log, so appends keep working if the replace failed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static DataOutputStream openForAppend(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), BUFFER_SIZE));
+    }
+
+    private static void write(DataOutputStream out, Score score) throws IOException {
+        out.writeLong(score.getSequence());
+        out.writeLong(score.getScore());
+        out.writeLong(score.getSeed());
+        out.writeLong(score.getTimestamp());
+        out.writeUTF(score.getPlayer());
+    }
+
+    private static Score read(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        long score = in.readLong();
+        long seed = in.readLong();
+        long timestamp = in.readLong();
+        return new Score(sequence, in.readUTF(), score, seed, timestamp);
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    /**
+     * Counts the bytes that are read through it, to find the end of the last complete record.
+     */
+    private static class CountingInput extends InputStream {
+        private final InputStream in;
+        private final DataInputStream data;
+        private long count = 0;
+
+        private CountingInput(InputStream in) {
+            this.in = in;
+            this.data = new DataInputStream(this);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
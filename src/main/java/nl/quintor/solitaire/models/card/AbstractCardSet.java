@@ -0,0 +1,106 @@
+package nl.quintor.solitaire.models.card;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Base class of {@link CardSet} and {@link MutableCardSet}: a set of cards stored as a single {@code long}, in which
+ * bit n is set if the card with ordinal n is in the set. Membership tests are a single bit test, the size is a
+ * population count and iteration is in ascending ordinal order. Null is never a member.
+ */
+abstract class AbstractCardSet extends AbstractSet<Card> {
+    /**
+     * Returns the bits of this set.
+     *
+     * @return bit n is set if the card with ordinal n is in the set
+     */
+    public abstract long getBits();
+
+    /**
+     * Removes the card with the provided ordinal, used by the iterator.
+     *
+     * @param ordinal card ordinal
+     */
+    void removeOrdinal(int ordinal) {
+        throw new UnsupportedOperationException("CardSet is immutable");
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Card && (getBits() >>> ((Card) o).getOrdinal() & 1) != 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof AbstractCardSet) {
+            long other = ((AbstractCardSet) c).getBits();
+            return (getBits() & other) == other;
+        }
+        return super.containsAll(c);
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(getBits());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getBits() == 0;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            private long remaining = getBits();
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (remaining == 0) throw new NoSuchElementException();
+                last = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return Card.valueOf(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) throw new IllegalStateException();
+                removeOrdinal(last);
+                last = -1;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof AbstractCardSet) return getBits() == ((AbstractCardSet) o).getBits();
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // the Set contract requires the sum of the element hash codes, and Card hashes to its ordinal
+        int hash = 0;
+        for (long bits = getBits(); bits != 0; bits &= bits - 1) hash += Long.numberOfTrailingZeros(bits);
+        return hash;
+    }
+
+    static long bit(Card card) {
+        return 1L << card.getOrdinal();
+    }
+
+    static long bits(Collection<?> c) {
+        if (c instanceof AbstractCardSet) return ((AbstractCardSet) c).getBits();
+        long bits = 0;
+        for (Object o : c) if (o instanceof Card) bits |= bit((Card) o);
+        return bits;
+    }
+}
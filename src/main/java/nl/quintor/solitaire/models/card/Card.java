@@ -1,5 +1,7 @@
 package nl.quintor.solitaire.models.card;
 
+import nl.quintor.solitaire.ui.Terminal;
+
 /**<p>
  * Basic Card class. Each card has a {@link Suit} and a {@link Rank}, which are translated to an ordinal
  * value much like an {@link Enum}'s. The ordinal is final and unique, and forms the basis of the
@@ -8,11 +10,16 @@ package nl.quintor.solitaire.models.card;
  * {@link java.util.Comparator}{@literal <}{@link Card}{@literal >}.
  */
 public final class Card implements Comparable<Card> {
+    private static final Card[] CARDS = new Card[54];
+
+    static {
+        for (int ordinal = 0; ordinal < CARDS.length; ordinal++) CARDS[ordinal] = new Card(ordinal);
+    }
+
     private final Suit suit;
     private final Rank rank;
     private final int ordinal;
     private String description;
-    private String shortDescription;
 
     /**
      * Create a new Card object with the provided {@link Suit} and {@link Rank}. The Card's ordinal value is
@@ -25,7 +32,6 @@ public final class Card implements Comparable<Card> {
         this.suit = suit;
         this.rank = rank;
         this.ordinal = suit.ordinal() * 13 + rank.ordinal();
-        this.setDescriptions();
     }
 
     /**
@@ -40,7 +46,18 @@ public final class Card implements Comparable<Card> {
         this.suit = Suit.values()[ordinal / 13];
         if (this.suit != Suit.JOKER) this.rank = Rank.values()[ordinal % 13];
         else this.rank = Rank.values()[ordinal % 13 + 13];
-        this.setDescriptions();
+    }
+
+    /**
+     * Returns the shared Card object with the provided ordinal. Cards are immutable, so code that creates many cards,
+     * like dealing, can use the shared instances instead of creating new ones.
+     *
+     * @param ordinal 0-53 value corresponding to a single Card object
+     * @return shared Card object
+     */
+    public static Card valueOf(int ordinal) {
+        if (ordinal < 0 || ordinal > 53) throw new IllegalArgumentException("0 <= ordinal <= 53");
+        return CARDS[ordinal];
     }
 
     /**
@@ -70,11 +87,6 @@ public final class Card implements Comparable<Card> {
         return ordinal;
     }
 
-    private void setDescriptions() {
-        this.description = suit + " " + rank;
-        this.shortDescription = suit.getSymbol() + " " + rank.getSymbol();
-    }
-
     /**
      * Compares this Card to another Card, provided to the method, by ordinal.
      * If this Card has a lower ordinal than the argument Card, compareTo() returns a negative integer.
@@ -118,6 +130,7 @@ public final class Card implements Comparable<Card> {
      */
     @Override
     public String toString() {
+        if (description == null) description = suit + " " + rank;
         return description;
     }
 
@@ -127,6 +140,6 @@ public final class Card implements Comparable<Card> {
      * @return short String description of the Card
      */
     public String toShortString() {
-        return shortDescription;
+        return Terminal.cardLabel(ordinal);
     }
 }
@@ -0,0 +1,69 @@
+package nl.quintor.solitaire.models.card;
+
+import java.util.Comparator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Enum of orderings of {@link Card}s. Every ordering maps each card ordinal to a small sort key (below
+ * {@value #KEYS}), so comparing two cards is two array lookups, and a list of cards can be sorted with a counting sort
+ * instead of a comparison sort, see {@link nl.quintor.solitaire.models.deck.Deck#sort(CardOrder)}. Cards with the same
+ * key are equal in the ordering. The Jokers always come last.
+ */
+public enum CardOrder implements Comparator<Card> {
+    /**
+     * The natural ordering of cards, by ordinal: by suit, then by rank from 2 to Ace.
+     */
+    NATURAL(ordinal -> ordinal),
+
+    /**
+     * By rank from 2 to Ace, then by suit.
+     */
+    RANK_FIRST(ordinal -> ordinal >= 52 ? ordinal : ordinal % 13 * 4 + ordinal / 13),
+
+    /**
+     * By suit, then by rank from Ace to King: the order in which the stack piles are built.
+     */
+    SUIT_FIRST(ordinal -> ordinal >= 52 ? ordinal : ordinal / 13 * 13 + klondikeRank(ordinal)),
+
+    /**
+     * By rank from Ace to King, all suits being equal: the order in which cards can reach the stack piles.
+     */
+    KLONDIKE(ordinal -> ordinal >= 52 ? ordinal - 52 + 13 : klondikeRank(ordinal));
+
+    /**
+     * Upper bound (exclusive) of the sort keys of all orderings.
+     */
+    public static final int KEYS = 54;
+
+    private final byte[] keys = new byte[KEYS];
+
+    CardOrder(IntUnaryOperator key) {
+        for (int ordinal = 0; ordinal < KEYS; ordinal++) keys[ordinal] = (byte) key.applyAsInt(ordinal);
+    }
+
+    private static int klondikeRank(int ordinal) {
+        return (ordinal % 13 + 1) % 13; // Ace, the last rank, becomes the first
+    }
+
+    /**
+     * Returns the sort key of the provided card in this ordering.
+     *
+     * @param card card
+     * @return sort key between 0 and {@value #KEYS}, exclusive
+     */
+    public int key(Card card) {
+        return keys[card.getOrdinal()];
+    }
+
+    /**
+     * Compares two cards by their sort keys.
+     *
+     * @param card1 the first card
+     * @param card2 the second card
+     * @return negative int if card1 precedes card2, positive int if card1 follows card2, 0 if they are equal
+     */
+    @Override
+    public int compare(Card card1, Card card2) {
+        return keys[card1.getOrdinal()] - keys[card2.getOrdinal()];
+    }
+}
@@ -0,0 +1,101 @@
+package nl.quintor.solitaire.models.card;
+
+import java.util.Collection;
+
+/**
+ * Immutable {@link java.util.Set} of {@link Card}s in a single {@code long}, indexed by card ordinal. All queries are
+ * O(1), see {@link AbstractCardSet}; the set operations return new CardSets. Use {@link MutableCardSet} to build a set
+ * incrementally.
+ */
+public final class CardSet extends AbstractCardSet {
+    /**
+     * The empty set.
+     */
+    public static final CardSet EMPTY = new CardSet(0);
+
+    /**
+     * The cards of a standard deck of cards without Jokers, ordinals 0 to 51.
+     */
+    public static final CardSet STANDARD_DECK = new CardSet((1L << 52) - 1);
+
+    /**
+     * All cards, including the Jokers, ordinals 0 to 53.
+     */
+    public static final CardSet ALL = new CardSet((1L << 54) - 1);
+
+    private final long bits;
+
+    private CardSet(long bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Returns the set with the provided bits.
+     *
+     * @param bits bit n is set if the card with ordinal n is in the set
+     * @return set of cards
+     * @throws IllegalArgumentException if a bit above ordinal 53 is set
+     */
+    public static CardSet ofBits(long bits) {
+        if ((bits & ~ALL.bits) != 0) throw new IllegalArgumentException("0 <= ordinal <= 53");
+        return bits == 0 ? EMPTY : new CardSet(bits);
+    }
+
+    /**
+     * Returns the set of the provided cards.
+     *
+     * @param cards cards
+     * @return set of cards
+     */
+    public static CardSet of(Card... cards) {
+        long bits = 0;
+        for (Card card : cards) bits |= bit(card);
+        return ofBits(bits);
+    }
+
+    /**
+     * Returns the set of the cards in the provided collection. Null elements are ignored.
+     *
+     * @param cards collection of cards
+     * @return set of cards
+     */
+    public static CardSet copyOf(Collection<Card> cards) {
+        if (cards instanceof CardSet) return (CardSet) cards;
+        return ofBits(bits(cards));
+    }
+
+    @Override
+    public long getBits() {
+        return bits;
+    }
+
+    /**
+     * Returns the set of the cards that are in this set or in the other set.
+     *
+     * @param other set of cards
+     * @return union of the sets
+     */
+    public CardSet union(CardSet other) {
+        return ofBits(bits | other.bits);
+    }
+
+    /**
+     * Returns the set of the cards that are in this set and in the other set.
+     *
+     * @param other set of cards
+     * @return intersection of the sets
+     */
+    public CardSet intersection(CardSet other) {
+        return ofBits(bits & other.bits);
+    }
+
+    /**
+     * Returns the set of the cards that are in this set but not in the other set.
+     *
+     * @param other set of cards
+     * @return difference of the sets
+     */
+    public CardSet minus(CardSet other) {
+        return ofBits(bits & ~other.bits);
+    }
+}
@@ -0,0 +1,102 @@
+package nl.quintor.solitaire.models.card;
+
+import java.util.Collection;
+
+/**
+ * Mutable {@link java.util.Set} of {@link Card}s in a single {@code long}, indexed by card ordinal. Adding, removing and
+ * all queries are O(1), see {@link AbstractCardSet}. Bulk operations with another card set are a single bitwise
+ * operation. Null elements are not permitted.
+ *
+ * <p>
+ * A MutableCardSet is not thread-safe.
+ */
+public final class MutableCardSet extends AbstractCardSet {
+    private long bits;
+
+    /**
+     * Creates an empty set.
+     */
+    public MutableCardSet() {
+        this.bits = 0;
+    }
+
+    /**
+     * Creates a set with the cards of the provided collection.
+     *
+     * @param cards collection of cards
+     */
+    public MutableCardSet(Collection<Card> cards) {
+        this.bits = bits(cards);
+    }
+
+    @Override
+    public long getBits() {
+        return bits;
+    }
+
+    @Override
+    public boolean add(Card card) {
+        long before = bits;
+        bits |= bit(card);
+        return bits != before;
+    }
+
+    /**
+     * Adds the card with the provided ordinal.
+     *
+     * @param ordinal 0-53 card ordinal
+     * @return true if the card was not in the set yet
+     */
+    public boolean add(int ordinal) {
+        return add(Card.valueOf(ordinal));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Card)) return false;
+        long before = bits;
+        bits &= ~bit((Card) o);
+        return bits != before;
+    }
+
+    @Override
+    void removeOrdinal(int ordinal) {
+        bits &= ~(1L << ordinal);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Card> c) {
+        long before = bits;
+        if (c instanceof AbstractCardSet) bits |= ((AbstractCardSet) c).getBits();
+        else for (Card card : c) bits |= bit(card);
+        return bits != before;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        long before = bits;
+        bits &= ~bits(c);
+        return bits != before;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        long before = bits;
+        bits &= bits(c);
+        return bits != before;
+    }
+
+    @Override
+    public void clear() {
+        bits = 0;
+    }
+
+    /**
+     * Returns an immutable copy of this set.
+     *
+     * @return immutable set with the same cards
+     */
+    public CardSet toCardSet() {
+        return CardSet.ofBits(bits);
+    }
+}
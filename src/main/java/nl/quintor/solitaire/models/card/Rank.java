@@ -1,5 +1,7 @@
 package nl.quintor.solitaire.models.card;
 
+import nl.quintor.solitaire.ui.Terminal;
+
 /**
  * Enum of card ranks, from 2 to Ace plus black and red Jokers. The ordering of the enum values
  * should NOT be changed.
@@ -25,10 +27,12 @@ public enum Rank{
     JOKER_BLACK("\u2606", "JB"),
     JOKER_RED("\u2605", "JR");
 
-    private final String symbol;
+    private final String competentSymbol;
+    private final String windowsSymbol;
 
     Rank(String competentSymbol, String windowsSymbol){
-        this.symbol = System.getProperty("os.name").contains("Windows") ? windowsSymbol : competentSymbol;
+        this.competentSymbol = competentSymbol;
+        this.windowsSymbol = windowsSymbol;
     }
 
     /**
@@ -37,6 +41,6 @@ public enum Rank{
      * @return rank symbol
      */
     public String getSymbol() {
-        return symbol;
+        return Terminal.supportsUnicode() ? competentSymbol : windowsSymbol;
     }
 }
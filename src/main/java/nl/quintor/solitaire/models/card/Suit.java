@@ -1,5 +1,7 @@
 package nl.quintor.solitaire.models.card;
 
+import nl.quintor.solitaire.ui.Terminal;
+
 /**
  * Enum of card suits, ordered according to Bridge rules plus Jokers. The ordering of the enum values
  * should NOT be changed.
@@ -15,10 +17,12 @@ public enum Suit {
     SPADES ("\u2664", "S"),
     JOKER("*", "*");
 
-    private final String symbol;
+    private final String competentSymbol;
+    private final String windowsSymbol;
 
     Suit(String competentSymbol, String windowsSymbol){
-        this.symbol = System.getProperty("os.name").contains("Windows") ? windowsSymbol : competentSymbol;
+        this.competentSymbol = competentSymbol;
+        this.windowsSymbol = windowsSymbol;
     }
 
     /**
@@ -28,6 +32,6 @@ public enum Suit {
      * @return suit symbol
      */
     public String getSymbol() {
-        return symbol;
+        return Terminal.supportsUnicode() ? competentSymbol : windowsSymbol;
     }
 }
@@ -1,8 +1,7 @@
 package nl.quintor.solitaire.models.deck;
 
 import nl.quintor.solitaire.models.card.Card;
-import nl.quintor.solitaire.models.card.Rank;
-import nl.quintor.solitaire.models.card.Suit;
+import nl.quintor.solitaire.models.card.CardOrder;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -55,14 +54,19 @@ public final class Deck extends ArrayList<Card> {
      * @param deckType type of this Deck.
      */
     public Deck(DeckType deckType){
+        super(initialCapacity(deckType));
         this.deckType = deckType;
-        if (deckType == DeckType.WASTE) {
-            // Shit code
-            var cards = IntStream.range(0, 23).mapToObj(Card::new).collect(Collectors.toCollection(Deck::new));
-            this.addAll(cards);
-        } else if (deckType == DeckType.STOCK) {
-            this.add(new Card(Suit.JOKER, Rank.JOKER_BLACK));
-        }
+    }
+
+    /**
+     * Returns the largest number of cards a deck of the provided type can hold in a game, so that decks never have to
+     * grow during a game: 13 hidden-and-visible column cards plus 6 invisible ones, 13 stack pile cards or the 24
+     * cards that are not dealt to the columns.
+     */
+    private static int initialCapacity(DeckType deckType) {
+        if (deckType == DeckType.COLUMN) return 19;
+        if (deckType == DeckType.STACK) return 13;
+        return 24;
     }
 
     /**
@@ -131,6 +135,77 @@ public final class Deck extends ArrayList<Card> {
         this.invisibleCards = invisibleCards;
     }
 
+    /**
+     * Moves the last cards of this Deck to the end of the destination Deck, keeping their order. No intermediate
+     * collection is created, so moving cards does not allocate as long as the destination has sufficient capacity.
+     *
+     * @param destination deck to move the cards to
+     * @param count number of cards to move
+     */
+    public void transferTo(Deck destination, int count) {
+        if (count < 0 || count > size()) throw new IndexOutOfBoundsException("Can't transfer " + count + " of " + size() + " cards");
+        int from = size() - count;
+        destination.ensureCapacity(destination.size() + count);
+        for (int i = from; i < size(); i++) destination.add(get(i));
+        removeRange(from, size());
+    }
+
+    /**
+     * Returns a {@link String} representation of the last cards of this Deck, in the format of {@link #toString()}.
+     *
+     * @param count number of cards to represent
+     * @return representation of the last count {@link Card}s in this Deck
+     */
+    public String toString(int count) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = size() - count; i < size(); i++) {
+            if (i > size() - count) builder.append(", ");
+            builder.append(get(i).toShortString());
+        }
+        return builder.append("]").toString();
+    }
+
+    /**
+     * Sorts this Deck in the provided {@link CardOrder}, in O(n) time: the cards are distributed over one bucket per sort
+     * key with a counting sort. The sort is stable, cards with equal keys keep their relative order.
+     *
+     * @param order order in which the cards have to be sorted
+     */
+    public void sort(CardOrder order) {
+        Card[] sorted = sorted(order);
+        for (int i = 0; i < sorted.length; i++) set(i, sorted[i]);
+    }
+
+    /**
+     * Returns the cards of this Deck sorted with a stable counting sort, without changing this Deck.
+     */
+    private Card[] sorted(CardOrder order) {
+        int[] start = new int[CardOrder.KEYS + 1];
+        for (int i = 0; i < size(); i++) start[order.key(get(i)) + 1]++;
+        for (int key = 1; key <= CardOrder.KEYS; key++) start[key] += start[key - 1];
+        Card[] sorted = new Card[size()];
+        for (int i = 0; i < size(); i++) sorted[start[order.key(get(i))]++] = get(i);
+        return sorted;
+    }
+
+    /**
+     * Returns a {@link String} of the cards in this Deck, ordered by the argument {@link CardOrder} like
+     * {@link #toComparativeString(Comparator)}, but sorted with a counting sort, see {@link #sort(CardOrder)}. The
+     * order of the cards in this Deck is NOT changed.
+     *
+     * @param order order in which the cards have to be sorted
+     * @return representation of the {@link Card}s in this Deck, with comparison indicators
+     */
+    public String toComparativeString(CardOrder order){
+        Card[] sorted = sorted(order);
+        StringBuilder builder = new StringBuilder(sorted.length * 7 + 2).append('[');
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0) builder.append(order.key(sorted[i - 1]) < order.key(sorted[i]) ? " < " : " = ");
+            builder.append(sorted[i].toShortString());
+        }
+        return builder.append(']').toString();
+    }
+
     /**
      * Returns a {@link String} of the cards in this Deck, ordered by the argument
      * {@link Comparator}{@literal &lt;}{@link Card}{@literal &gt;} in ascending order, with comparison symbols (&lt; and =)
@@ -141,6 +216,7 @@ public final class Deck extends ArrayList<Card> {
      * @return representation of the {@link Card}s in this Deck, with comparison indicators
      */
     public String toComparativeString(Comparator<Card> sorter){
+        if (sorter instanceof CardOrder) return toComparativeString((CardOrder) sorter);
         List<Card> sortedList = new Deck(this);
         sortedList.sort(sorter);
         return sortedList.size() == 0 ? "[]" : "[" + sortedList.get(0).toShortString() +
@@ -1,15 +1,16 @@
 package nl.quintor.solitaire.models.state;
 
+import nl.quintor.solitaire.game.GameStateController;
 import nl.quintor.solitaire.game.moves.RevertibleMove;
-import nl.quintor.solitaire.models.card.Card;
 import nl.quintor.solitaire.models.deck.Deck;
 import nl.quintor.solitaire.models.deck.DeckType;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Class that holds the complete state of the game, consisting of 1 stock, 7 columns and 4 stacks of {@link Deck}s, and
@@ -27,6 +28,8 @@ public final class GameState {
     private final Map<String, Deck> stackPiles = new LinkedHashMap<>(); // entries of header and deck
     private final Map<String, Deck> columns = new LinkedHashMap<>(); // entries of header and deck
     private final List<RevertibleMove> moves = new ArrayList<>();
+    private long seed = 0;
+    private int drawCount = 1;
     private int stockCycles = 0;
     private long baseScore = 0;
     private long timeScore = 0;
@@ -35,24 +38,72 @@ public final class GameState {
     private boolean gameLost = false;
     private boolean gameWon = false;
 
+    /**
+     * Creates an empty GameState with headers and empty {@link Deck}s for all stack piles and columns. Use
+     * {@link nl.quintor.solitaire.game.GameStateController#init()} to get a GameState with dealt cards.
+     */
     public GameState() {
-        Random r = new Random();
+        for (String header : new String[]{"SA", "SB", "SC", "SD"}) stackPiles.put(header, new Deck(DeckType.STACK));
+        for (String header : new String[]{"A", "B", "C", "D", "E", "F", "G"}) columns.put(header, new Deck(DeckType.COLUMN));
+    }
 
-        var stackKeysBase = new ArrayList<>(Arrays.asList("A", "B", "C", "D"));
-        stackKeysBase.stream().map(x -> "S" + x).forEach(x -> {
-            this.stackPiles.put(x, new Deck(DeckType.STACK));
-        });
+    /**
+     * Resets this GameState to a new game dealt with the provided seed, like
+     * {@link nl.quintor.solitaire.game.GameStateController#init(long)}. All decks and the moves list are cleared and
+     * reused, so resetting a GameState is much cheaper than creating a new one. The draw count is kept.
+     *
+     * @param seed seed for shuffling the cards
+     */
+    public void reset(long seed) {
+        moves.clear();
+        stockCycles = 0;
+        baseScore = 0;
+        timeScore = 0;
+        startTime = LocalDateTime.now();
+        endTime = null;
+        gameLost = false;
+        gameWon = false;
+        GameStateController.deal(this, seed);
+    }
+
+    /**
+     * Creates a deep copy of this GameState: all decks are copied, the (immutable) cards are shared. The copy has an
+     * empty moves list, because the moves of this GameState refer to its decks and can't be reverted on the copy.
+     *
+     * @return independent copy of this GameState
+     */
+    public GameState copy() {
+        GameState copy = new GameState();
+        copyTo(copy);
+        return copy;
+    }
 
-        var columnKeys = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E", "F", "G"));
-        IntStream.range(0, columnKeys.size())
-            .forEach(i -> {
-                var columnKey = columnKeys.get(i);
+    /**
+     * Makes the provided GameState a deep copy of this GameState, like {@link #copy()}, reusing its decks.
+     *
+     * @param target GameState object to overwrite
+     */
+    public void copyTo(GameState target) {
+        target.moves.clear();
+        copyDeck(stock, target.stock);
+        copyDeck(waste, target.waste);
+        stackPiles.forEach((header, deck) -> copyDeck(deck, target.stackPiles.get(header)));
+        columns.forEach((header, deck) -> copyDeck(deck, target.columns.get(header)));
+        target.seed = seed;
+        target.drawCount = drawCount;
+        target.stockCycles = stockCycles;
+        target.baseScore = baseScore;
+        target.timeScore = timeScore;
+        target.startTime = startTime;
+        target.endTime = endTime;
+        target.gameLost = gameLost;
+        target.gameWon = gameWon;
+    }
 
-                var deck = new Deck(DeckType.COLUMN);
-                deck.addAll(IntStream.range(0, i + 1).mapToObj(x -> new Card(r.nextInt(54))).collect(Collectors.toCollection(Deck::new)));
-                deck.setInvisibleCards(i);
-                this.columns.put(columnKey, deck);
-            });
+    private static void copyDeck(Deck source, Deck destination) {
+        destination.clear();
+        for (int i = 0; i < source.size(); i++) destination.add(source.get(i)); // addAll would copy to an array first
+        destination.setInvisibleCards(source.getInvisibleCards());
     }
 
     /**
@@ -100,6 +151,43 @@ public final class GameState {
         return moves;
     }
 
+    /**
+     * Getter for seed.
+     *
+     * @return seed the cards of this game were shuffled with
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Setter for seed.
+     *
+     * @param seed seed the cards of this game were shuffled with
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Getter for drawCount.
+     *
+     * @return number of cards turned face-up per stock cycle move, 1 or 3 in regular games
+     */
+    public int getDrawCount() {
+        return drawCount;
+    }
+
+    /**
+     * Setter for drawCount.
+     *
+     * @param drawCount number of cards turned face-up per stock cycle move, 1 or 3 in regular games
+     */
+    public void setDrawCount(int drawCount) {
+        if (drawCount < 1) throw new IllegalArgumentException("drawCount >= 1");
+        this.drawCount = drawCount;
+    }
+
     /**
      * Getter for stockCycles.
      *
@@ -241,7 +329,8 @@ public final class GameState {
      * @param move move to be removed from the moves list
      */
     public void forget(RevertibleMove move){
-        moves.remove(move);
+        int index = moves.lastIndexOf(move); // usually the last move, so search from the end
+        if (index >= 0) moves.remove(index);
     }
 
     public LocalDateTime getEndTime() {
@@ -0,0 +1,67 @@
+package nl.quintor.solitaire.models.state;
+
+import java.util.ArrayDeque;
+
+/**
+ * Per-thread pool of reusable {@link GameState} objects for batch runs that play many games, like tournaments and
+ * simulations. Acquired GameState objects are reset (see {@link GameState#reset(long)}) instead of created, so once
+ * every thread has warmed up its pool, starting a new game allocates close to nothing.
+ *
+ * <p>
+ * Every thread has its own idle GameState objects, so acquiring and releasing doesn't need synchronization. A GameState
+ * must be released by the thread that acquired it, and must not be used after it is released.
+ */
+public final class GameStatePool {
+    private final int maxIdle;
+    private final ThreadLocal<ArrayDeque<GameState>> idle = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Creates a pool that keeps at most the provided number of idle GameState objects per thread.
+     *
+     * @param maxIdle maximum number of idle GameState objects per thread
+     */
+    public GameStatePool(int maxIdle) {
+        if (maxIdle < 1) throw new IllegalArgumentException("maxIdle >= 1");
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns a GameState object with a new game dealt with the provided seed.
+     *
+     * @param seed seed for shuffling the cards
+     * @return GameState object, ready to go
+     */
+    public GameState acquire(long seed) {
+        GameState gameState = poll();
+        gameState.reset(seed);
+        return gameState;
+    }
+
+    /**
+     * Returns a GameState object that is a deep copy of the provided GameState, see {@link GameState#copyTo(GameState)}.
+     *
+     * @param source GameState object to copy
+     * @return independent copy of the source
+     */
+    public GameState acquireCopy(GameState source) {
+        GameState gameState = poll();
+        source.copyTo(gameState);
+        return gameState;
+    }
+
+    /**
+     * Returns the provided GameState object to the pool of the current thread. If that pool is full, the GameState is
+     * left to the garbage collector.
+     *
+     * @param gameState GameState object that is no longer used
+     */
+    public void release(GameState gameState) {
+        ArrayDeque<GameState> states = idle.get();
+        if (states.size() < maxIdle) states.push(gameState);
+    }
+
+    private GameState poll() {
+        GameState gameState = idle.get().poll();
+        return gameState == null ? new GameState() : gameState;
+    }
+}
@@ -0,0 +1,233 @@
+package nl.quintor.solitaire.rating;
+
+import nl.quintor.solitaire.corpus.DealCorpus;
+import nl.quintor.solitaire.corpus.DealIndex;
+import nl.quintor.solitaire.corpus.Difficulty;
+import nl.quintor.solitaire.corpus.Solvability;
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.StateHash;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.solver.SolveCache;
+import nl.quintor.solitaire.solver.SolveResult;
+import nl.quintor.solitaire.solver.Solver;
+import nl.quintor.solitaire.solver.TranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Rates seeded deals by how hard they are to solve. Every deal is solved by a {@link Solver}, and the solution is
+ * replayed to measure its properties. The difficulty score, between 0 and 100, adds up:
+ *
+ * <ul>
+ *     <li>up to {@value #EFFORT_WEIGHT} points for the search effort: the number of nodes that are not on the solution,
+ *     on a logarithmic scale up to 10<sup>4</sup>
+ *     <li>up to {@value #LENGTH_WEIGHT} points for the solution length, up to {@value #LONG_SOLUTION} moves
+ *     <li>up to {@value #CYCLES_WEIGHT} points for the number of times the stock has to be recycled, up to
+ *     {@value #MANY_CYCLES}
+ *     <li>up to {@value #UNLOCK_WEIGHT} points for the unlock delay: how late in the solution the face-down cards are
+ *     turned, on average
+ * </ul>
+ *
+ * The score is bucketed into {@link Difficulty#EASY} below {@value #MEDIUM_SCORE}, {@link Difficulty#HARD} from
+ * {@value #HARD_SCORE} and {@link Difficulty#MEDIUM} in between; the bounds split the solvable deals among the first
+ * seeds into thirds. Deals that are not solved within the node budget are
+ * {@link Difficulty#UNRATED}, so they are never handed out.
+ *
+ * <p>All raters share one {@link TranspositionTable}; {@link #rateAll(long, int, int)} rates a range of seeds on a
+ * thread pool, and {@link #rateAll(DealCorpus, DealIndex, int)} rates a deal corpus into its index, from which
+ * {@link DealIndex#random(Difficulty, java.util.Random)} hands out deals of a requested difficulty. A rater with a {@link SolveCache} looks every deal up before searching, and stores the result after:
+ * deals that were not solved by an earlier search with at least the same node budget are rated without a search, which
+ * skips the most expensive ones on a re-run. The cache holds no solutions, so solvable deals are searched again.
+ */
+public class DealRater {
+    static final int EFFORT_WEIGHT = 40;
+    static final int LENGTH_WEIGHT = 25;
+    static final int CYCLES_WEIGHT = 15;
+    static final int UNLOCK_WEIGHT = 20;
+    static final int LONG_SOLUTION = 200;
+    static final int MANY_CYCLES = 5;
+    static final float MEDIUM_SCORE = 42;
+    static final float HARD_SCORE = 55;
+    static final String CACHE_FILE = "solve.cache";
+
+    private final Solver solver;
+    private final SolveCache cache;
+
+    /**
+     * Creates a rater that solves deals with the provided solver.
+     *
+     * @param solver solver
+     */
+    public DealRater(Solver solver) {
+        this(solver, null);
+    }
+
+    /**
+     * Creates a rater that solves deals with the provided solver, and records the results in the provided cache.
+     *
+     * @param solver solver
+     * @param cache cache of earlier results, or null
+     */
+    public DealRater(Solver solver, SolveCache cache) {
+        this.solver = solver;
+        this.cache = cache;
+    }
+
+    /**
+     * Rates the deal with the provided seed.
+     *
+     * @param seed seed of the deal
+     * @return rating of the deal
+     */
+    public DealRating rate(long seed) {
+        GameState gameState = GameStateController.init(seed);
+        long dealHash = StateHash.of(gameState);
+        SolveResult cached = cache == null ? null : cache.get(dealHash);
+        if (cached != null && (cached.getSolvability() == Solvability.UNSOLVABLE
+            || cached.getSolvability() == Solvability.UNKNOWN && cached.getEffort() >= solver.getMaxNodes())) {
+            return new DealRating(seed, cached, 0, 0, 0, Difficulty.UNRATED);
+        }
+        List<Move> solution = new ArrayList<>();
+        SolveResult result = solver.solve(gameState, solution);
+        if (cache != null) cache.put(dealHash, result);
+        if (result.getSolvability() != Solvability.SOLVABLE) {
+            return new DealRating(seed, result, 0, 0, 0, Difficulty.UNRATED);
+        }
+
+        // replay the solution, noting the move at which every face-down card is turned
+        int hidden = invisibleCards(gameState);
+        long unlockMoves = 0;
+        for (int i = 0; i < solution.size(); i++) {
+            try {
+                solution.get(i).apply(gameState);
+            } catch (MoveException e) {
+                throw new IllegalStateException("Solution of deal " + seed + " can't be replayed", e);
+            }
+            int turned = hidden - invisibleCards(gameState);
+            unlockMoves += (long) turned * (i + 1);
+            hidden -= turned;
+        }
+        int total = invisibleCards(GameStateController.init(seed));
+        double unlockDelay = total == 0 ? 0 : (double) unlockMoves / total / solution.size();
+
+        long backtracked = result.getEffort() - result.getSolutionLength() - 1;
+        float score = (float) (EFFORT_WEIGHT * Math.min(1, Math.log10(1 + backtracked) / 4)
+            + LENGTH_WEIGHT * Math.min(1, (double) result.getSolutionLength() / LONG_SOLUTION)
+            + CYCLES_WEIGHT * Math.min(1, (double) gameState.getStockCycles() / MANY_CYCLES)
+            + UNLOCK_WEIGHT * unlockDelay);
+        Difficulty difficulty = score >= HARD_SCORE ? Difficulty.HARD
+            : score >= MEDIUM_SCORE ? Difficulty.MEDIUM : Difficulty.EASY;
+        return new DealRating(seed, result, gameState.getStockCycles(), unlockDelay, score, difficulty);
+    }
+
+    /**
+     * Rates the deals with seeds {@code firstSeed} up to {@code firstSeed + deals} on a pool of the provided number of
+     * threads.
+     *
+     * @param firstSeed seed of the first deal
+     * @param deals number of deals
+     * @param threads number of threads
+     * @return ratings, in seed order
+     * @throws InterruptedException if interrupted while waiting for the ratings
+     */
+    public List<DealRating> rateAll(long firstSeed, int deals, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<DealRating>> futures = new ArrayList<>(deals);
+            for (int i = 0; i < deals; i++) {
+                long seed = firstSeed + i;
+                futures.add(executor.submit(() -> rate(seed)));
+            }
+            List<DealRating> ratings = new ArrayList<>(deals);
+            for (Future<DealRating> future : futures) ratings.add(future.get());
+            return ratings;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rating failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Rates all deals of the provided corpus on a pool of the provided number of threads, and stores the solvability
+     * and difficulty of every deal in the provided index.
+     *
+     * @param corpus deals to rate
+     * @param index side index of the corpus
+     * @param threads number of threads
+     * @return ratings, in record order
+     * @throws InterruptedException if interrupted while waiting for the ratings
+     */
+    public List<DealRating> rateAll(DealCorpus corpus, DealIndex index, int threads) throws InterruptedException {
+        if (index.size() != corpus.size()) {
+            throw new IllegalArgumentException("Index of " + index.size() + " deals for a corpus of " + corpus.size());
+        }
+        List<DealRating> ratings = rateAll(corpus.getFirstSeed(), Math.toIntExact(corpus.size()), threads);
+        for (DealRating rating : ratings) {
+            index.set(corpus.indexOf(rating.getSeed()), rating.getResult().getSolvability(), rating.getDifficulty());
+        }
+        index.force();
+        return ratings;
+    }
+
+    private static int invisibleCards(GameState gameState) {
+        int invisible = 0;
+        for (Deck column : gameState.getColumns().values()) invisible += column.getInvisibleCards();
+        return invisible;
+    }
+
+    /**
+     * Command-line entry point: {@code DealRater [corpus] [maxNodes]}. Rates every deal in the corpus file, by default
+     * {@link DealCorpus#DEFAULT_FILE}, on one thread per available processor, and stores the ratings in the
+     * {@link DealIndex} next to it. Results are cached in {@value #CACHE_FILE} next to the corpus, so a re-run skips
+     * the deals that could not be solved.
+     *
+     * @param args the command-line arguments
+     * @throws InterruptedException if interrupted while waiting for the ratings
+     * @throws IOException if the corpus can't be read or the index can't be written
+     */
+    public static void main(String... args) throws InterruptedException, IOException {
+        Path corpusPath = args.length > 0 ? Paths.get(args[0]) : DealCorpus.DEFAULT_FILE;
+        long maxNodes = args.length > 1 ? Long.parseLong(args[1]) : Solver.DEFAULT_MAX_NODES;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        TranspositionTable table = new TranspositionTable(64L << 20);
+        Path indexPath = DealIndex.pathFor(corpusPath);
+        List<DealRating> ratings;
+        try (DealCorpus corpus = DealCorpus.open(corpusPath);
+             DealIndex index = Files.exists(indexPath) ? DealIndex.open(indexPath) : DealIndex.create(indexPath, corpus.size());
+             SolveCache cache = SolveCache.open(corpusPath.resolveSibling(CACHE_FILE), cacheCapacity(corpus.size()))) {
+            ratings = new DealRater(new Solver(table, maxNodes, Solver.DEFAULT_MAX_DEPTH), cache)
+                .rateAll(corpus, index, threads);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Difficulty, Long> counts = ratings.stream()
+            .collect(Collectors.groupingBy(DealRating::getDifficulty, () -> new EnumMap<>(Difficulty.class), Collectors.counting()));
+        System.out.printf("Rated %d deal(s) in %.1f s on %d thread(s): %s%n", ratings.size(), seconds, threads, counts);
+    }
+
+    /**
+     * Returns the smallest power of two that keeps the load of a {@link SolveCache} for the provided number of deals
+     * below 50%.
+     */
+    private static int cacheCapacity(long deals) {
+        return Integer.highestOneBit((int) Math.max(1024, Math.min(deals, 1 << 25) * 2) - 1) << 1;
+    }
+}
@@ -0,0 +1,97 @@
+package nl.quintor.solitaire.rating;
+
+import nl.quintor.solitaire.corpus.Difficulty;
+import nl.quintor.solitaire.solver.SolveResult;
+
+/**
+ * Immutable rating of a seeded deal by {@link DealRater}: the solver result, the properties of the solution and the
+ * resulting score and {@link Difficulty}. Deals that the solver could not solve are {@link Difficulty#UNRATED}.
+ */
+public final class DealRating {
+    private final long seed;
+    private final SolveResult result;
+    private final int stockCycles;
+    private final double unlockDelay;
+    private final float score;
+    private final Difficulty difficulty;
+
+    /**
+     * Creates a new DealRating.
+     *
+     * @param seed seed of the deal
+     * @param result result of solving the deal
+     * @param stockCycles number of times the stock is recycled in the solution
+     * @param unlockDelay average point in the solution, between 0 and 1, at which the face-down cards are turned
+     * @param score difficulty score between 0 and 100
+     * @param difficulty difficulty bucket of the score
+     */
+    public DealRating(long seed, SolveResult result, int stockCycles, double unlockDelay, float score,
+                      Difficulty difficulty) {
+        this.seed = seed;
+        this.result = result;
+        this.stockCycles = stockCycles;
+        this.unlockDelay = unlockDelay;
+        this.score = score;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Getter for seed.
+     *
+     * @return seed of the deal
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for result.
+     *
+     * @return result of solving the deal
+     */
+    public SolveResult getResult() {
+        return result;
+    }
+
+    /**
+     * Getter for stockCycles.
+     *
+     * @return number of times the stock is recycled in the solution
+     */
+    public int getStockCycles() {
+        return stockCycles;
+    }
+
+    /**
+     * Getter for unlockDelay.
+     *
+     * @return average point in the solution, between 0 and 1, at which the face-down cards are turned
+     */
+    public double getUnlockDelay() {
+        return unlockDelay;
+    }
+
+    /**
+     * Getter for score.
+     *
+     * @return difficulty score between 0 and 100
+     */
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * Getter for difficulty.
+     *
+     * @return difficulty bucket
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d: %s %.1f (%s, %d stock cycle(s), unlock delay %.2f)", seed, difficulty, score,
+            result, stockCycles, unlockDelay);
+    }
+}
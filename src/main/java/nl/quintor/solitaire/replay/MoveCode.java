@@ -0,0 +1,119 @@
+package nl.quintor.solitaire.replay;
+
+import nl.quintor.solitaire.game.moves.CycleStock;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.MoveCard;
+import nl.quintor.solitaire.game.moves.Revert;
+
+/**
+ * Library class that packs the moves of a game into small non-negative ints, and unpacks them again. Cycling the stock
+ * is {@value #CYCLE}, reverting is {@value #REVERT}, and moving cards is
+ * {@code 2 + destination + 11 * (source + 12 * row)}, with the source and destination numbered in the order of
+ * {@link #SOURCES} and {@link #DESTINATIONS}. The row is 0 for the stock and the stack piles, and counts from the
+ * bottom of a column, so only moves from the stock, a stack pile or the bottom card of a column get codes below 134.
+ * Rows are below 100, so all codes are below {@value #MAX_CODE} and every move takes one or two bytes when written as a
+ * variable-length integer.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public final class MoveCode {
+    /**
+     * Code of {@link CycleStock}.
+     */
+    public static final int CYCLE = 0;
+
+    /**
+     * Code of {@link Revert}.
+     */
+    public static final int REVERT = 1;
+
+    /**
+     * Upper bound of the codes: 2<sup>14</sup>, the first value that takes three bytes as a variable-length integer.
+     */
+    public static final int MAX_CODE = 1 << 14;
+
+    static final String[] SOURCES = {"O", "SA", "SB", "SC", "SD", "A", "B", "C", "D", "E", "F", "G"};
+    static final String[] DESTINATIONS = {"SA", "SB", "SC", "SD", "A", "B", "C", "D", "E", "F", "G"};
+
+    private static final int FIRST_COLUMN = 5;
+    private static final int CACHED_ROWS = 20; // a column holds at most 6 invisible cards and 13 visible ones
+    private static final String[] INPUTS = new String[2 + CACHED_ROWS * SOURCES.length * DESTINATIONS.length];
+
+    static {
+        for (int code = 2; code < INPUTS.length; code++) INPUTS[code] = input(code);
+    }
+
+    private MoveCode(){}
+
+    /**
+     * Returns the code of the provided move.
+     *
+     * @param move move that has been applied, or can be applied, to a game
+     * @return code of the move, or -1 if the move doesn't change the game, like {@link nl.quintor.solitaire.game.moves.Help}
+     * @throws IllegalArgumentException if the move is a card move with invalid player input
+     */
+    public static int of(Move move) {
+        if (move instanceof CycleStock) return CYCLE;
+        if (move instanceof Revert) return REVERT;
+        if (!(move instanceof MoveCard)) return -1;
+        MoveCard moveCard = (MoveCard) move;
+        String source = moveCard.getSource();
+        String destination = moveCard.getDestination();
+        if (source == null || destination == null) throw new IllegalArgumentException("Incomplete card move");
+        int row = 0;
+        if (source.length() > 1 && Character.isDigit(source.charAt(1))) {
+            row = Integer.parseInt(source.substring(1));
+            source = source.substring(0, 1);
+        }
+        return cardMove(index(SOURCES, source), row, index(DESTINATIONS, destination));
+    }
+
+    /**
+     * Returns the code of a card move.
+     *
+     * @param source index of the source pile in {@link #SOURCES}
+     * @param row row of the first moved card, 0 unless the source is a column
+     * @param destination index of the destination pile in {@link #DESTINATIONS}
+     * @return code of the move
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static int cardMove(int source, int row, int destination) {
+        if (source < 0 || source >= SOURCES.length || destination < 0 || destination >= DESTINATIONS.length
+            || row < 0 || row > 99 || (row > 0 && source < FIRST_COLUMN)) {
+            throw new IllegalArgumentException("Invalid card move " + source + ", " + row + ", " + destination);
+        }
+        return 2 + destination + DESTINATIONS.length * (source + SOURCES.length * row);
+    }
+
+    /**
+     * Returns a new, unapplied move for the provided code.
+     *
+     * @param code code of the move
+     * @return move
+     * @throws IllegalArgumentException if the code is invalid
+     */
+    public static Move toMove(int code) {
+        if (code == CYCLE) return new CycleStock();
+        if (code == REVERT) return new Revert();
+        String input = code >= 0 && code < INPUTS.length ? INPUTS[code] : input(code);
+        if (input == null) throw new IllegalArgumentException("Invalid move code " + code);
+        return new MoveCard(input);
+    }
+
+    /**
+     * Returns the player input of a card move, for example "M B3 SA", or null if the code is not a card move.
+     */
+    private static String input(int code) {
+        if (code < 2) return null;
+        int destination = (code - 2) % DESTINATIONS.length;
+        int source = (code - 2) / DESTINATIONS.length % SOURCES.length;
+        int row = (code - 2) / DESTINATIONS.length / SOURCES.length;
+        if (row > 99 || (row > 0 && source < FIRST_COLUMN)) return null;
+        return "M " + SOURCES[source] + (source < FIRST_COLUMN ? "" : Integer.toString(row)) + " " + DESTINATIONS[destination];
+    }
+
+    private static int index(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) if (names[i].equals(name)) return i;
+        throw new IllegalArgumentException("Unknown pile " + name);
+    }
+}
@@ -0,0 +1,136 @@
+package nl.quintor.solitaire.replay;
+
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable record of a played game: the seed of the deal, the draw count and the {@link MoveCode}s of all moves in
+ * the order they were played, including reverts. Because the deal follows from the seed and the engine is
+ * deterministic, this is enough to reproduce every position of the game, see {@link #play(GameState)}.
+ */
+public final class Replay {
+    private final long seed;
+    private final int drawCount;
+    private final int[] moves;
+
+    /**
+     * Creates a replay.
+     *
+     * @param seed seed of the deal
+     * @param drawCount number of cards drawn per stock cycle
+     * @param moves move codes, which are copied
+     */
+    public Replay(long seed, int drawCount, int[] moves) {
+        this(seed, drawCount, moves, moves.length);
+    }
+
+    /**
+     * Creates a replay of the first moves of the provided array.
+     *
+     * @param seed seed of the deal
+     * @param drawCount number of cards drawn per stock cycle
+     * @param moves move codes, which are copied
+     * @param length number of moves
+     */
+    public Replay(long seed, int drawCount, int[] moves, int length) {
+        this.seed = seed;
+        this.drawCount = drawCount;
+        this.moves = Arrays.copyOf(moves, length);
+    }
+
+    /**
+     * Creates a replay of the provided moves. Moves that don't change the game, like Help, are left out.
+     *
+     * @param seed seed of the deal
+     * @param drawCount number of cards drawn per stock cycle
+     * @param played all moves played, in order
+     * @return replay
+     */
+    public static Replay of(long seed, int drawCount, List<? extends Move> played) {
+        return new Replay(seed, drawCount, played.stream().mapToInt(MoveCode::of).filter(code -> code >= 0).toArray());
+    }
+
+    /**
+     * Getter for seed.
+     *
+     * @return seed of the deal
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for drawCount.
+     *
+     * @return number of cards drawn per stock cycle
+     */
+    public int getDrawCount() {
+        return drawCount;
+    }
+
+    /**
+     * Returns the number of moves.
+     *
+     * @return number of moves
+     */
+    public int size() {
+        return moves.length;
+    }
+
+    /**
+     * Returns the code of a move.
+     *
+     * @param index index of the move
+     * @return move code
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Plays this replay on the provided GameState object, which is reset to the deal first. Afterwards the GameState
+     * is in the final position of the game, with all moves in its moves list, so they can still be reverted.
+     *
+     * @param gameState GameState object to play the game on
+     * @return the GameState object
+     * @throws IllegalStateException if a move of the replay is illegal, which means the replay doesn't belong to this
+     * version of the engine or is damaged
+     */
+    public GameState play(GameState gameState) {
+        gameState.setDrawCount(drawCount);
+        gameState.reset(seed);
+        for (int i = 0; i < moves.length; i++) {
+            try {
+                MoveCode.toMove(moves[i]).apply(gameState);
+            } catch (MoveException | IllegalArgumentException e) {
+                throw new IllegalStateException("Move " + i + " of the replay of seed " + seed + " is illegal: "
+                    + e.getMessage(), e);
+            }
+        }
+        GameStateController.detectGameWin(gameState);
+        return gameState;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Replay)) return false;
+        Replay replay = (Replay) o;
+        return seed == replay.seed && drawCount == replay.drawCount && Arrays.equals(moves, replay.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(seed) + drawCount) + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        return "Replay(seed " + seed + ", draw " + drawCount + ", " + moves.length + " moves)";
+    }
+}
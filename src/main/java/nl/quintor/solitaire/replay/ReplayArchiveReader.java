@@ -0,0 +1,163 @@
+package nl.quintor.solitaire.replay;
+
+import nl.quintor.solitaire.codec.ByteInput;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Streaming reader of archives written by {@link ReplayArchiveWriter}. Blocks are read and decompressed one at a time,
+ * so the memory use doesn't depend on the size of the archive. Readers are not thread-safe; an archive can be read by
+ * several readers at once.
+ */
+public final class ReplayArchiveReader implements Closeable {
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32 crc = new CRC32();
+    private byte[] compressed = new byte[0];
+    private byte[] block = new byte[0];
+    private int blockLength = 0;
+    private final ByteInput input = new ByteInput(block);
+    private int[] moves = new int[256];
+
+    private ReplayArchiveReader(DataInputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Opens an archive.
+     *
+     * @param path location of the archive file
+     * @return reader positioned at the first replay
+     * @throws IOException if the file can't be read or is not a replay archive
+     */
+    public static ReplayArchiveReader open(Path path) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        try {
+            if (in.readInt() != ReplayArchiveWriter.MAGIC) throw new IOException("Not a replay archive");
+            int version = in.readInt();
+            if (version != ReplayArchiveWriter.VERSION) throw new IOException("Unsupported archive version " + version);
+            return new ReplayArchiveReader(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the remaining replays of the archive and passes them to the provided consumer, in the order in which
+     * they were appended.
+     *
+     * @param consumer consumer of the replays
+     * @return number of replays read
+     * @throws IOException if the archive can't be read or is damaged
+     */
+    public long forEach(Consumer<? super Replay> consumer) throws IOException {
+        long replays = 0;
+        int count;
+        while ((count = readBlock()) >= 0) {
+            input.reset(block, 0, blockLength);
+            for (int i = 0; i < count; i++) {
+                consumer.accept(readReplay());
+                replays++;
+            }
+            if (input.hasRemaining()) throw new IOException("Trailing bytes in archive block");
+        }
+        return replays;
+    }
+
+    /**
+     * Plays the remaining replays of the archive through the engine, see {@link Replay#play(GameState)}, and passes
+     * the final position of every game to the provided consumer. A single GameState object is reused for all games,
+     * so the consumer must not keep it.
+     *
+     * @param consumer consumer of the final positions
+     * @return number of moves played
+     * @throws IOException if the archive can't be read or is damaged
+     * @throws IllegalStateException if a replay contains an illegal move
+     */
+    public long playAll(Consumer<? super GameState> consumer) throws IOException {
+        GameState gameState = new GameState();
+        long[] moves = {0};
+        forEach(replay -> {
+            consumer.accept(replay.play(gameState));
+            moves[0] += replay.size();
+        });
+        return moves[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    /**
+     * Reads and decompresses the next block into {@link #block}, and sets {@link #blockLength}.
+     *
+     * @return number of replays in the block, or -1 at the end of the archive
+     */
+    private int readBlock() throws IOException {
+        int count;
+        try {
+            count = in.readInt();
+        } catch (EOFException e) {
+            return -1;
+        }
+        int length = in.readInt();
+        int compressedLength = in.readInt();
+        int checksum = in.readInt();
+        if (count < 1 || length < 0 || compressedLength < 0) throw new IOException("Damaged archive block header");
+        if (compressed.length < compressedLength) compressed = new byte[compressedLength];
+        if (block.length < length) block = new byte[length];
+        in.readFully(compressed, 0, compressedLength);
+
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            if (inflater.inflate(block, 0, length) != length || !inflater.finished()) {
+                throw new IOException("Archive block has the wrong length");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Damaged archive block", e);
+        }
+        crc.reset();
+        crc.update(block, 0, length);
+        if ((int) crc.getValue() != checksum) throw new IOException("Archive block checksum mismatch");
+        blockLength = length;
+        return count;
+    }
+
+    /**
+     * Reads the next replay of the current block.
+     */
+    private Replay readReplay() throws IOException {
+        try {
+            long seed = input.readZigZag();
+            long drawCount = input.readVarLong();
+            long size = input.readVarLong();
+            if (drawCount < 1 || drawCount > Integer.MAX_VALUE || size < 0 || size > input.remaining()) {
+                throw new IOException("Damaged replay");
+            }
+            if (moves.length < size) moves = new int[(int) Math.max(size, moves.length * 2L)];
+            for (int i = 0; i < size; i++) {
+                long code = input.readVarLong();
+                if (code < 0 || code > Integer.MAX_VALUE) throw new IOException("Damaged move code");
+                moves[i] = (int) code;
+            }
+            return new Replay(seed, (int) drawCount, moves, (int) size);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Damaged replay", e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package nl.quintor.solitaire.replay;
+
+import nl.quintor.solitaire.codec.ByteOutput;
+import nl.quintor.solitaire.io.AtomicFiles;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writer of replay archives, read by {@link ReplayArchiveReader}.
+ *
+ * <p>An archive starts with an {@value #HEADER_SIZE}-byte header (magic number and version), followed by blocks.
+ * Replays are collected in a block until it holds about the block size in bytes; the block is then compressed with
+ * DEFLATE and written with a {@value #BLOCK_HEADER_SIZE}-byte block header: the number of replays, the uncompressed
+ * and compressed length and the CRC-32 of the uncompressed bytes. Every replay is written as its zigzag-encoded seed,
+ * draw count, number of moves and {@link MoveCode}s, all as variable-length integers, so a move takes one or two
+ * bytes before compression. Large blocks let the compressor exploit the similarity between games.
+ *
+ * <p>The archive is written to a temporary file that replaces the archive file when the writer is closed, so an
+ * archive is never seen half-written. Writers are not thread-safe.
+ */
+public final class ReplayArchiveWriter implements Closeable {
+    /**
+     * Default uncompressed block size in bytes.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 18;
+
+    static final int MAGIC = 0x53524131; // "SRA1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int BLOCK_HEADER_SIZE = 16;
+
+    private final Path path;
+    private final Path temporary;
+    private final int blockSize;
+    private final DataOutputStream out;
+    private final ByteOutput block;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private byte[] compressed;
+    private int blockReplays = 0;
+    private long replays = 0;
+    private long moves = 0;
+    private long bytes = HEADER_SIZE;
+    private boolean closed = false;
+
+    /**
+     * Creates a writer of a new archive with the default block size.
+     *
+     * @param path location of the archive file, which is replaced on {@link #close()}
+     * @throws IOException if the temporary file can't be created
+     */
+    public ReplayArchiveWriter(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a writer of a new archive.
+     *
+     * @param path location of the archive file, which is replaced on {@link #close()}
+     * @param blockSize uncompressed block size in bytes
+     * @throws IOException if the temporary file can't be created
+     */
+    public ReplayArchiveWriter(Path path, int blockSize) throws IOException {
+        if (blockSize < 1) throw new IllegalArgumentException("blockSize >= 1");
+        this.path = path;
+        this.temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        this.blockSize = blockSize;
+        this.block = new ByteOutput(blockSize + 1024);
+        this.compressed = new byte[blockSize / 2 + 64];
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    /**
+     * Adds a replay to the archive.
+     *
+     * @param replay replay
+     * @throws IOException if a block can't be written
+     */
+    public void append(Replay replay) throws IOException {
+        if (closed) throw new IllegalStateException("Archive is closed");
+        block.writeZigZag(replay.getSeed());
+        block.writeVarLong(replay.getDrawCount());
+        block.writeVarLong(replay.size());
+        for (int i = 0; i < replay.size(); i++) block.writeVarLong(replay.getMove(i));
+        blockReplays++;
+        replays++;
+        moves += replay.size();
+        if (block.length() >= blockSize) flushBlock();
+    }
+
+    /**
+     * Getter for replays.
+     *
+     * @return number of replays appended
+     */
+    public long getReplays() {
+        return replays;
+    }
+
+    /**
+     * Getter for moves.
+     *
+     * @return number of moves of all replays appended
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Returns the size of the archive so far, excluding the replays that are not yet compressed.
+     *
+     * @return number of bytes written
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Writes the last block and replaces the archive file with the new archive.
+     *
+     * @throws IOException if the archive can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            flushBlock();
+        } finally {
+            out.close();
+            deflater.end();
+        }
+        AtomicFiles.replace(temporary, path);
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockReplays == 0) return;
+        deflater.reset();
+        deflater.setInput(block.bytes(), 0, block.length());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        crc.reset();
+        crc.update(block.bytes(), 0, block.length());
+
+        out.writeInt(blockReplays);
+        out.writeInt(block.length());
+        out.writeInt(length);
+        out.writeInt((int) crc.getValue());
+        out.write(compressed, 0, length);
+        bytes += BLOCK_HEADER_SIZE + length;
+        block.reset();
+        blockReplays = 0;
+    }
+}
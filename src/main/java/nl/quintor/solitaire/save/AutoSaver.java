@@ -0,0 +1,147 @@
+package nl.quintor.solitaire.save;
+
+import nl.quintor.solitaire.io.AtomicFiles;
+import nl.quintor.solitaire.io.WriterThreads;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind autosave of a running game. {@link #submit(GameState)} takes a small snapshot of the game (about a
+ * hundred bytes, see {@link SaveFile}) and hands it to a background writer thread, so the game loop never waits for
+ * the disk. Snapshots that are submitted while the writer is busy are coalesced: only the latest one is written.
+ *
+ * <p>
+ * Every write goes to a temporary file that is forced to disk and then atomically renamed over the save file, so after
+ * a crash the save file is either the previous or the new snapshot, never a partial one. {@link #load(Path)} restores a
+ * saved game, and ignores missing or damaged save files.
+ */
+public class AutoSaver implements AutoCloseable {
+    /**
+     * Default location of the save file: {@code .solitaire/autosave.bin} in the user's home directory.
+     */
+    public static final Path DEFAULT_FILE = Paths.get(System.getProperty("user.home"), ".solitaire", "autosave.bin");
+
+    private final Path file;
+    private final Path temporaryFile;
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed = false;
+    private volatile IOException lastError;
+
+    /**
+     * Creates an autosave to the provided file and starts its writer thread.
+     *
+     * @param file save file
+     */
+    public AutoSaver(Path file) {
+        this.file = file;
+        this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.writer = new Thread(this::writeLoop, "autosave");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Restores the game saved in the provided file.
+     *
+     * @param file save file
+     * @return the saved game, or empty if there is no save file or it can't be read
+     */
+    public static Optional<GameState> load(Path file) {
+        try {
+            return Optional.of(SaveFile.decode(Files.readAllBytes(file)));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the provided GameState object and queues it for writing. Never blocks on the disk. Snapshots
+     * submitted after {@link #close()} are ignored.
+     *
+     * @param gameState GameState object to save
+     */
+    public void submit(GameState gameState) {
+        if (closed) return;
+        pending.set(SaveFile.encode(gameState));
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Returns the number of snapshots written so far.
+     *
+     * @return number of writes
+     */
+    public long getWrites() {
+        return writes.get();
+    }
+
+    /**
+     * Getter for lastError.
+     *
+     * @return the last error of the writer thread, or null if all writes succeeded
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Writes the last submitted snapshot, if it isn't written yet, and stops the writer thread, see
+     * {@link WriterThreads#joinUninterruptibly(Thread)}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        if (WriterThreads.joinUninterruptibly(writer)) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Stops the writer thread and deletes the save file, for example when the game is over and can't be resumed.
+     *
+     * @throws IOException if the save file can't be deleted
+     */
+    public void discard() throws IOException {
+        pending.set(null);
+        close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(temporaryFile);
+    }
+
+    private void writeLoop() {
+        while (true) {
+            byte[] snapshot = pending.getAndSet(null);
+            if (snapshot != null) write(snapshot);
+            else if (closed) return;
+            else LockSupport.park(this);
+        }
+    }
+
+    private void write(byte[] snapshot) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(temporaryFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(true);
+            }
+            AtomicFiles.replace(temporaryFile, file);
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            lastError = e;
+        }
+    }
+}
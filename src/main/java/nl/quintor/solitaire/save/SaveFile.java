@@ -0,0 +1,104 @@
+package nl.quintor.solitaire.save;
+
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary format of saved games. A save contains the complete position (all decks, including the face-down cards), the
+ * seed, the counters and scores and the time played, followed by a CRC-32 checksum, so a truncated or damaged file is
+ * detected instead of resumed. The moves list is not saved, so moves played before a save can't be reverted after
+ * resuming.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+final class SaveFile {
+    private static final int MAGIC = 0x534F4C53; // "SOLS"
+    private static final byte VERSION = 1;
+    private static final int MAX_SIZE = 256;
+
+    private SaveFile(){}
+
+    /**
+     * Encodes the provided GameState object.
+     *
+     * @param gameState GameState object to save
+     * @return save file contents
+     */
+    static byte[] encode(GameState gameState) {
+        ByteBuffer out = ByteBuffer.allocate(MAX_SIZE);
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.putLong(gameState.getSeed());
+        out.put((byte) gameState.getDrawCount());
+        out.putInt(gameState.getStockCycles());
+        out.putLong(gameState.getBaseScore());
+        out.putLong(gameState.getTimeScore());
+        out.putLong(Duration.between(gameState.getStartTime(), LocalDateTime.now()).toMillis());
+        for (Deck deck : decks(gameState)) {
+            out.put((byte) deck.getInvisibleCards());
+            out.put((byte) deck.size());
+            for (Card card : deck) out.put((byte) card.getOrdinal());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+
+        byte[] result = new byte[out.position()];
+        System.arraycopy(out.array(), 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Decodes save file contents into a new GameState object. The start time is set so that the time played is the
+     * same as when the game was saved.
+     *
+     * @param bytes save file contents
+     * @return restored GameState object
+     * @throws IllegalArgumentException if the contents are not a valid save
+     */
+    static GameState decode(byte[] bytes) {
+        if (bytes.length < 8) throw new IllegalArgumentException("Save file is truncated");
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.getInt(bytes.length - 4) != (int) crc.getValue()) throw new IllegalArgumentException("Save file is damaged");
+        try {
+            if (in.getInt() != MAGIC) throw new IllegalArgumentException("Not a save file");
+            if (in.get() != VERSION) throw new IllegalArgumentException("Unsupported save file version");
+            GameState gameState = new GameState();
+            gameState.setSeed(in.getLong());
+            gameState.setDrawCount(in.get());
+            gameState.setStockCycles(in.getInt());
+            gameState.setBaseScore(in.getLong());
+            gameState.setTimeScore(in.getLong());
+            gameState.setStartTime(LocalDateTime.now().minus(Duration.ofMillis(in.getLong())));
+            for (Deck deck : decks(gameState)) {
+                int invisible = in.get();
+                int size = in.get();
+                for (int i = 0; i < size; i++) deck.add(Card.valueOf(in.get()));
+                deck.setInvisibleCards(invisible);
+            }
+            return gameState;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Save file is truncated", e);
+        }
+    }
+
+    private static List<Deck> decks(GameState gameState) {
+        List<Deck> decks = new ArrayList<>();
+        decks.add(gameState.getStock());
+        decks.add(gameState.getWaste());
+        decks.addAll(gameState.getStackPiles().values());
+        decks.addAll(gameState.getColumns().values());
+        return decks;
+    }
+}
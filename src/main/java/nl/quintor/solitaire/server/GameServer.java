@@ -0,0 +1,308 @@
+package nl.quintor.solitaire.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.moves.CycleStock;
+import nl.quintor.solitaire.game.moves.Dummy;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.MoveCard;
+import nl.quintor.solitaire.game.moves.Quit;
+import nl.quintor.solitaire.game.moves.Revert;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.leaderboard.Leaderboard;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP JSON API for playing games, built on the JDK's {@link HttpServer}. Every game is a session with a random id:
+ *
+ * <ul>
+ *     <li>{@code POST /games[?seed=n&player=name]} deals a new game and returns it, with status 201
+ *     <li>{@code GET /games/{id}} returns the game
+ *     <li>{@code POST /games/{id}/moves} applies a move and returns the result and the game; the body is the command
+ *     as typed in the command line game, for example {@code M O SA}, {@code C} or {@code R}, either as plain text or
+ *     as the {@code command} member of a JSON object. An illegal move is answered with status 422
+ *     <li>{@code DELETE /games/{id}} ends the session
+ *     <li>{@code GET /leaderboard[?top=k]} returns the best scores, if the server has a {@link Leaderboard}
+ * </ul>
+ *
+ * See {@link Json} for the documents; games are written by a {@link nl.quintor.solitaire.codec.JsonStateEncoder}. Moves
+ * are translated and applied as in {@link nl.quintor.solitaire.Main}; a won game gets its bonus and is submitted to the
+ * leaderboard. Requests are handled on virtual threads when the JVM supports them (Java 21 and up) and on a cached
+ * thread pool otherwise. Requests for the same session are serialized, but only while the move is applied and the
+ * response is built: responses are sent outside the session lock, so a slow client never holds a session, or pins the
+ * carrier of a virtual thread, during network I/O. Sessions that are idle for longer than
+ * {@value #SESSION_TIMEOUT_MINUTES} minutes are removed.
+ */
+public class GameServer {
+    /**
+     * Idle time after which a session is removed.
+     */
+    public static final int SESSION_TIMEOUT_MINUTES = 30;
+
+    static {
+        // the server writes headers and body separately; with Nagle's algorithm, a keep-alive client then waits for
+        // a delayed acknowledgement, about 40 ms, on every request. Must be set before the server classes load.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private static final Map<String, Move> MOVES = Map.of(
+        "C", new CycleStock(), "M", new MoveCard(), "R", new Revert(), "Q", new Quit());
+
+    private final HttpServer server;
+    private final ExecutorService executor = newExecutor();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Leaderboard leaderboard;
+
+    /**
+     * Creates a server that listens on the provided address. Call {@link #start()} to start serving.
+     *
+     * @param address address to listen on; port 0 picks a free port
+     * @param leaderboard leaderboard for the scores of won games, or null
+     * @throws IOException if the address can't be bound
+     */
+    public GameServer(InetSocketAddress address, Leaderboard leaderboard) throws IOException {
+        this.leaderboard = leaderboard;
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/games", this::handleGames);
+        server.createContext("/leaderboard", this::handleLeaderboard);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+        sweeper.scheduleWithFixedDelay(this::removeIdleSessions, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops serving requests, waiting at most a second for requests in progress.
+     */
+    public void stop() {
+        server.stop(1);
+        sweeper.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return port number
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of active sessions.
+     *
+     * @return number of sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void handleGames(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            String method = exchange.getRequestMethod();
+            if (path.length == 2) {
+                if (!"POST".equals(method)) send(exchange, 405, Json.error("Use POST to create a game"));
+                else createGame(exchange);
+                return;
+            }
+            Session session = path.length <= 4 ? sessions.get(path[2]) : null;
+            if (session == null) {
+                send(exchange, 404, Json.error("No such game"));
+            } else if (path.length == 3 && "GET".equals(method)) {
+                session.touch();
+                String json;
+                synchronized (session) {
+                    json = Json.game(session, null);
+                }
+                send(exchange, 200, json);
+            } else if (path.length == 3 && "DELETE".equals(method)) {
+                sessions.remove(session.getId());
+                send(exchange, 204, null);
+            } else if (path.length == 4 && "moves".equals(path[3]) && "POST".equals(method)) {
+                applyMove(exchange, session);
+            } else {
+                send(exchange, 405, Json.error("Unsupported request"));
+            }
+        } catch (RuntimeException e) {
+            send(exchange, 500, Json.error(String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createGame(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI());
+        GameState gameState;
+        try {
+            gameState = query.containsKey("seed")
+                ? GameStateController.init(Long.parseLong(query.get("seed"))) : GameStateController.init();
+        } catch (NumberFormatException e) {
+            send(exchange, 400, Json.error("Invalid seed"));
+            return;
+        }
+        Session session = new Session(UUID.randomUUID().toString(), query.getOrDefault("player", "anonymous"), gameState);
+        String json = Json.game(session, null); // before the session is published, so without holding it
+        sessions.put(session.getId(), session);
+        send(exchange, 201, json);
+    }
+
+    private void applyMove(HttpExchange exchange, Session session) throws IOException {
+        String command;
+        try (InputStream body = exchange.getRequestBody()) {
+            command = Json.command(new String(body.readAllBytes(), StandardCharsets.UTF_8)).toUpperCase();
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, Json.error(e.getMessage()));
+            return;
+        }
+        if (command.isEmpty()) {
+            send(exchange, 400, Json.error("Missing command"));
+            return;
+        }
+        session.touch();
+        int status;
+        String json;
+        // the response is built while holding the session, and sent after releasing it
+        synchronized (session) {
+            GameState gameState = session.getGameState();
+            if (gameState.isGameOver()) {
+                status = 409;
+                json = Json.error("The game is over");
+            } else {
+                Move move = MOVES.getOrDefault(command.substring(0, 1), new Dummy()).createInstance(command);
+                try {
+                    String message = move.apply(gameState);
+                    GameStateController.detectGameWin(gameState);
+                    gameState.setEndTime(LocalDateTime.now());
+                    GameStateController.applyTimePenalty(gameState);
+                    if (gameState.isGameWon()) {
+                        GameStateController.applyBonusScore(gameState);
+                        if (leaderboard != null) {
+                            leaderboard.submit(session.getPlayer(), gameState.getScore(), gameState.getSeed());
+                        }
+                    }
+                    status = 200;
+                    json = Json.game(session, message);
+                } catch (MoveException e) {
+                    status = 422;
+                    json = Json.error(e.getMessage());
+                }
+            }
+        }
+        send(exchange, status, json);
+    }
+
+    private void handleLeaderboard(HttpExchange exchange) throws IOException {
+        try {
+            if (leaderboard == null) {
+                send(exchange, 404, Json.error("This server has no leaderboard"));
+                return;
+            }
+            int top;
+            try {
+                top = Integer.parseInt(query(exchange.getRequestURI()).getOrDefault("top", "10"));
+            } catch (NumberFormatException e) {
+                send(exchange, 400, Json.error("Invalid top"));
+                return;
+            }
+            send(exchange, 200, Json.scores(leaderboard.top(top)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void removeIdleSessions() {
+        long timeout = TimeUnit.MINUTES.toNanos(SESSION_TIMEOUT_MINUTES);
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> now - session.getLastAccess() > timeout);
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        if (uri.getRawQuery() == null) return query;
+        for (String parameter : uri.getRawQuery().split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Returns an executor that runs every task on a new virtual thread, if the JVM supports virtual threads, or a
+     * cached thread pool otherwise. The source level of the project predates virtual threads, so the factory method
+     * is looked up reflectively.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "game-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Command-line entry point: {@code GameServer [port]}. Serves games on the provided port, 8080 by default, with
+     * the default {@link Leaderboard}.
+     *
+     * @param args the command-line arguments
+     * @throws IOException if the port can't be bound or the leaderboard can't be opened
+     */
+    public static void main(String... args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Leaderboard leaderboard = Leaderboard.open(Leaderboard.DEFAULT_FILE, Leaderboard.DEFAULT_CAPACITY);
+        GameServer server = new GameServer(new InetSocketAddress(port), leaderboard);
+        server.start();
+        System.out.println("Serving games on http://localhost:" + server.getPort() + "/games");
+    }
+}
@@ -0,0 +1,102 @@
+package nl.quintor.solitaire.server;
+
+import nl.quintor.solitaire.codec.JsonStateEncoder;
+import nl.quintor.solitaire.leaderboard.Score;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Library class for the JSON documents of the {@link GameServer}. The class is not instantiable, all constructors are
+ * private and all methods are static.
+ *
+ * <p>A game is sent as the player sees it: the session id, the message of the last move, the score and, as
+ * {@code game}, the encoding of a {@link JsonStateEncoder} that hides the face-down cards.
+ */
+final class Json {
+    private static final Pattern COMMAND = Pattern.compile("\"command\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private Json(){}
+
+    /**
+     * Writes the game of the provided session, with an optional message. Must be called while holding the session,
+     * because the session's encoder is used.
+     *
+     * @param session session of the game
+     * @param message result of the last move, or null
+     * @return JSON document
+     */
+    static String game(Session session, String message) {
+        JsonStateEncoder encoder = session.getEncoder();
+        encoder.encode(session.getGameState());
+        StringBuilder json = new StringBuilder(encoder.getLength() + 128);
+        json.append("{\"id\":");
+        string(json, session.getId());
+        if (message != null) {
+            json.append(",\"message\":");
+            string(json, message);
+        }
+        json.append(",\"score\":").append(session.getGameState().getScore()).append(",\"game\":")
+            .append(new String(encoder.getBuffer(), 0, encoder.getLength(), StandardCharsets.US_ASCII));
+        return json.append('}').toString();
+    }
+
+    /**
+     * Writes the provided leaderboard entries.
+     *
+     * @param scores leaderboard entries, best first
+     * @return JSON document
+     */
+    static String scores(List<Score> scores) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < scores.size(); i++) {
+            Score score = scores.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"rank\":").append(i + 1).append(",\"player\":");
+            string(json, score.getPlayer());
+            json.append(",\"score\":").append(score.getScore()).append(",\"seed\":").append(score.getSeed()).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Writes an error document.
+     *
+     * @param message error message
+     * @return JSON document
+     */
+    static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        string(json, message);
+        return json.append('}').toString();
+    }
+
+    /**
+     * Reads the command of a move request: either the {@code command} member of a JSON object, or the plain text body.
+     *
+     * @param body request body
+     * @return command, for example "M O SA"
+     * @throws IllegalArgumentException if the body is a JSON object without a command
+     */
+    static String command(String body) {
+        String trimmed = body.trim();
+        if (!trimmed.startsWith("{")) return trimmed;
+        Matcher matcher = COMMAND.matcher(trimmed);
+        if (!matcher.find()) throw new IllegalArgumentException("Missing \"command\"");
+        return matcher.group(1).replaceAll("\\\\(.)", "$1");
+    }
+
+    private static void string(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') json.append('\\').append(c);
+            else if (c == '\n') json.append("\\n");
+            else if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+            else json.append(c);
+        }
+        json.append('"');
+    }
+}
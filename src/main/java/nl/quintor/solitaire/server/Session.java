@@ -0,0 +1,48 @@
+package nl.quintor.solitaire.server;
+
+import nl.quintor.solitaire.codec.JsonStateEncoder;
+import nl.quintor.solitaire.models.state.GameState;
+
+/**
+ * A game played through the {@link GameServer}. Requests for the same session are serialized by synchronizing on the
+ * session; requests for different sessions run in parallel. The game and the encoder that writes it to the players may
+ * only be used while holding the session.
+ */
+class Session {
+    private final String id;
+    private final String player;
+    private final GameState gameState;
+    private final JsonStateEncoder encoder = new JsonStateEncoder(true);
+    private volatile long lastAccess;
+
+    Session(String id, String player, GameState gameState) {
+        this.id = id;
+        this.player = player;
+        this.gameState = gameState;
+        touch();
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getPlayer() {
+        return player;
+    }
+
+    GameState getGameState() {
+        return gameState;
+    }
+
+    JsonStateEncoder getEncoder() {
+        return encoder;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+}
@@ -0,0 +1,219 @@
+package nl.quintor.solitaire.solver;
+
+import nl.quintor.solitaire.corpus.Solvability;
+import nl.quintor.solitaire.game.StateHash;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+/**
+ * Persistent cache of {@link SolveResult}s, keyed by the deal hash ({@link StateHash#of(GameState)} of the freshly
+ * dealt GameState). The cache is a memory-mapped open-addressing hash table with linear probing, so lookups in a warm
+ * cache are served straight from the page cache and results survive between batch runs.
+ *
+ * <p>The file consists of a {@value #HEADER_SIZE}-byte header (magic number and capacity) followed by
+ * {@code capacity} slots of {@value #SLOT_SIZE} bytes: the key and the packed result. Keys are claimed with a
+ * compare-and-set, and results are published after their key, so any number of threads can read and insert
+ * concurrently without locks. A slot whose key is visible but whose result is not (yet) is treated as a miss. Entries
+ * are never removed; once all slots are taken, {@link #put(long, SolveResult)} returns false.
+ */
+public final class SolveCache implements Closeable {
+    static final int MAGIC = 0x53534331; // "SSC1"
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 16;
+    static final int MAX_CAPACITY = 1 << 26; // keeps the table within a single 1 GiB mapping
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long EMPTY = 0;
+    private static final long PRESENT = 1L << 63;
+    private static final int LENGTH_SHIFT = 2;
+    private static final int EFFORT_SHIFT = 18;
+    private static final long LENGTH_MASK = 0xFFFF;
+    private static final long EFFORT_MASK = (1L << 45) - 1;
+    private static final Solvability[] SOLVABILITIES = Solvability.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer table;
+    private final int capacity;
+
+    private SolveCache(FileChannel channel, int capacity) throws IOException {
+        this.channel = channel;
+        this.capacity = capacity;
+        this.table = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    }
+
+    /**
+     * Opens the cache file at the provided path, or creates it with the provided capacity if it does not exist. The
+     * capacity of an existing file is read from its header.
+     *
+     * @param path location of the cache file
+     * @param capacity number of slots, a power of two of at most {@value #MAX_CAPACITY}; keep the load below 75% for
+     *                 short probe sequences
+     * @return mapped cache
+     * @throws IOException if the file can't be read or written, or is not a valid cache file
+     */
+    public static SolveCache open(Path path, int capacity) throws IOException {
+        if (!isValidCapacity(capacity)) {
+            throw new IllegalArgumentException("capacity must be a power of two <= " + MAX_CAPACITY);
+        }
+        boolean exists = Files.exists(path) && Files.size(path) > 0;
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (exists && channel.size() < HEADER_SIZE) throw new IOException("Not a solve cache file");
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (exists) {
+                if (header.getInt(0) != MAGIC) throw new IOException("Not a solve cache file");
+                capacity = header.getInt(4);
+                if (!isValidCapacity(capacity)) {
+                    throw new IOException("Corrupt solve cache header, capacity " + capacity);
+                }
+                long size = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+                if (channel.size() != size) {
+                    throw new IOException("Solve cache file has " + channel.size() + " bytes instead of " + size);
+                }
+            } else {
+                header.putInt(0, MAGIC);
+                header.putInt(4, capacity);
+            }
+            return new SolveCache(channel, capacity);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Getter for capacity.
+     *
+     * @return number of slots
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Looks up the result for the provided deal hash.
+     *
+     * @param dealHash hash of the deal
+     * @return cached result or null on a miss
+     */
+    public SolveResult get(long dealHash) {
+        long key = key(dealHash);
+        for (int probe = 0, slot = slot(key); probe < capacity; probe++, slot = (slot + 1) & (capacity - 1)) {
+            long slotKey = (long) LONGS.getAcquire(table, offset(slot));
+            if (slotKey == EMPTY) return null;
+            if (slotKey == key) {
+                long value = (long) LONGS.getAcquire(table, offset(slot) + 8);
+                return (value & PRESENT) == 0 ? null : unpack(value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the result for the provided deal hash, replacing an earlier result for the same hash.
+     *
+     * @param dealHash hash of the deal
+     * @param result result to store
+     * @return false if the cache is full and the result could not be stored
+     */
+    public boolean put(long dealHash, SolveResult result) {
+        long key = key(dealHash);
+        long value = pack(result);
+        for (int probe = 0, slot = slot(key); probe < capacity; probe++, slot = (slot + 1) & (capacity - 1)) {
+            long slotKey = (long) LONGS.getAcquire(table, offset(slot));
+            if (slotKey == EMPTY) {
+                if (LONGS.compareAndSet(table, offset(slot), EMPTY, key)) slotKey = key;
+                else slotKey = (long) LONGS.getAcquire(table, offset(slot)); // another thread claimed the slot
+            }
+            if (slotKey == key) {
+                LONGS.setRelease(table, offset(slot) + 8, value);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cached result for the deal of the provided, freshly dealt GameState object. On a miss, the result is
+     * calculated with the provided solver function and stored.
+     *
+     * @param gameState freshly dealt GameState object
+     * @param solver function that solves the deal on a cache miss
+     * @return cached or calculated result
+     */
+    public SolveResult getOrSolve(GameState gameState, Function<GameState, SolveResult> solver) {
+        long dealHash = StateHash.of(gameState);
+        SolveResult result = get(dealHash);
+        if (result == null) {
+            result = solver.apply(gameState);
+            put(dealHash, result);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the stored results. This scans the whole table.
+     *
+     * @return number of stored results
+     */
+    public int count() {
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (((long) LONGS.getAcquire(table, offset(slot) + 8) & PRESENT) != 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    public void force() {
+        table.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private static boolean isValidCapacity(int capacity) {
+        return Integer.bitCount(capacity) == 1 && capacity <= MAX_CAPACITY;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & (capacity - 1);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static long key(long dealHash) {
+        return dealHash == EMPTY ? 1 : dealHash; // 0 marks empty slots
+    }
+
+    private static long pack(SolveResult result) {
+        return PRESENT
+            | result.getSolvability().ordinal()
+            | Math.min(result.getSolutionLength(), LENGTH_MASK) << LENGTH_SHIFT
+            | Math.min(result.getEffort(), EFFORT_MASK) << EFFORT_SHIFT;
+    }
+
+    private static SolveResult unpack(long value) {
+        return new SolveResult(SOLVABILITIES[(int) (value & 0b11)],
+            (int) ((value >>> LENGTH_SHIFT) & LENGTH_MASK),
+            (value >>> EFFORT_SHIFT) & EFFORT_MASK);
+    }
+}
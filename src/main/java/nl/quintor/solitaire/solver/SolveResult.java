@@ -0,0 +1,70 @@
+package nl.quintor.solitaire.solver;
+
+import nl.quintor.solitaire.corpus.Solvability;
+
+/**
+ * Immutable result of solving a deal: its {@link Solvability}, the number of moves in the solution (0 if there is no
+ * known solution) and the effort spent, in search nodes.
+ */
+public final class SolveResult {
+    private final Solvability solvability;
+    private final int solutionLength;
+    private final long effort;
+
+    /**
+     * Creates a new SolveResult.
+     *
+     * @param solvability solvability of the deal
+     * @param solutionLength number of moves in the solution
+     * @param effort number of search nodes visited
+     */
+    public SolveResult(Solvability solvability, int solutionLength, long effort) {
+        this.solvability = solvability;
+        this.solutionLength = solutionLength;
+        this.effort = effort;
+    }
+
+    /**
+     * Getter for solvability.
+     *
+     * @return solvability of the deal
+     */
+    public Solvability getSolvability() {
+        return solvability;
+    }
+
+    /**
+     * Getter for solutionLength.
+     *
+     * @return number of moves in the solution
+     */
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+
+    /**
+     * Getter for effort.
+     *
+     * @return number of search nodes visited
+     */
+    public long getEffort() {
+        return effort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SolveResult)) return false;
+        SolveResult that = (SolveResult) o;
+        return solvability == that.solvability && solutionLength == that.solutionLength && effort == that.effort;
+    }
+
+    @Override
+    public int hashCode() {
+        return (solvability.hashCode() * 31 + solutionLength) * 31 + Long.hashCode(effort);
+    }
+
+    @Override
+    public String toString() {
+        return solvability + " in " + solutionLength + " move(s), " + effort + " node(s)";
+    }
+}
@@ -0,0 +1,271 @@
+package nl.quintor.solitaire.solver;
+
+import nl.quintor.solitaire.bot.LegalMoves;
+import nl.quintor.solitaire.corpus.Solvability;
+import nl.quintor.solitaire.game.CanonicalForm;
+import nl.quintor.solitaire.game.GameStateController;
+import nl.quintor.solitaire.game.PlacementRules;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.game.moves.MoveCard;
+import nl.quintor.solitaire.game.moves.RevertibleMove;
+import nl.quintor.solitaire.game.moves.ex.MoveException;
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.card.CardOrder;
+import nl.quintor.solitaire.models.card.Suit;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.deck.DeckType;
+import nl.quintor.solitaire.models.state.GameState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Depth-first solver for deals, which sees all cards, including the face-down ones. A deal is solvable if a sequence
+ * of legal moves leads to a won game (see {@link GameStateController#detectGameWin(GameState)}).
+ *
+ * <p>Positions that were visited are recorded in a {@link TranspositionTable}, keyed by their
+ * {@linkplain CanonicalForm#hash(GameState) canonical hash}, so every class of equivalent positions is expanded at most
+ * once per search, and cycles, for example through cycling the stock, are cut off. The depth of an entry is the
+ * logarithm of the number of nodes below it, so the replacement policy keeps the entries that save the most work. The
+ * table is shared by all searches; entries of concurrent searches are kept apart by salting the position hash with a
+ * search id, so a solver can be used by any number of threads. Every search starts a new
+ * {@linkplain TranspositionTable#newSearch() generation}, so the entries of finished searches, which can never be hit
+ * again, are the first to be replaced.
+ *
+ * <p>A search that exceeds its node budget or depth limit ends with {@link Solvability#UNKNOWN}.
+ */
+public class Solver {
+    /**
+     * Default maximum number of nodes per search.
+     */
+    public static final long DEFAULT_MAX_NODES = 200_000;
+
+    /**
+     * Default maximum number of moves in a solution.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 400;
+
+    private static final AtomicLong SEARCHES = new AtomicLong();
+
+    private final TranspositionTable table;
+    private final long maxNodes;
+    private final int maxDepth;
+
+    /**
+     * Creates a solver with the default budget.
+     *
+     * @param table transposition table to record visited positions in
+     */
+    public Solver(TranspositionTable table) {
+        this(table, DEFAULT_MAX_NODES, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Creates a solver with the provided budget.
+     *
+     * @param table transposition table to record visited positions in
+     * @param maxNodes maximum number of nodes per search
+     * @param maxDepth maximum number of moves in a solution
+     */
+    public Solver(TranspositionTable table, long maxNodes, int maxDepth) {
+        if (maxNodes < 1 || maxDepth < 1) throw new IllegalArgumentException("maxNodes >= 1 and maxDepth >= 1");
+        this.table = table;
+        this.maxNodes = maxNodes;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Getter for maxNodes.
+     *
+     * @return maximum number of nodes per search
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Solves the provided position. The GameState object itself is not changed.
+     *
+     * @param gameState position to solve
+     * @return solvability, solution length and number of nodes searched
+     */
+    public SolveResult solve(GameState gameState) {
+        return solve(gameState, new ArrayList<>());
+    }
+
+    /**
+     * Solves the provided position, and adds the moves of the solution to the provided list. The GameState object
+     * itself is not changed.
+     *
+     * @param gameState position to solve
+     * @param solution receives the moves of the solution, in order, if the position is solvable
+     * @return solvability, solution length and number of nodes searched
+     */
+    public SolveResult solve(GameState gameState, List<Move> solution) {
+        Search search = new Search(gameState.copy());
+        boolean solved = search.search(0);
+        if (solved) solution.addAll(search.path);
+        Solvability solvability = solved ? Solvability.SOLVABLE
+            : search.incomplete ? Solvability.UNKNOWN : Solvability.UNSOLVABLE;
+        return new SolveResult(solvability, solved ? search.solutionLength : 0, search.nodes);
+    }
+
+    /**
+     * State of a single search.
+     */
+    private class Search {
+        private final GameState gameState;
+        private final long salt = SEARCHES.incrementAndGet() * 0x9E3779B97F4A7C15L;
+        private final List<Move> path = new ArrayList<>();
+        private long nodes = 0;
+        private boolean incomplete = false;
+        private int solutionLength;
+
+        private Search(GameState gameState) {
+            this.gameState = gameState;
+            table.newSearch();
+        }
+
+        private boolean search(int depth) {
+            if (++nodes > maxNodes) {
+                incomplete = true;
+                return false;
+            }
+            GameStateController.detectGameWin(gameState);
+            if (gameState.isGameWon()) {
+                solutionLength = depth;
+                return true;
+            }
+            if (depth >= maxDepth) {
+                incomplete = true;
+                return false;
+            }
+            long key = CanonicalForm.hash(gameState) ^ salt;
+            if (table.get(key) != TranspositionTable.MISS) return false;
+            table.put(key, 0, depth);
+
+            long start = nodes;
+            List<Move> moves = candidates(gameState);
+            for (Move move : moves) {
+                try {
+                    move.apply(gameState);
+                } catch (MoveException e) {
+                    continue; // legal moves always apply
+                }
+                path.add(move);
+                if (search(depth + 1)) return true;
+                path.remove(path.size() - 1);
+                ((RevertibleMove) move).revert(gameState);
+                gameState.forget((RevertibleMove) move);
+                if (nodes > maxNodes) return false;
+            }
+            table.put(key, 64 - Long.numberOfLeadingZeros(nodes - start), depth);
+            return false;
+        }
+    }
+
+    /**
+     * Lists the moves to search, in search order: moves to a stack pile first, then other card moves, moves off a
+     * stack pile and finally cycling the stock. Moves that can't help are skipped: moving part of a column run, unless
+     * the card below it can then go to a stack pile, and moving a whole column to an empty column. A move of a card to
+     * a stack pile that can never hurt, because every card that could go on top of it in a column is already on a
+     * stack pile, is the only move searched.
+     */
+    private static List<Move> candidates(GameState gameState) {
+        int[] stackHeights = stackHeights(gameState);
+        List<Move> moves = LegalMoves.of(gameState);
+        List<Move> candidates = new ArrayList<>(moves.size());
+        for (Move move : moves) {
+            if (!(move instanceof MoveCard)) {
+                candidates.add(move);
+                continue;
+            }
+            String[] input = ((MoveCard) move).getPlayerInput().split(" ");
+            Deck source = source(gameState, input[1]);
+            int row = input[1].length() > 1 && input[1].charAt(0) != 'S' ? Integer.parseInt(input[1].substring(1)) : source.size() - 1;
+            Card card = source.get(row);
+            if (input[2].charAt(0) == 'S') {
+                if (isSafeOnStack(card, stackHeights)) return Collections.singletonList(move);
+            } else if (source.getDeckType() == DeckType.COLUMN) {
+                if (row > source.getInvisibleCards()
+                    && !PlacementRules.KLONDIKE.acceptsOnStack(topOfStack(gameState, source.get(row - 1)), source.get(row - 1))) continue;
+                if (row == 0 && gameState.getColumns().get(input[2]).isEmpty()) continue;
+            }
+            candidates.add(move);
+        }
+        candidates.sort(Comparator.comparingInt(Solver::priority));
+        return candidates;
+    }
+
+    private static int priority(Move move) {
+        if (!(move instanceof MoveCard)) return 3;
+        String input = ((MoveCard) move).getPlayerInput();
+        if (input.charAt(input.length() - 2) == 'S') return 0;
+        return input.charAt(2) == 'S' && input.charAt(3) != ' ' ? 2 : 1;
+    }
+
+    private static Deck source(GameState gameState, String location) {
+        if ("O".equals(location)) return gameState.getStock();
+        if (location.charAt(0) == 'S') return gameState.getStackPiles().get(location);
+        return gameState.getColumns().get(location.substring(0, 1));
+    }
+
+    /**
+     * Returns the number of cards on the stack piles per suit ordinal.
+     */
+    private static int[] stackHeights(GameState gameState) {
+        int[] heights = new int[4];
+        for (Deck stack : gameState.getStackPiles().values()) {
+            if (!stack.isEmpty()) heights[stack.get(0).getSuit().ordinal()] = stack.size();
+        }
+        return heights;
+    }
+
+    private static Card topOfStack(GameState gameState, Card card) {
+        for (Deck stack : gameState.getStackPiles().values()) {
+            if (!stack.isEmpty() && stack.get(0).getSuit() == card.getSuit()) return stack.get(stack.size() - 1);
+        }
+        return null;
+    }
+
+    /**
+     * A card is safe to put on a stack pile if it is an Ace or a Two, or if both cards of the other color that are one
+     * rank lower are on the stack piles already.
+     */
+    private static boolean isSafeOnStack(Card card, int[] stackHeights) {
+        int rank = CardOrder.KLONDIKE.key(card); // Ace is 0
+        if (rank <= 1) return true;
+        boolean red = card.getSuit() == Suit.DIAMONDS || card.getSuit() == Suit.HEARTS;
+        int otherColor1 = red ? Suit.CLUBS.ordinal() : Suit.DIAMONDS.ordinal();
+        int otherColor2 = red ? Suit.SPADES.ordinal() : Suit.HEARTS.ordinal();
+        return stackHeights[otherColor1] >= rank && stackHeights[otherColor2] >= rank;
+    }
+
+    /**
+     * Command-line entry point: {@code Solver [deals] [tableMiB] [maxNodes]}. Solves the deals with seeds 0 up to
+     * {@code deals} and prints the result per deal.
+     *
+     * @param args the command-line arguments
+     */
+    public static void main(String... args) {
+        int deals = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long tableBytes = (args.length > 1 ? Long.parseLong(args[1]) : 64) << 20;
+        long maxNodes = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MAX_NODES;
+
+        Solver solver = new Solver(new TranspositionTable(tableBytes), maxNodes, DEFAULT_MAX_DEPTH);
+        long nodes = 0;
+        long start = System.nanoTime();
+        for (int seed = 0; seed < deals; seed++) {
+            SolveResult result = solver.solve(GameStateController.init(seed));
+            nodes += result.getEffort();
+            System.out.println(seed + ": " + result);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%d nodes in %.1f s (%.0f nodes/s), heap in use %d MiB%n", nodes, seconds, nodes / seconds,
+            (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+    }
+}
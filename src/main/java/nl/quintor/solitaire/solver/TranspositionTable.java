@@ -0,0 +1,206 @@
+package nl.quintor.solitaire.solver;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size transposition table for game tree searches, keyed by a 64-bit position hash such as
+ * {@link nl.quintor.solitaire.game.StateHash#of(nl.quintor.solitaire.models.state.GameState)}. The table lives in a
+ * direct {@link ByteBuffer}, outside the Java heap, so a search can visit hundreds of millions of positions without
+ * growing the heap or the garbage collector's work.
+ *
+ * <p>The table consists of buckets of {@value #BUCKET_SLOTS} slots of {@value #SLOT_SIZE} bytes: the key and a data
+ * word with a 32-bit value, a 15-bit depth and a 16-bit generation. A position can only be stored in its own bucket
+ * (open addressing with a bounded probe), so a lookup reads at most one 64-byte cache line. When a bucket is full, a
+ * new entry replaces an entry of an older generation, see {@link #newSearch()}, and otherwise the entry with the lowest
+ * depth (depth-preferred replacement), so the entries that represent the most search effort stay in the table without
+ * piling up from searches that have ended. An entry of the current generation is never replaced by one of lower depth
+ * for the same position.
+ *
+ * <p>Any number of threads can read and write the table without locks. The key is stored XOR-ed with the data word,
+ * so an entry that is torn by a concurrent write fails the key check and reads as a miss instead of returning the data
+ * of another position. Concurrent writes to a full bucket may replace each other's entries; a transposition table is
+ * a cache, so that only costs search effort.
+ */
+public final class TranspositionTable {
+    /**
+     * Value returned by {@link #get(long)} for positions that are not in the table.
+     */
+    public static final long MISS = 0;
+
+    /**
+     * Maximum depth of an entry; larger depths are stored as this depth.
+     */
+    public static final int MAX_DEPTH = 0x7FFF;
+
+    static final int SLOT_SIZE = 16;
+    static final int BUCKET_SLOTS = 4;
+    static final int BUCKET_SIZE = SLOT_SIZE * BUCKET_SLOTS;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long PRESENT = 1L << 63;
+    private static final int DEPTH_SHIFT = 32;
+    private static final long DEPTH_MASK = 0x7FFF;
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+    private static final int GENERATION_SHIFT = 47;
+    private static final int GENERATION_MASK = 0xFFFF;
+
+    private final ByteBuffer table;
+    private final int buckets;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Creates a table that uses at most the provided number of bytes, rounded down to a power of two number of
+     * buckets.
+     *
+     * @param bytes memory budget in bytes, at least {@value #BUCKET_SIZE} and at most 1 GiB
+     */
+    public TranspositionTable(long bytes) {
+        if (bytes < BUCKET_SIZE || bytes > 1L << 30) {
+            throw new IllegalArgumentException(BUCKET_SIZE + " <= bytes <= 1 GiB");
+        }
+        this.buckets = Integer.highestOneBit((int) (bytes / BUCKET_SIZE));
+        this.table = ByteBuffer.allocateDirect(buckets * BUCKET_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return number of slots
+     */
+    public int getCapacity() {
+        return buckets * BUCKET_SLOTS;
+    }
+
+    /**
+     * Returns the memory used by the table, outside the Java heap.
+     *
+     * @return size of the table in bytes
+     */
+    public long getSize() {
+        return (long) buckets * BUCKET_SIZE;
+    }
+
+    /**
+     * Starts a new generation. Entries stored before are replaced first when a bucket is full, whatever their depth;
+     * call this when a search starts whose keys differ from those of earlier searches, for example because they are
+     * salted per search.
+     */
+    public void newSearch() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Looks up the entry of the provided position.
+     *
+     * @param hash position hash
+     * @return the entry, to be decoded with {@link #depth(long)} and {@link #value(long)}, or {@link #MISS}
+     */
+    public long get(long hash) {
+        int bucket = bucket(hash);
+        for (int slot = 0; slot < BUCKET_SLOTS; slot++) {
+            int offset = bucket + slot * SLOT_SIZE;
+            long data = (long) LONGS.getOpaque(table, offset + 8);
+            if ((data & PRESENT) != 0 && ((long) LONGS.getOpaque(table, offset) ^ data) == hash) return data;
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores an entry for the provided position. An existing entry for the position is replaced, unless it has a
+     * higher depth and is of the current generation. Otherwise the entry goes into an empty slot of the bucket, or
+     * replaces the entry with the lowest depth among the entries of older generations or, if there are none, in the
+     * bucket.
+     *
+     * @param hash position hash
+     * @param depth depth of the entry, for example the remaining search depth or the effort spent; values above
+     *              {@value #MAX_DEPTH} are stored as {@value #MAX_DEPTH}
+     * @param value value of the entry
+     * @return false if the entry was not stored because the position has an entry of the current generation with a
+     *         higher depth
+     */
+    public boolean put(long hash, int depth, int value) {
+        long current = generation.get() & GENERATION_MASK;
+        long data = PRESENT | current << GENERATION_SHIFT
+            | (Math.min(Math.max(depth, 0), MAX_DEPTH) & DEPTH_MASK) << DEPTH_SHIFT | value & VALUE_MASK;
+        int bucket = bucket(hash);
+        int victim = bucket;
+        int victimRank = Integer.MAX_VALUE;
+        for (int slot = 0; slot < BUCKET_SLOTS; slot++) {
+            int offset = bucket + slot * SLOT_SIZE;
+            long slotData = (long) LONGS.getOpaque(table, offset + 8);
+            if ((slotData & PRESENT) == 0) {
+                if (victimRank >= 0) {
+                    victim = offset;
+                    victimRank = -1;
+                }
+                continue;
+            }
+            boolean stale = (slotData >>> GENERATION_SHIFT & GENERATION_MASK) != current;
+            if (((long) LONGS.getOpaque(table, offset) ^ slotData) == hash) {
+                if (!stale && depth(slotData) > depth(data)) return false;
+                victim = offset;
+                break;
+            }
+            // entries of older generations rank below all entries of the current one
+            int rank = stale ? depth(slotData) : depth(slotData) + MAX_DEPTH + 1;
+            if (rank < victimRank) {
+                victim = offset;
+                victimRank = rank;
+            }
+        }
+        LONGS.setOpaque(table, victim, hash ^ data);
+        LONGS.setOpaque(table, victim + 8, data);
+        return true;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (int offset = 0; offset < getSize(); offset += SLOT_SIZE) {
+            LONGS.setOpaque(table, offset, 0L);
+            LONGS.setOpaque(table, offset + 8, 0L);
+        }
+    }
+
+    /**
+     * Counts the entries in the table. This scans the whole table.
+     *
+     * @return number of entries
+     */
+    public int count() {
+        int count = 0;
+        for (int offset = 0; offset < getSize(); offset += SLOT_SIZE) {
+            if (((long) LONGS.getOpaque(table, offset + 8) & PRESENT) != 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the depth of an entry.
+     *
+     * @param entry entry returned by {@link #get(long)}
+     * @return depth of the entry
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT & DEPTH_MASK);
+    }
+
+    /**
+     * Decodes the value of an entry.
+     *
+     * @param entry entry returned by {@link #get(long)}
+     * @return value of the entry
+     */
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    private int bucket(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & (buckets - 1)) * BUCKET_SIZE;
+    }
+}
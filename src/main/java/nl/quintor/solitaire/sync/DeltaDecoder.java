@@ -0,0 +1,137 @@
+package nl.quintor.solitaire.sync;
+
+import nl.quintor.solitaire.codec.ByteInput;
+import nl.quintor.solitaire.codec.StateLayout;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+/**
+ * Client side of {@link DeltaEncoder}: applies snapshot and delta messages to a local copy of the game. Face-down cards
+ * are never sent, so they are null in the local copy; the counts of face-down cards are correct.
+ *
+ * <p>
+ * Deltas must be applied in the order they were encoded. A delta that doesn't follow the previous message is rejected
+ * with an {@link IllegalStateException}, after which the client should request a snapshot.
+ */
+public class DeltaDecoder {
+    private final GameState gameState = new GameState();
+    private final Deck[] decks = new Deck[StateLayout.PILES];
+    private long expectedSequence = -1;
+
+    /**
+     * Creates a decoder with an empty local copy, which is filled by the first snapshot.
+     */
+    public DeltaDecoder() {
+        StateLayout.decks(gameState, decks);
+    }
+
+    /**
+     * Getter for the local copy of the game.
+     *
+     * @return GameState object that is updated by {@link #apply(byte[])}
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Returns true if a snapshot was applied and no delta was missed since.
+     *
+     * @return true if deltas can be applied
+     */
+    public boolean isSynced() {
+        return expectedSequence >= 0;
+    }
+
+    /**
+     * Applies a message of a {@link DeltaEncoder} to the local copy of the game.
+     *
+     * @param message snapshot or delta
+     * @throws IllegalStateException if the message is a delta that doesn't follow the previous message
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public void apply(byte[] message) {
+        ByteInput in = new ByteInput(message);
+        try {
+            int kind = in.read();
+            long sequence = in.readVarLong();
+            if (kind == DeltaEncoder.SNAPSHOT) {
+                applySnapshot(in);
+            } else if (kind == DeltaEncoder.DELTA) {
+                if (sequence != expectedSequence) {
+                    String error = "Expected message " + expectedSequence + " but got " + sequence;
+                    expectedSequence = -1;
+                    throw new IllegalStateException(error + "; a snapshot is needed");
+                }
+                applyDelta(in);
+            } else {
+                throw new IllegalArgumentException("Unknown message kind " + kind);
+            }
+            expectedSequence = sequence + 1;
+        } catch (IllegalArgumentException e) {
+            expectedSequence = -1;
+            throw e;
+        } catch (IndexOutOfBoundsException e) {
+            expectedSequence = -1;
+            throw new IllegalArgumentException("Malformed message", e);
+        }
+    }
+
+    private void applySnapshot(ByteInput in) {
+        gameState.getMoves().clear();
+        gameState.setSeed(in.readZigZag());
+        gameState.setDrawCount((int) in.readVarLong());
+        gameState.setStockCycles((int) in.readVarLong());
+        gameState.setBaseScore(in.readZigZag());
+        gameState.setTimeScore(in.readZigZag());
+        applyStatus(in.read());
+        for (Deck deck : decks) {
+            int invisible = in.read();
+            int size = in.read();
+            deck.clear();
+            for (int i = 0; i < size; i++) deck.add(StateLayout.card(in.read()));
+            deck.setInvisibleCards(invisible);
+        }
+    }
+
+    private void applyDelta(ByteInput in) {
+        while (in.hasRemaining()) {
+            int header = in.read();
+            Deck deck = decks[header & 0x0F];
+            switch (header >>> 4) {
+                case DeltaEncoder.MOVE:
+                    Deck destination = decks[in.read()];
+                    deck.transferTo(destination, in.read());
+                    break;
+                case DeltaEncoder.TAIL:
+                    int kept = in.read();
+                    int added = in.read();
+                    deck.subList(kept, deck.size()).clear();
+                    for (int i = 0; i < added; i++) deck.add(StateLayout.card(in.read()));
+                    break;
+                case DeltaEncoder.INVISIBLE:
+                    deck.setInvisibleCards(in.read());
+                    break;
+                case DeltaEncoder.BASE_SCORE:
+                    gameState.setBaseScore(in.readZigZag());
+                    break;
+                case DeltaEncoder.TIME_SCORE:
+                    gameState.setTimeScore(in.readZigZag());
+                    break;
+                case DeltaEncoder.STOCK_CYCLES:
+                    gameState.setStockCycles((int) in.readVarLong());
+                    break;
+                case DeltaEncoder.STATUS:
+                    applyStatus(in.read());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown operation " + (header >>> 4));
+            }
+        }
+    }
+
+    private void applyStatus(int status) {
+        gameState.setGameWon((status & DeltaEncoder.WON) != 0);
+        gameState.setGameLost((status & DeltaEncoder.LOST) != 0);
+    }
+}
@@ -0,0 +1,206 @@
+package nl.quintor.solitaire.sync;
+
+import nl.quintor.solitaire.codec.ByteOutput;
+import nl.quintor.solitaire.codec.StateLayout;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+
+
+/**
+ * Encodes the changes of a {@link GameState} into compact messages for remote clients, like spectators, which apply
+ * them with a {@link DeltaDecoder}. The encoder remembers what it sent last, so every message only describes what
+ * changed since the previous message: cards moved from one pile to another, cards added to or removed from the end of
+ * a pile, turned cards, and score and counter changes. A card move typically takes 5 to 10 bytes, a snapshot about 90.
+ *
+ * <p>
+ * The first message, and every message for which a delta would not be smaller, is a full snapshot instead. A snapshot
+ * can also be requested with {@link #snapshot(GameState)}, for example when a spectator joins or a client lost a
+ * message. Face-down cards are never sent, see {@link StateLayout#project(int, Deck, byte[])}.
+ *
+ * <p>
+ * Message layout: a kind byte ({@link #SNAPSHOT} or {@link #DELTA}) and a varint sequence number, followed by the
+ * snapshot fields or by a list of operations. Every operation starts with a byte holding the operation code in the high
+ * four bits and the pile number in the low four bits.
+ */
+public class DeltaEncoder {
+    static final byte SNAPSHOT = 1;
+    static final byte DELTA = 2;
+
+    static final int MOVE = 1;          // pile, destination pile, count
+    static final int TAIL = 2;          // pile, number of cards kept, number of cards added, added cards
+    static final int INVISIBLE = 3;     // pile, number of invisible cards
+    static final int BASE_SCORE = 4;    // zigzag varint
+    static final int TIME_SCORE = 5;    // zigzag varint
+    static final int STOCK_CYCLES = 6;  // varint
+    static final int STATUS = 7;        // status byte
+
+    static final int WON = 1;
+    static final int LOST = 2;
+
+    private static final int SNAPSHOT_OVERHEAD = 48;
+
+    private final Deck[] decks = new Deck[StateLayout.PILES];
+    private byte[][] sent = new byte[StateLayout.PILES][StateLayout.MAX_SIZE];
+    private byte[][] current = new byte[StateLayout.PILES][StateLayout.MAX_SIZE];
+    private int[] sentSizes = new int[StateLayout.PILES];
+    private int[] currentSizes = new int[StateLayout.PILES];
+    private final int[] sentInvisible = new int[StateLayout.PILES];
+    private final int[] kept = new int[StateLayout.PILES];
+    private final boolean[] encoded = new boolean[StateLayout.PILES];
+    private final ByteOutput out = new ByteOutput(64);
+
+    private boolean synced = false;
+    private long sequence = 0;
+    private long seed;
+    private int drawCount;
+    private int stockCycles;
+    private long baseScore;
+    private long timeScore;
+    private int status;
+
+    /**
+     * Returns a message that brings a client from the previously encoded state to the provided state: a delta, or a
+     * snapshot if nothing was encoded yet, a new game was started, or the snapshot would be smaller.
+     *
+     * @param gameState current state of the game
+     * @return message for {@link DeltaDecoder#apply(byte[])}
+     */
+    public byte[] encode(GameState gameState) {
+        if (!synced || gameState.getSeed() != seed || gameState.getDrawCount() != drawCount) return snapshot(gameState);
+        project(gameState);
+
+        out.reset();
+        out.write(DELTA);
+        out.writeVarLong(sequence);
+        encodeMoves();
+        for (int pile = 0; pile < StateLayout.PILES; pile++) {
+            if (!encoded[pile] && (kept[pile] < sentSizes[pile] || kept[pile] < currentSizes[pile])) {
+                out.write(TAIL << 4 | pile);
+                out.write(kept[pile]);
+                out.write(currentSizes[pile] - kept[pile]);
+                out.write(current[pile], kept[pile], currentSizes[pile] - kept[pile]);
+            }
+            if (decks[pile].getInvisibleCards() != sentInvisible[pile]) {
+                out.write(INVISIBLE << 4 | pile);
+                out.write(decks[pile].getInvisibleCards());
+            }
+        }
+        if (gameState.getBaseScore() != baseScore) writeZigZag(BASE_SCORE, gameState.getBaseScore());
+        if (gameState.getTimeScore() != timeScore) writeZigZag(TIME_SCORE, gameState.getTimeScore());
+        if (gameState.getStockCycles() != stockCycles) writeCounter(STOCK_CYCLES, gameState.getStockCycles());
+        if (status(gameState) != status) {
+            out.write(STATUS << 4);
+            out.write(status(gameState));
+        }
+
+        int snapshotSize = SNAPSHOT_OVERHEAD;
+        for (int pile = 0; pile < StateLayout.PILES; pile++) snapshotSize += 2 + currentSizes[pile];
+        if (out.length() > snapshotSize) return snapshot(gameState);
+
+        remember(gameState);
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns a snapshot message that describes the complete provided state.
+     *
+     * @param gameState current state of the game
+     * @return message for {@link DeltaDecoder#apply(byte[])}
+     */
+    public byte[] snapshot(GameState gameState) {
+        project(gameState);
+
+        out.reset();
+        out.write(SNAPSHOT);
+        out.writeVarLong(sequence);
+        out.writeZigZag(gameState.getSeed());
+        out.writeVarLong(gameState.getDrawCount());
+        out.writeVarLong(gameState.getStockCycles());
+        out.writeZigZag(gameState.getBaseScore());
+        out.writeZigZag(gameState.getTimeScore());
+        out.write(status(gameState));
+        for (int pile = 0; pile < StateLayout.PILES; pile++) {
+            out.write(decks[pile].getInvisibleCards());
+            out.write(currentSizes[pile]);
+            out.write(current[pile], 0, currentSizes[pile]);
+        }
+
+        remember(gameState);
+        synced = true;
+        return out.toByteArray();
+    }
+
+    /**
+     * Projects the piles of the GameState object and determines per pile how many of the previously sent cards are
+     * unchanged.
+     */
+    private void project(GameState gameState) {
+        StateLayout.decks(gameState, decks);
+        for (int pile = 0; pile < StateLayout.PILES; pile++) {
+            currentSizes[pile] = StateLayout.project(pile, decks[pile], current[pile]);
+            int limit = Math.min(sentSizes[pile], currentSizes[pile]);
+            int same = 0;
+            while (same < limit && sent[pile][same] == current[pile][same]) same++;
+            kept[pile] = same;
+            encoded[pile] = false;
+        }
+    }
+
+    /**
+     * Encodes cards that were removed from the end of one pile and added, in the same order, to the end of another
+     * pile as a single {@link #MOVE} operation.
+     */
+    private void encodeMoves() {
+        for (int from = 0; from < StateLayout.PILES; from++) {
+            int removed = sentSizes[from] - kept[from];
+            if (removed == 0 || currentSizes[from] != kept[from]) continue;
+            for (int to = 0; to < StateLayout.PILES; to++) {
+                if (to == from || encoded[to] || sentSizes[to] != kept[to]) continue;
+                if (currentSizes[to] - kept[to] != removed) continue;
+                if (!sameCards(sent[from], kept[from], current[to], kept[to], removed)) continue;
+                out.write(MOVE << 4 | from);
+                out.write(to);
+                out.write(removed);
+                encoded[from] = true;
+                encoded[to] = true;
+                break;
+            }
+        }
+    }
+
+    private static boolean sameCards(byte[] a, int aFrom, byte[] b, int bFrom, int count) {
+        for (int i = 0; i < count; i++) if (a[aFrom + i] != b[bFrom + i]) return false;
+        return true;
+    }
+
+    private void remember(GameState gameState) {
+        byte[][] swapCards = sent;
+        sent = current;
+        current = swapCards;
+        int[] swapSizes = sentSizes;
+        sentSizes = currentSizes;
+        currentSizes = swapSizes;
+        for (int pile = 0; pile < StateLayout.PILES; pile++) sentInvisible[pile] = decks[pile].getInvisibleCards();
+        seed = gameState.getSeed();
+        drawCount = gameState.getDrawCount();
+        stockCycles = gameState.getStockCycles();
+        baseScore = gameState.getBaseScore();
+        timeScore = gameState.getTimeScore();
+        status = status(gameState);
+        sequence++;
+    }
+
+    private void writeCounter(int operation, long value) {
+        out.write(operation << 4);
+        out.writeVarLong(value);
+    }
+
+    private void writeZigZag(int operation, long value) {
+        out.write(operation << 4);
+        out.writeZigZag(value);
+    }
+
+    private static int status(GameState gameState) {
+        return (gameState.isGameWon() ? WON : 0) | (gameState.isGameLost() ? LOST : 0);
+    }
+}
@@ -0,0 +1,127 @@
+package nl.quintor.solitaire.ui;
+
+import nl.quintor.solitaire.analytics.LogHistogram;
+
+/**
+ * Tracks how responsive a game session is: the time from reading a line of player input to the end of the next frame,
+ * split into the phases of handling the input. Every phase and the total latency are recorded in a
+ * {@link LogHistogram}, so the tracker uses a fixed amount of memory however long the session lasts.
+ *
+ * <p>The read times of inputs that wait for a frame are kept in a fixed-size buffer; if more inputs are handled before
+ * a frame is drawn, for example when a long command script is piped in, the surplus is counted in the phases but not
+ * in the total latency. A LatencyTracker is not thread-safe; it is meant to be used by the game loop thread only.
+ */
+public final class LatencyTracker {
+    /**
+     * The phases of handling a line of player input.
+     */
+    public enum Phase {
+        /**
+         * Translating the input into a move.
+         */
+        PARSE,
+
+        /**
+         * Applying the move to the game.
+         */
+        APPLY,
+
+        /**
+         * Detecting a win, updating the score and saving the game.
+         */
+        UPDATE,
+
+        /**
+         * Drawing the frame.
+         */
+        RENDER
+    }
+
+    private static final int MAX_PENDING = 256;
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LogHistogram[] phases = new LogHistogram[PHASES.length];
+    private final LogHistogram total = new LogHistogram();
+    private final long[] pending = new long[MAX_PENDING];
+    private int pendingCount = 0;
+
+    /**
+     * Creates a tracker without recorded values.
+     */
+    public LatencyTracker() {
+        for (int i = 0; i < phases.length; i++) phases[i] = new LogHistogram();
+    }
+
+    /**
+     * Registers a line of player input that was read at the provided time. Its latency is recorded when the next
+     * frame is drawn.
+     *
+     * @param readNanos {@link System#nanoTime()} at which the line was read
+     */
+    public void inputRead(long readNanos) {
+        if (pendingCount < MAX_PENDING) pending[pendingCount++] = readNanos;
+    }
+
+    /**
+     * Records the duration of a phase that started at the provided time and ends now.
+     *
+     * @param phase phase
+     * @param startNanos {@link System#nanoTime()} at which the phase started
+     * @return {@link System#nanoTime()} at which the phase ended, the start of the next phase
+     */
+    public long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phases[phase.ordinal()].record(now - startNanos);
+        return now;
+    }
+
+    /**
+     * Records a frame that started rendering at the provided time and is complete now, together with the total
+     * latency of all inputs that were waiting for it.
+     *
+     * @param startNanos {@link System#nanoTime()} at which rendering started
+     */
+    public void frameRendered(long startNanos) {
+        long now = record(Phase.RENDER, startNanos);
+        for (int i = 0; i < pendingCount; i++) total.record(now - pending[i]);
+        pendingCount = 0;
+    }
+
+    /**
+     * Returns the histogram of a phase, in nanoseconds.
+     *
+     * @param phase phase
+     * @return histogram of the phase
+     */
+    public LogHistogram getPhase(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Getter for total.
+     *
+     * @return histogram of the time from reading an input to the end of the next frame, in nanoseconds
+     */
+    public LogHistogram getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns a table of the median, 99th percentile and maximum of every phase and of the total latency, in
+     * milliseconds.
+     *
+     * @return latency report
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder(String.format("Input latency of this session (ms):%n%-8s %8s %8s %8s %8s",
+            "", "count", "p50", "p99", "max"));
+        for (Phase phase : PHASES) row(report, phase.name().toLowerCase(), phases[phase.ordinal()]);
+        row(report, "total", total);
+        return report.toString();
+    }
+
+    private static void row(StringBuilder report, String name, LogHistogram histogram) {
+        report.append(String.format("%n%-8s %8d %8.3f %8.3f %8.3f", name, histogram.getCount(),
+            histogram.getPercentile(50) / 1e6, histogram.getPercentile(99) / 1e6, histogram.getMax() / 1e6));
+    }
+}
@@ -0,0 +1,113 @@
+package nl.quintor.solitaire.ui;
+
+import nl.quintor.solitaire.models.card.Card;
+
+/**
+ * Library class that describes the capabilities of the terminal the game runs in. The platform is detected once, when
+ * the class is first used. Under competent terminal implementations, that is non-Windows terminals, Unicode symbols
+ * and ANSI escape codes can be used. In Windows 10 in 2018, they cannot.
+ *
+ * <p>
+ * Derived tables, like the card labels and the help text, are built on first use, so a session that never needs them
+ * doesn't pay for them at startup.
+ *
+ * The class is not instantiable, all constructors are private and all methods are static.
+ */
+public class Terminal {
+    private static final boolean WINDOWS = System.getProperty("os.name", "").contains("Windows");
+    private static final char COMBINING_LOW_LINE = '\u0332';
+
+    private Terminal(){}
+
+    /**
+     * Returns true if the game runs on Windows.
+     *
+     * @return true on Windows
+     */
+    public static boolean isWindows(){
+        return WINDOWS;
+    }
+
+    /**
+     * Returns true if the terminal can display Unicode card symbols and combining characters.
+     *
+     * @return true if Unicode output is supported
+     */
+    public static boolean supportsUnicode(){
+        return !WINDOWS;
+    }
+
+    /**
+     * Returns true if the terminal interprets ANSI escape codes, for colors and clearing the screen.
+     *
+     * @return true if ANSI escape codes are supported
+     */
+    public static boolean supportsAnsi(){
+        return !WINDOWS;
+    }
+
+    /**
+     * Returns the provided command name with its first letter underlined, for example "H̲elp", to show the player which
+     * letter triggers the command. Terminals without Unicode support get the plain name.
+     *
+     * @param name command name
+     * @return command name as it should be shown to the player
+     */
+    public static String command(String name){
+        if (!supportsUnicode() || name.isEmpty()) return name;
+        return name.charAt(0) + String.valueOf(COMBINING_LOW_LINE) + name.substring(1);
+    }
+
+    /**
+     * Returns the short label of the {@link Card} with the provided ordinal, for example "♤ K".
+     *
+     * @param ordinal 0-53 card ordinal
+     * @return short card label
+     */
+    public static String cardLabel(int ordinal){
+        return CardLabels.LABELS[ordinal];
+    }
+
+    /**
+     * Returns the game instructions.
+     *
+     * @return help text
+     */
+    public static String helpText(){
+        return HelpText.TEXT;
+    }
+
+    /**
+     * Holder of the card labels, initialized on first access.
+     */
+    private static class CardLabels {
+        private static final String[] LABELS = new String[54];
+
+        static {
+            for (int ordinal = 0; ordinal < LABELS.length; ordinal++) {
+                Card card = new Card(ordinal);
+                LABELS[ordinal] = card.getSuit().getSymbol() + " " + card.getRank().getSymbol();
+            }
+        }
+    }
+
+    /**
+     * Holder of the help text, initialized on first access.
+     */
+    private static class HelpText {
+        private static final String TEXT = "\n" +
+            "You can give a command with the Capital letter followed by <Return>,\n" +
+            "so in order to display these instructions, simply type \"H + <Return>\"!\n" +
+            "You can simply hit <Return> to repeat the last command you entered.\n" +
+            "The " + command("Help") + " command requires arguments. The syntax is: \n" +
+            "\n" +
+            "M Source Destination (case insensitive)\n" +
+            "\n" +
+            "For example:\n" +
+            "\"M O SA\" moves the top card from the Stock to the top of Stack Pile A\n" +
+            "\"M SB F\" moves the top card from Stack Pile B to the end of Column F\n" +
+            "\n" +
+            "Dutch Patience rules: http://www.patiencespel.nl/patiencespelregels.php\n" +
+            "English Patience rules: http://digsolitaire.com/solitaire-rules.php\n";
+    }
+}
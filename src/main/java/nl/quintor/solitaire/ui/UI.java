@@ -4,6 +4,8 @@ import nl.quintor.solitaire.game.moves.Move;
 import nl.quintor.solitaire.models.state.GameState;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * The basic UI interface, which can be used to implement a suitable UI using any technology.
@@ -41,4 +43,36 @@ public interface UI{
      * @return String representation of the player request
      */
     String refreshAndRequestMove(GameState gameState, Collection<Move> moves);
-}
\ No newline at end of file
+
+    /**
+     * Signals to the UI implementation that the game state has changed, and that player input is expected. Returns all
+     * player requests that are available, for example commands that were typed ahead or piped in, so that they can be
+     * applied before the next refresh. The default implementation returns the single request of
+     * {@link #refreshAndRequestMove(GameState, Collection)}.
+     *
+     * @param gameState the game state to be visualized by the UI
+     * @param moves the moves that are possible in this game state
+     * @return String representations of the player requests, at least one
+     */
+    default List<String> refreshAndRequestMoves(GameState gameState, Collection<Move> moves) {
+        return Collections.singletonList(refreshAndRequestMove(gameState, moves));
+    }
+
+    /**
+     * Asks the player a yes/no question, for example whether to resume a saved game. The default implementation can't
+     * ask, and answers no.
+     *
+     * @param question question to show the player
+     * @return true if the player answered yes
+     */
+    default boolean requestConfirmation(String question) {
+        return false;
+    }
+
+    /**
+     * Releases the resources of the UI, for example by restoring the terminal settings. The last frame stays visible.
+     * The default implementation does nothing.
+     */
+    default void close() {
+    }
+}
@@ -2,40 +2,108 @@ package nl.quintor.solitaire.ui.cli;
 
 import nl.quintor.solitaire.game.moves.Move;
 import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.LatencyTracker;
+import nl.quintor.solitaire.ui.Terminal;
 import nl.quintor.solitaire.ui.UI;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Scanner;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Command line implementation of {@link UI}.
+ * Command line implementation of {@link UI}. Input is read on a background thread by an {@link InputReader}, so
+ * commands that are typed ahead or piped in are queued while the game is busy. Frames are rate-limited: while queued
+ * commands are waiting, the screen is redrawn at most once per {@value #MIN_FRAME_INTERVAL_MILLIS} ms. The screen is
+ * always redrawn before the UI waits for new input.
+ *
+ * <p>The time it takes to draw a frame, and the time from reading an input line to the end of the next frame, are
+ * recorded by the {@link LatencyTracker} of the session.
  */
 public class CommandLineUI implements UI{
     private static final String ANSI_RED = "\u001B[31m";
     private static final String ANSI_RESET = "\u001B[0m";
+    private static final long MIN_FRAME_INTERVAL_MILLIS = 50;
     private String message = "";
-    private Scanner reader = new Scanner(System.in);
+    private final LatencyTracker tracker;
+    private final InputReader reader;
+    private long lastFrame = 0;
+
+    /**
+     * Creates a UI with a latency tracker of its own.
+     */
+    public CommandLineUI() {
+        this(new LatencyTracker());
+    }
+
+    /**
+     * Creates a UI that records its latency in the provided tracker.
+     *
+     * @param tracker latency tracker of the session
+     */
+    public CommandLineUI(LatencyTracker tracker) {
+        this.tracker = tracker;
+        this.reader = new InputReader(System.in, tracker);
+    }
 
     public void setMessage(String message){
-        this.message = message;
+        this.message = message == null ? "" : message;
     }
 
     public void setErrorMessage(String message){
-        this.message = System.getProperty("os.name").contains("Windows") ? message : ANSI_RED + message + ANSI_RESET;
+        if (message == null) message = "";
+        this.message = Terminal.supportsAnsi() ? ANSI_RED + message + ANSI_RESET : message;
     }
 
     public void refresh(GameState gameState){
         clrscr();
         System.out.println(GameStateParser.parseGameState(gameState));
         if (message.length() != 0) System.out.println(message);
+        lastFrame = System.nanoTime();
     }
 
     public String refreshAndRequestMove(GameState gameState, Collection<Move> moves){
+        render(gameState, moves, true);
+        return reader.take();
+    }
+
+    /**
+     * Returns all queued player input. The screen is only redrawn if no input is queued, or if the previous frame is
+     * older than the minimum frame interval, so pasted or scripted command streams don't cause a redraw per command.
+     *
+     * @param gameState the game state to be visualized by the UI
+     * @param moves the moves that are possible in this game state
+     * @return queued player input, at least one line
+     */
+    @Override
+    public List<String> refreshAndRequestMoves(GameState gameState, Collection<Move> moves){
+        if (!reader.hasPending() || System.nanoTime() - lastFrame >= MIN_FRAME_INTERVAL_MILLIS * 1_000_000) {
+            render(gameState, moves, !reader.hasPending());
+        }
+        return reader.takeAll();
+    }
+
+    /**
+     * Asks the player a yes/no question and waits for the answer. Only an answer that starts with Y counts as yes.
+     *
+     * @param question question to show the player
+     * @return true if the player answered yes
+     */
+    @Override
+    public boolean requestConfirmation(String question){
+        System.out.println(question + " (Y/N)");
+        return reader.take().trim().toUpperCase().startsWith("Y");
+    }
+
+    /**
+     * Draws a frame: the game state, the possible moves and, if requested, the input prompt.
+     */
+    private void render(GameState gameState, Collection<Move> moves, boolean prompt){
+        long start = System.nanoTime();
         refresh(gameState);
         System.out.println(parseMoves(moves));
-        return requestMove();
+        if (prompt) System.out.println("What would you like to do?");
+        tracker.frameRendered(start);
     }
 
     /**
@@ -48,23 +116,13 @@ public class CommandLineUI implements UI{
         return moves.stream().map(Move::toString).collect(Collectors.joining(", "));
     }
 
-    /**
-     * Politely requests player input and returns it as a String.
-     *
-     * @return player input
-     */
-    private String requestMove(){
-        System.out.println("What would you like to do?");
-        return reader.nextLine();
-    }
-
     /**
      * Clears the screen. Differentiates between Windows and Linux/MacOS.
      */
     private static void clrscr(){
         //Clears Screen in java
         try {
-            if (System.getProperty("os.name").contains("Windows"))
+            if (Terminal.isWindows())
                 new ProcessBuilder("cmd", "/c", "cls").inheritIO().start().waitFor();
             else
                 System.out.print("\033\143");
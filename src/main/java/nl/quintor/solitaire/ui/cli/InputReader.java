@@ -0,0 +1,117 @@
+package nl.quintor.solitaire.ui.cli;
+
+import nl.quintor.solitaire.ui.LatencyTracker;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads player input lines on a background daemon thread and feeds them into a bounded queue, so that reading input
+ * is decoupled from rendering. When the queue is full, the reader thread waits for the game to catch up. At the end of
+ * the input (for example when a piped command script ends), {@link #END_OF_INPUT} is queued the same way, so it can't
+ * be lost when the game is behind.
+ *
+ * <p>Every line is timestamped when {@link Scanner#nextLine()} returns. The timestamps are handed to a
+ * {@link LatencyTracker} when the lines are taken, on the taking thread.
+ */
+class InputReader {
+    /**
+     * Line that is queued when the input ends: the quit command.
+     */
+    static final String END_OF_INPUT = "Q";
+    private static final int CAPACITY = 256;
+
+    private final BlockingQueue<Line> lines = new ArrayBlockingQueue<>(CAPACITY);
+    private final LatencyTracker tracker;
+
+    /**
+     * Starts reading the provided input stream on a new daemon thread, without a session latency tracker.
+     *
+     * @param in input stream to read lines from
+     */
+    InputReader(InputStream in) {
+        this(in, new LatencyTracker());
+    }
+
+    /**
+     * Starts reading the provided input stream on a new daemon thread.
+     *
+     * @param in input stream to read lines from
+     * @param tracker latency tracker that the read times of taken lines are handed to
+     */
+    InputReader(InputStream in, LatencyTracker tracker) {
+        this.tracker = tracker;
+        Thread thread = new Thread(() -> read(new Scanner(in)), "input-reader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void read(Scanner scanner) {
+        try {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                lines.put(new Line(line, System.nanoTime()));
+            }
+            lines.put(new Line(END_OF_INPUT, System.nanoTime()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if lines are waiting to be taken.
+     *
+     * @return true if {@link #takeAll()} would not block
+     */
+    boolean hasPending() {
+        return !lines.isEmpty();
+    }
+
+    /**
+     * Waits for the next line and returns it.
+     *
+     * @return next input line
+     */
+    String take() {
+        try {
+            return taken(lines.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return END_OF_INPUT;
+        }
+    }
+
+    /**
+     * Waits for the next line, and returns it together with all lines that were queued after it.
+     *
+     * @return at least one input line, in the order they were read
+     */
+    List<String> takeAll() {
+        List<String> result = new ArrayList<>();
+        result.add(take());
+        for (Line line; (line = lines.poll()) != null; ) result.add(taken(line));
+        return result;
+    }
+
+    private String taken(Line line) {
+        tracker.inputRead(line.readNanos);
+        return line.text;
+    }
+
+    /**
+     * Line of input and the time at which it was read.
+     */
+    private static class Line {
+        private final String text;
+        private final long readNanos;
+
+        private Line(String text, long readNanos) {
+            this.text = text;
+            this.readNanos = readNanos;
+        }
+    }
+}
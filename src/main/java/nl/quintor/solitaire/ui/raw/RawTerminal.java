@@ -0,0 +1,216 @@
+package nl.quintor.solitaire.ui.raw;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Terminal in raw mode: every keystroke is delivered as soon as it is typed, without echo and without waiting for
+ * &lt;Return&gt;. Raw mode is switched on and off with {@code stty}, so it is only available on Unix-like systems with
+ * a controlling terminal. The previous settings are restored on {@link #close()}, and by a shutdown hook if the JVM
+ * exits without closing the terminal.
+ *
+ * <p>Keystrokes are read and decoded on a background daemon thread into a bounded queue, so the UI never blocks on
+ * the terminal and can take all keys that were typed ahead at once. Arrow keys are decoded from their ANSI escape
+ * sequences.
+ */
+final class RawTerminal implements Closeable {
+    /**
+     * Key that is queued when the input ends.
+     */
+    static final int END_OF_INPUT = -1;
+    static final int ESCAPE = 27;
+    static final int UP = 0x10000;
+    static final int DOWN = 0x10001;
+    static final int RIGHT = 0x10002;
+    static final int LEFT = 0x10003;
+
+    private static final int CAPACITY = 256;
+
+    private final InputStream in;
+    private final PrintStream out;
+    private final int rows;
+    private final int columns;
+    private final String savedSettings;
+    private final BlockingQueue<Keystroke> keys = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Creates a terminal over the provided streams, and starts reading keys.
+     *
+     * @param in stream of keystrokes
+     * @param out stream the frames are written to
+     * @param rows height of the terminal
+     * @param columns width of the terminal
+     * @param savedSettings {@code stty} settings to restore on close, or null if the mode wasn't changed
+     */
+    RawTerminal(InputStream in, OutputStream out, int rows, int columns, String savedSettings) {
+        this.in = in;
+        this.out = new PrintStream(out, false, StandardCharsets.UTF_8);
+        this.rows = rows;
+        this.columns = columns;
+        this.savedSettings = savedSettings;
+        Thread thread = new Thread(this::read, "key-reader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Switches the controlling terminal of the process to raw mode.
+     *
+     * @return terminal reading from {@link System#in} and writing to {@link System#out}
+     * @throws IOException if there is no controlling terminal or its mode can't be changed
+     */
+    static RawTerminal open() throws IOException {
+        String saved = stty("-g");
+        String[] size = stty("size").split(" ");
+        stty("raw -echo");
+        RawTerminal terminal = new RawTerminal(System.in, System.out, Integer.parseInt(size[0]),
+            Integer.parseInt(size[1]), saved);
+        Runtime.getRuntime().addShutdownHook(new Thread(terminal::restore, "terminal-restore"));
+        terminal.write("\033[?25l\033[2J"); // hide the cursor and clear the screen
+        return terminal;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Waits for the next keystroke and returns it.
+     *
+     * @return next keystroke, {@link #END_OF_INPUT} if interrupted
+     */
+    Keystroke take() {
+        try {
+            return keys.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Keystroke(END_OF_INPUT, System.nanoTime());
+        }
+    }
+
+    /**
+     * Returns the next keystroke if one was typed, without waiting.
+     *
+     * @return next keystroke or null
+     */
+    Keystroke poll() {
+        return keys.poll();
+    }
+
+    /**
+     * Writes and flushes the provided output.
+     *
+     * @param output characters and escape codes
+     */
+    void write(CharSequence output) {
+        out.append(output);
+        out.flush();
+    }
+
+    /**
+     * Moves the cursor below the last frame, shows it and restores the terminal settings.
+     */
+    @Override
+    public void close() {
+        restore();
+    }
+
+    private void restore() {
+        if (closed.getAndSet(true)) return;
+        write("\033[0m\033[" + rows + ";1H\r\n\033[?25h");
+        if (savedSettings == null) return;
+        try {
+            stty(savedSettings);
+        } catch (IOException e) {
+            System.err.println("The terminal settings could not be restored, use the command 'reset': " + e.getMessage());
+        }
+    }
+
+    private void read() {
+        try {
+            try {
+                int b;
+                while ((b = in.read()) != -1) {
+                    long now = System.nanoTime();
+                    int key = b == ESCAPE ? escape() : b;
+                    if (key != 0) keys.put(new Keystroke(key, now));
+                }
+            } catch (IOException e) {
+                // a terminal that can't be read ends the input like the end of the stream
+            }
+            keys.put(new Keystroke(END_OF_INPUT, System.nanoTime()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Decodes the rest of an escape sequence. The bytes of a sequence arrive together, so a lone escape key is an
+     * escape without bytes available after it.
+     *
+     * @return decoded key, {@link #ESCAPE}, or 0 for sequences that are ignored
+     */
+    private int escape() throws IOException {
+        if (waitAvailable() == 0) return ESCAPE;
+        int b = in.read();
+        if (b != '[' && b != 'O') return 0;
+        switch (in.read()) {
+            case 'A': return UP;
+            case 'B': return DOWN;
+            case 'C': return RIGHT;
+            case 'D': return LEFT;
+            default: return 0;
+        }
+    }
+
+    private int waitAvailable() throws IOException {
+        int available = in.available();
+        try {
+            for (int i = 0; i < 5 && available == 0; i++) {
+                TimeUnit.MILLISECONDS.sleep(2);
+                available = in.available();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return available;
+    }
+
+    private static String stty(String arguments) throws IOException {
+        Process process = new ProcessBuilder("sh", "-c", "stty " + arguments + " < /dev/tty").redirectErrorStream(true).start();
+        try {
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).trim();
+            if (process.waitFor() != 0) throw new IOException("stty " + arguments + " failed: " + output);
+            return output;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running stty", e);
+        }
+    }
+
+    /**
+     * Key and the time at which it was read.
+     */
+    static final class Keystroke {
+        final int key;
+        final long readNanos;
+
+        Keystroke(int key, long readNanos) {
+            this.key = key;
+            this.readNanos = readNanos;
+        }
+    }
+}
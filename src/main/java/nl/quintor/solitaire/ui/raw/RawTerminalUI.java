@@ -0,0 +1,338 @@
+package nl.quintor.solitaire.ui.raw;
+
+import nl.quintor.solitaire.game.PlacementRules;
+import nl.quintor.solitaire.game.moves.Move;
+import nl.quintor.solitaire.models.card.Card;
+import nl.quintor.solitaire.models.card.Suit;
+import nl.quintor.solitaire.models.deck.Deck;
+import nl.quintor.solitaire.models.state.GameState;
+import nl.quintor.solitaire.ui.LatencyTracker;
+import nl.quintor.solitaire.ui.Terminal;
+import nl.quintor.solitaire.ui.UI;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Single-keystroke implementation of {@link UI} for Unix-like terminals. The terminal is put in raw mode, see
+ * {@link RawTerminal}, and the player selects cards with a cursor instead of typing commands:
+ *
+ * <ul>
+ *     <li>the arrow keys move the cursor over the piles, and over the face-up cards of a column
+ *     <li>&lt;Space&gt; or &lt;Return&gt; picks up the cards under the cursor, and drops them on the pile under the
+ *     cursor the second time; &lt;Esc&gt; puts them back
+ *     <li>S moves the card under the cursor to the stack pile that accepts it
+ *     <li>C, R, H and Q cycle the stock, revert, show the help and quit, like the commands of the
+ *     {@link nl.quintor.solitaire.ui.cli.CommandLineUI}
+ * </ul>
+ *
+ * Cursor movements are handled by the UI itself and redrawn at once; completed actions are translated into the
+ * command lines that {@link nl.quintor.solitaire.Main} understands, for example "M B3 SA". Frames are drawn through a
+ * {@link ScreenBuffer}, so only the cells that changed are sent to the terminal. Keystroke-to-frame latency is recorded
+ * by the {@link LatencyTracker} of the session.
+ */
+public class RawTerminalUI implements UI {
+    private static final String[] PILES = {"O", "SA", "SB", "SC", "SD", "A", "B", "C", "D", "E", "F", "G"};
+    private static final int FIRST_COLUMN = 5;
+    private static final int SLOT_WIDTH = 7;
+    private static final int COLUMNS_TOP = 6;
+    private static final String EMPTY = "[   ]";
+    private static final String HIDDEN = Terminal.supportsUnicode() ? "░░░" : "###";
+    private static final String KEYS = "Arrows move  Space pick up/drop  Esc cancel  S to stack  "
+        + "C cycle  R revert  H help  Q quit";
+
+    private final RawTerminal terminal;
+    private final LatencyTracker tracker;
+    private final ScreenBuffer screen;
+    private final StringBuilder output = new StringBuilder();
+    private final Deque<String> pending = new ArrayDeque<>();
+    private GameState gameState;
+    private String message = "";
+    private boolean error = false;
+    private int cursorPile = 0;
+    private int cursorRow = 0;
+    private int selectedPile = -1;
+    private int selectedRow = 0;
+
+    /**
+     * Creates a UI on the provided terminal.
+     *
+     * @param terminal terminal in raw mode
+     * @param tracker latency tracker of the session
+     */
+    RawTerminalUI(RawTerminal terminal, LatencyTracker tracker) {
+        this.terminal = terminal;
+        this.tracker = tracker;
+        this.screen = new ScreenBuffer(terminal.getRows(), terminal.getColumns());
+    }
+
+    /**
+     * Switches the terminal to raw mode and creates a UI on it. Call {@link #close()} to restore the terminal.
+     *
+     * @param tracker latency tracker of the session
+     * @return UI
+     * @throws IOException if the terminal doesn't support raw mode
+     */
+    public static RawTerminalUI open(LatencyTracker tracker) throws IOException {
+        return new RawTerminalUI(RawTerminal.open(), tracker);
+    }
+
+    @Override
+    public void setMessage(String message) {
+        this.message = message == null ? "" : message;
+        this.error = false;
+    }
+
+    @Override
+    public void setErrorMessage(String message) {
+        setMessage(message);
+        this.error = true;
+    }
+
+    @Override
+    public void refresh(GameState gameState) {
+        this.gameState = gameState;
+        draw();
+    }
+
+    @Override
+    public String refreshAndRequestMove(GameState gameState, Collection<Move> moves) {
+        if (pending.isEmpty()) pending.addAll(refreshAndRequestMoves(gameState, moves));
+        return pending.poll();
+    }
+
+    /**
+     * Redraws the screen and handles keystrokes until at least one of them completes a command. All keystrokes that
+     * were typed ahead are handled before the commands are returned.
+     *
+     * @param gameState the game state to be visualized by the UI
+     * @param moves the moves that are possible in this game state
+     * @return command lines, at least one
+     */
+    @Override
+    public List<String> refreshAndRequestMoves(GameState gameState, Collection<Move> moves) {
+        this.gameState = gameState;
+        List<String> commands = new ArrayList<>();
+        while (commands.isEmpty()) {
+            draw();
+            RawTerminal.Keystroke keystroke = terminal.take();
+            do {
+                tracker.inputRead(keystroke.readNanos);
+                handle(keystroke.key, commands);
+            } while ((keystroke = terminal.poll()) != null);
+        }
+        return commands;
+    }
+
+    /**
+     * Asks the player a yes/no question and waits for a key. Only Y counts as yes.
+     *
+     * @param question question to show the player
+     * @return true if the player pressed Y
+     */
+    @Override
+    public boolean requestConfirmation(String question) {
+        setMessage(question + " (Y/N)");
+        draw();
+        int key = terminal.take().key;
+        setMessage("");
+        return key == 'y' || key == 'Y';
+    }
+
+    /**
+     * Restores the terminal. The last frame stays on the screen.
+     */
+    @Override
+    public void close() {
+        terminal.close();
+    }
+
+    /**
+     * Handles a single key: moves the cursor or the selection, or adds the command the key completes.
+     */
+    void handle(int key, List<String> commands) {
+        switch (key) {
+            case RawTerminal.UP: moveVertically(-1); break;
+            case RawTerminal.DOWN: moveVertically(1); break;
+            case RawTerminal.LEFT: moveHorizontally(-1); break;
+            case RawTerminal.RIGHT: moveHorizontally(1); break;
+            case ' ': case '\r': case '\n': pickUpOrDrop(commands); break;
+            case RawTerminal.ESCAPE: selectedPile = -1; setMessage(""); break;
+            case 's': case 'S': toStack(commands); break;
+            case 'c': case 'C': commands.add("C"); break;
+            case 'r': case 'R': case 'u': case 'U': commands.add("R"); break;
+            case 'h': case 'H': case '?': commands.add("H"); break;
+            case 'L': commands.add("L"); break;
+            case 'q': case 'Q': case 3: case 4: case RawTerminal.END_OF_INPUT: commands.add("Q"); break;
+            default: break;
+        }
+    }
+
+    private void moveVertically(int direction) {
+        if (cursorPile < FIRST_COLUMN) {
+            if (direction > 0) {
+                cursorPile = FIRST_COLUMN + slot(cursorPile);
+                cursorRow = Integer.MAX_VALUE; // clamped to the last card
+                clampCursor();
+            }
+            return;
+        }
+        Deck column = deck(cursorPile);
+        cursorRow += direction;
+        if (cursorRow < column.getInvisibleCards() || column.isEmpty()) {
+            int slot = cursorPile - FIRST_COLUMN;
+            cursorPile = slot < 3 ? 0 : slot - 2;
+            cursorRow = 0;
+        }
+        clampCursor();
+    }
+
+    private void moveHorizontally(int direction) {
+        int first = cursorPile < FIRST_COLUMN ? 0 : FIRST_COLUMN;
+        int last = cursorPile < FIRST_COLUMN ? FIRST_COLUMN - 1 : PILES.length - 1;
+        cursorPile = Math.max(first, Math.min(last, cursorPile + direction));
+        cursorRow = Integer.MAX_VALUE;
+        clampCursor();
+    }
+
+    private void pickUpOrDrop(List<String> commands) {
+        clampCursor();
+        if (selectedPile < 0) {
+            if (deck(cursorPile).isEmpty()) {
+                setErrorMessage("There is no card to pick up");
+                return;
+            }
+            selectedPile = cursorPile;
+            selectedRow = cursorRow;
+            setMessage("Picked up " + location(selectedPile, selectedRow) + ", move to a pile and press Space");
+            return;
+        }
+        if (cursorPile == selectedPile) {
+            selectedPile = -1;
+            setMessage("");
+        } else if (cursorPile == 0) {
+            setErrorMessage("You can't move cards to the stock");
+        } else {
+            commands.add("M " + location(selectedPile, selectedRow) + " " + PILES[cursorPile]);
+            selectedPile = -1;
+        }
+    }
+
+    /**
+     * Moves the card under the cursor to the first stack pile that accepts it.
+     */
+    private void toStack(List<String> commands) {
+        clampCursor();
+        Deck source = deck(cursorPile);
+        if (source.isEmpty()) return;
+        if (cursorRow != source.size() - 1 && cursorPile >= FIRST_COLUMN) {
+            setErrorMessage("Only the last card of a column can go to a stack pile");
+            return;
+        }
+        Card card = source.get(source.size() - 1);
+        for (int pile = 1; pile < FIRST_COLUMN; pile++) {
+            if (pile != cursorPile && PlacementRules.KLONDIKE.accepts(deck(pile), card)) {
+                commands.add("M " + location(cursorPile, cursorRow) + " " + PILES[pile]);
+                selectedPile = -1;
+                return;
+            }
+        }
+        setErrorMessage("No stack pile accepts " + card.toShortString());
+    }
+
+    /**
+     * Keeps the cursor on a face-up card of its pile, or on row 0 of an empty pile.
+     */
+    private void clampCursor() {
+        if (cursorPile < FIRST_COLUMN || gameState == null) {
+            cursorRow = 0;
+            return;
+        }
+        Deck column = deck(cursorPile);
+        cursorRow = column.isEmpty() ? 0 : Math.max(column.getInvisibleCards(), Math.min(column.size() - 1, cursorRow));
+    }
+
+    private String location(int pile, int row) {
+        return pile < FIRST_COLUMN ? PILES[pile] : PILES[pile] + row;
+    }
+
+    private Deck deck(int pile) {
+        if (pile == 0) return gameState.getStock();
+        if (pile < FIRST_COLUMN) return gameState.getStackPiles().get(PILES[pile]);
+        return gameState.getColumns().get(PILES[pile]);
+    }
+
+    /**
+     * Returns the horizontal slot of a pile: the stock is above column A, the stack piles above columns D to G.
+     */
+    private static int slot(int pile) {
+        if (pile == 0) return 0;
+        return pile < FIRST_COLUMN ? pile + 2 : pile - FIRST_COLUMN;
+    }
+
+    /**
+     * Draws the current frame and sends the changed cells to the terminal.
+     */
+    void draw() {
+        long start = System.nanoTime();
+        screen.clear();
+        int row = COLUMNS_TOP;
+        if (gameState != null) {
+            clampCursor();
+            screen.put(0, 0, "Score " + gameState.getScore() + "   Moves " + gameState.getMoves().size()
+                + "   Stock cycles " + gameState.getStockCycles() + "   Deal " + gameState.getSeed(), 0);
+            for (int pile = 0; pile < FIRST_COLUMN; pile++) {
+                drawHeader(2, pile);
+                drawCard(3, pile, deck(pile).size() - 1);
+            }
+            screen.put(3, 1 + SLOT_WIDTH, "(" + gameState.getWaste().size() + ")", 0); // face-down waste, right of the stock
+            for (int pile = FIRST_COLUMN; pile < PILES.length; pile++) {
+                drawHeader(COLUMNS_TOP - 1, pile);
+                Deck column = deck(pile);
+                if (column.isEmpty()) drawCard(COLUMNS_TOP, pile, -1);
+                for (int i = 0; i < column.size(); i++) drawCard(COLUMNS_TOP + i, pile, i);
+                row = Math.max(row, COLUMNS_TOP + column.size());
+            }
+        }
+        for (String line : message.split("\n", -1)) screen.put(++row, 0, line, error ? ScreenBuffer.RED : 0);
+        screen.put(screen.getRows() - 1, 0, KEYS, 0);
+
+        output.setLength(0);
+        screen.flush(output);
+        terminal.write(output);
+        tracker.frameRendered(start);
+    }
+
+    private void drawHeader(int row, int pile) {
+        screen.put(row, x(pile) + 1, PILES[pile], 0);
+    }
+
+    /**
+     * Draws a card of a pile, or the empty pile if the index is negative.
+     */
+    private void drawCard(int row, int pile, int index) {
+        Deck deck = deck(pile);
+        int style = 0;
+        boolean cursor = pile == cursorPile && (pile < FIRST_COLUMN || index == cursorRow || index < 0);
+        if (cursor) style |= ScreenBuffer.REVERSE;
+        if (pile == selectedPile && (pile < FIRST_COLUMN || index >= selectedRow)) style |= ScreenBuffer.UNDERLINE;
+        if (index < 0) {
+            screen.put(row, x(pile), EMPTY, style);
+        } else if (index < deck.getInvisibleCards()) {
+            screen.put(row, x(pile), " " + HIDDEN + " ", 0);
+        } else {
+            Card card = deck.get(index);
+            boolean red = card.getSuit() == Suit.HEARTS || card.getSuit() == Suit.DIAMONDS;
+            String label = " " + card.toShortString() + " ";
+            screen.put(row, x(pile), label.length() < EMPTY.length() ? label + " " : label, red ? style | ScreenBuffer.RED : style);
+        }
+    }
+
+    private static int x(int pile) {
+        return 1 + slot(pile) * SLOT_WIDTH;
+    }
+}
@@ -0,0 +1,146 @@
+package nl.quintor.solitaire.ui.raw;
+
+import java.util.Arrays;
+
+/**
+ * Double-buffered character grid for drawing frames in a terminal with ANSI escape codes. A frame is drawn into the
+ * buffer with {@link #clear()} and {@link #put(int, int, String, int)}; {@link #flush(StringBuilder)} then writes only
+ * the cells that differ from the previous frame, with cursor movements and style changes in between. Moving a
+ * selection cursor therefore costs a few dozen bytes instead of a full screen, which is what keeps the game responsive
+ * over slow or high-latency connections.
+ */
+final class ScreenBuffer {
+    /**
+     * Style flag: red text.
+     */
+    static final int RED = 1;
+
+    /**
+     * Style flag: reversed foreground and background.
+     */
+    static final int REVERSE = 2;
+
+    /**
+     * Style flag: underlined text.
+     */
+    static final int UNDERLINE = 4;
+
+    private static final char UNKNOWN = '\0';
+    private static final int MAX_BRIDGE = 4; // a cursor movement takes at least 6 bytes
+
+    private final int rows;
+    private final int columns;
+    private final char[] next;
+    private final byte[] nextStyles;
+    private final char[] shown;
+    private final byte[] shownStyles;
+
+    /**
+     * Creates a buffer of the provided size. The first flush draws the whole screen.
+     *
+     * @param rows number of rows
+     * @param columns number of columns
+     */
+    ScreenBuffer(int rows, int columns) {
+        if (rows < 1 || columns < 1) throw new IllegalArgumentException("rows >= 1 and columns >= 1");
+        this.rows = rows;
+        this.columns = columns;
+        this.next = new char[rows * columns];
+        this.nextStyles = new byte[rows * columns];
+        this.shown = new char[rows * columns];
+        this.shownStyles = new byte[rows * columns];
+        clear();
+        invalidate();
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Empties the next frame.
+     */
+    void clear() {
+        Arrays.fill(next, ' ');
+        Arrays.fill(nextStyles, (byte) 0);
+    }
+
+    /**
+     * Forgets what is on the screen, so the next flush draws every cell.
+     */
+    void invalidate() {
+        Arrays.fill(shown, UNKNOWN);
+    }
+
+    /**
+     * Draws text in the next frame. Text that falls outside the screen is clipped; line breaks end the text.
+     *
+     * @param row row, 0 is the top row
+     * @param column column, 0 is the leftmost column
+     * @param text text to draw
+     * @param style combination of the style flags
+     * @return the column after the text
+     */
+    int put(int row, int column, String text, int style) {
+        if (row < 0 || row >= rows) return column + text.length();
+        for (int i = 0; i < text.length(); i++, column++) {
+            char c = text.charAt(i);
+            if (c == '\n') break;
+            if (column < 0 || column >= columns) continue;
+            next[row * columns + column] = c < ' ' ? ' ' : c;
+            nextStyles[row * columns + column] = (byte) style;
+        }
+        return column;
+    }
+
+    /**
+     * Appends the escape codes and characters that turn the screen from the previous frame into the next frame to the
+     * provided builder, and makes the next frame the shown frame.
+     *
+     * @param out builder to append the terminal output to
+     * @return number of cells that changed
+     */
+    int flush(StringBuilder out) {
+        int changed = 0;
+        int cursor = -1; // cell the terminal cursor is at, -1 if unknown
+        int style = -1;
+        for (int cell = 0; cell < next.length; cell++) {
+            if (next[cell] == shown[cell] && nextStyles[cell] == shownStyles[cell]) continue;
+            if (cell != cursor && !bridge(out, cursor, cell, style)) {
+                out.append("\033[").append(cell / columns + 1).append(';').append(cell % columns + 1).append('H');
+            }
+            if (nextStyles[cell] != style) {
+                style = nextStyles[cell];
+                out.append("\033[0");
+                if ((style & RED) != 0) out.append(";31");
+                if ((style & REVERSE) != 0) out.append(";7");
+                if ((style & UNDERLINE) != 0) out.append(";4");
+                out.append('m');
+            }
+            out.append(next[cell]);
+            shown[cell] = next[cell];
+            shownStyles[cell] = nextStyles[cell];
+            cursor = (cell + 1) % columns == 0 ? -1 : cell + 1; // terminals don't wrap reliably at the last column
+            changed++;
+        }
+        if (style > 0) out.append("\033[0m");
+        return changed;
+    }
+
+    /**
+     * Rewrites a short run of unchanged cells between the cursor and the next changed cell on the same row, when that
+     * is shorter than moving the cursor.
+     *
+     * @return true if the cursor is now at the changed cell
+     */
+    private boolean bridge(StringBuilder out, int cursor, int cell, int style) {
+        if (cursor < 0 || cell - cursor > MAX_BRIDGE || cell / columns != cursor / columns) return false;
+        for (int i = cursor; i < cell; i++) if (shownStyles[i] != style) return false;
+        out.append(shown, cursor, cell - cursor);
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package nl.quintor.solitaire.analytics
+
+import nl.quintor.solitaire.corpus.Difficulty
+import spock.lang.Specification
+import spock.lang.Unroll
+
+
+class ResultAggregatorSpec extends Specification {
+
+    @Unroll
+    def "LogHistogram percentile #percentile should be within 1/16 of the exact value"() {
+        given:
+            def histogram = new LogHistogram()
+            (1..100_000).each { histogram.record(it) }
+        expect:
+            Math.abs(histogram.getPercentile(percentile) - exact) <= exact / 16
+        where:
+            percentile | exact
+            50         | 50_000
+            90         | 90_000
+            99         | 99_000
+            100        | 100_000
+    }
+
+    def "LogHistogram buckets should be contiguous"() {
+        expect:
+            (0..<900).every { LogHistogram.bucket(LogHistogram.upperBound(it)) == it && LogHistogram.bucket(LogHistogram.upperBound(it) + 1) == it + 1 }
+    }
+
+    def "merged aggregators should equal a single aggregator of all results"() {
+        given:
+            def results = (0..<1000).collect {
+                new GameResult(it, Difficulty.values()[it % 4], it % 2 == 0 ? "Greedy" : "Random", it % 3 == 0, it % 200,
+                    it * 10L, it % 700, it % 5)
+            }
+            def single = new ResultAggregator()
+            results.each { single.accept(it) }
+            def first = new ResultAggregator()
+            def second = new ResultAggregator()
+            results[0..<400].each { first.accept(it) }
+            results[400..<1000].each { second.accept(it) }
+        when:
+            def merged = first.merge(second)
+        then:
+            merged.total.games == 1000
+            merged.total.wins == single.total.wins
+            merged.getBucket(Difficulty.HARD).games == 250
+            merged.strategies.toList() == ["Greedy", "Random"]
+            merged.getStrategy("Greedy").games == 500
+            merged.getStrategy("Random").wins == single.getStrategy("Random").wins
+            merged.getStrategy("Human").games == 0
+            merged.total.moves.getPercentile(90) == single.total.moves.getPercentile(90)
+            merged.total.durationMillis.mean == single.total.durationMillis.mean
+            merged.total.score.max == 699
+    }
+
+    def "GameResult should survive a round trip through its line format, and read lines without a strategy"() {
+        given:
+            def result = new GameResult(-42L, Difficulty.EASY, "Greedy", true, 120, 35000L, 1500L, 2)
+        expect:
+            GameResult.parse(result.toString()).toString() == "-42,EASY,Greedy,true,120,35000,1500,2"
+            GameResult.parse("-42,EASY,true,120,35000,1500,2").toString() == "-42,EASY,,true,120,35000,1500,2"
+    }
+}
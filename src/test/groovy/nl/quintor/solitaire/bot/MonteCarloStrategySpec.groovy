@@ -0,0 +1,48 @@
+package nl.quintor.solitaire.bot
+
+import nl.quintor.solitaire.TestUtil
+import nl.quintor.solitaire.game.GameStateController
+import nl.quintor.solitaire.models.card.Card
+import nl.quintor.solitaire.models.card.Rank
+import nl.quintor.solitaire.models.card.Suit
+import spock.lang.Specification
+
+class MonteCarloStrategySpec extends Specification {
+
+    def "A copied game state is independent of the original" () {
+        given:
+            def gameState = GameStateController.init(3L)
+            gameState.baseScore = 15
+        when:
+            def copy = gameState.copy()
+            copy.columns["A"].clear()
+            copy.stock.add(new Card(Suit.HEARTS, Rank.ACE))
+        then:
+            gameState.columns["A"].size() == 1
+            gameState.stock.size() == 1
+            copy.columns["G"] == gameState.columns["G"]
+            copy.columns["G"].invisibleCards == 6
+            copy.baseScore == 15
+            copy.seed == 3L
+    }
+
+    def "The strategy chooses one of the legal moves without changing the game" () {
+        given:
+            def gameState = TestUtil.createFixedNewGame()
+            def legalMoves = LegalMoves.of(gameState)
+            def columns = gameState.columns.collectEntries { key, deck -> [key, new ArrayList(deck)] }
+        when:
+            def move = new MonteCarloStrategy(2, 10).choose(new GameStateView(gameState), legalMoves)
+        then:
+            legalMoves.contains(move)
+            gameState.columns == columns
+            gameState.moves.isEmpty()
+    }
+
+    def "A rollout budget below one is rejected" () {
+        when:
+            new MonteCarloStrategy(0, 10)
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
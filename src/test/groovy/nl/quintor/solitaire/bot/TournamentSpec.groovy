@@ -0,0 +1,69 @@
+package nl.quintor.solitaire.bot
+
+import nl.quintor.solitaire.TestUtil
+import nl.quintor.solitaire.analytics.GameResult
+import nl.quintor.solitaire.corpus.DealCorpus
+import nl.quintor.solitaire.corpus.DealCorpusWriter
+import nl.quintor.solitaire.corpus.DealIndex
+import nl.quintor.solitaire.corpus.Difficulty
+import nl.quintor.solitaire.corpus.Solvability
+import nl.quintor.solitaire.game.moves.CycleStock
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class TournamentSpec extends Specification {
+
+    def "Legal moves of a fixed game contain the expected card moves and a stock cycle" () {
+        given:
+            def gameState = TestUtil.createFixedNewGame()
+        when:
+            def moves = LegalMoves.of(gameState)
+        then:
+            moves.findAll { it instanceof CycleStock }.size() == 1
+            moves.collect { it.hasProperty("source") ? it.source + " " + it.destination : "C" }.containsAll(["B1 A", "C2 SA", "D3 SB", "O F"])
+            moves.every { !(it.hasProperty("source")) || !it.source.startsWith("B0") }
+    }
+
+    def "The view hides face-down cards and can't be modified" () {
+        given:
+            def view = new GameStateView(TestUtil.createFixedNewGame())
+        when:
+            view.getVisibleCards("C").clear()
+        then:
+            thrown(UnsupportedOperationException)
+            view.getVisibleCards("C").size() == 1
+            view.getInvisibleCards("C") == 2
+            view.wasteSize == 1
+    }
+
+    def "Every registered strategy plays every deal" () {
+        when:
+            def stats = Tournament.ofRegisteredStrategies().run(0L, 4)
+        then:
+            stats*.name == ["Random", "Greedy"]
+            stats.every { it.games == 4 && it.averageMoves > 0 }
+    }
+
+    def "Results name the strategy and carry the difficulty of the deal from the index" () {
+        given:
+            def corpusPath = Files.createTempDirectory("tournament").resolve("deals.corpus")
+            DealCorpusWriter.write(corpusPath, 0L, 2L)
+            def corpus = DealCorpus.open(corpusPath)
+            def index = DealIndex.create(DealIndex.pathFor(corpusPath), 2L)
+            index.set(1L, Solvability.SOLVABLE, Difficulty.HARD)
+            def tournament = Tournament.ofRegisteredStrategies()
+            def results = Collections.synchronizedList(new ArrayList<GameResult>())
+        when:
+            tournament.setDealIndex(corpus, index)
+            tournament.setResultListener { results << it }
+            tournament.run(0L, 3)
+        then:
+            results.size() == 6
+            results.collect { it.strategy }.toSet() == ["Random", "Greedy"].toSet()
+            results.every { it.difficulty == [Difficulty.UNRATED, Difficulty.HARD, Difficulty.UNRATED][(int) it.seed] }
+        cleanup:
+            corpus?.close()
+            index?.close()
+    }
+}
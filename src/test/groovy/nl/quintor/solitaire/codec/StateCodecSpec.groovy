@@ -0,0 +1,105 @@
+package nl.quintor.solitaire.codec
+
+import nl.quintor.solitaire.game.GameStateController
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+
+class StateCodecSpec extends Specification {
+
+    @Unroll
+    def "#encoder.class.simpleName encodings should decode to the same game"() {
+        given:
+            def gameState = GameStateController.init(42)
+            gameState.setBaseScore(-15)
+            gameState.setTimeScore(-2)
+            gameState.setStockCycles(3)
+            gameState.setGameLost(true)
+        when:
+            def length = encoder.encode(gameState)
+            def decoded = decoder.decode(encoder.getBuffer(), 0, length)
+        then:
+            decoded.getSeed() == 42
+            decoded.getDrawCount() == gameState.getDrawCount()
+            decoded.getBaseScore() == -15
+            decoded.getTimeScore() == -2
+            decoded.getStockCycles() == 3
+            decoded.isGameLost()
+            !decoded.isGameWon()
+            decoded.getStock() == gameState.getStock()
+            decoded.getWaste() == gameState.getWaste()
+            decoded.getStackPiles() == gameState.getStackPiles()
+            decoded.getColumns() == gameState.getColumns()
+            decoded.getColumns().values()*.getInvisibleCards() == gameState.getColumns().values()*.getInvisibleCards()
+        where:
+            encoder                  | decoder
+            new BinaryStateEncoder() | new BinaryStateDecoder()
+            new JsonStateEncoder()   | new JsonStateDecoder()
+    }
+
+    @Unroll
+    def "#encoder.class.simpleName should hide the face-down cards when asked to"() {
+        given:
+            def gameState = GameStateController.init(7)
+        when:
+            encoder.encode(gameState)
+            def decoded = decoder.decode(encoder.toByteArray())
+        then:
+            decoded.getStock() == gameState.getStock()
+            decoded.getWaste().size() == gameState.getWaste().size()
+            decoded.getWaste().every { it == null }
+            decoded.getColumns().get("G").getInvisibleCards() == 6
+            decoded.getColumns().get("G").subList(0, 6).every { it == null }
+            decoded.getColumns().get("G").get(6) == gameState.getColumns().get("G").get(6)
+        where:
+            encoder                      | decoder
+            new BinaryStateEncoder(true) | new BinaryStateDecoder()
+            new JsonStateEncoder(true)   | new JsonStateDecoder()
+    }
+
+    def "the JSON encoding should be a compact document with labelled cards"() {
+        given:
+            def encoder = new JsonStateEncoder()
+            def gameState = GameStateController.init(3)
+        when:
+            encoder.encode(gameState)
+            def json = new String(encoder.toByteArray(), StandardCharsets.US_ASCII)
+        then:
+            json.startsWith('{"seed":3,"drawCount":' + gameState.getDrawCount() + ',"baseScore":0,')
+            json ==~ /.*"piles":\{"stock":\{"invisible":0,"cards":\["(10|[2-9JQKA])[CDHS]"\]}.*/
+    }
+
+    def "encoders should reuse their buffer"() {
+        given:
+            def encoder = new BinaryStateEncoder()
+            encoder.encode(GameStateController.init(1))
+            def buffer = encoder.getBuffer()
+        when:
+            encoder.encode(GameStateController.init(2))
+        then:
+            encoder.getBuffer().is(buffer)
+    }
+
+    @Unroll
+    def "malformed input should be rejected: #text"() {
+        when:
+            new JsonStateDecoder().decode(text.getBytes(StandardCharsets.US_ASCII))
+        then:
+            thrown(IllegalArgumentException)
+        where:
+            text << ['', '{"seed":1', '{"colour":1}', '{"piles":{"H":{}}}', '{"piles":{"A":{"cards":["1S"]}}}',
+                     '{"piles":{"A":{"invisible":2,"cards":["AS"]}}}', '{"seed":1} x']
+    }
+
+    def "truncated binary encodings should be rejected"() {
+        given:
+            def encoder = new BinaryStateEncoder()
+            def length = encoder.encode(GameStateController.init(5))
+        when:
+            new BinaryStateDecoder().decode(encoder.getBuffer(), 0, length - 1)
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
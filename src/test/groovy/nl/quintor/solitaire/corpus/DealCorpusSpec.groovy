@@ -0,0 +1,63 @@
+package nl.quintor.solitaire.corpus
+
+import nl.quintor.solitaire.game.GameStateController
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class DealCorpusSpec extends Specification {
+
+    def "A deal read from the corpus equals the seeded deal" () {
+        given:
+            def path = Files.createTempFile("deals", ".bin")
+            DealCorpusWriter.write(path, 1000L, 50L)
+        when:
+            def corpus = DealCorpus.open(path)
+        then:
+            corpus.size() == 50
+            corpus.indexOf(1042L) == 42
+            corpus.indexOf(999L) == -1
+            with(corpus.get(42)) {
+                seed == 1042L
+                columns == GameStateController.init(1042L).columns
+                stock == GameStateController.init(1042L).stock
+                waste == GameStateController.init(1042L).waste
+            }
+        cleanup:
+            corpus?.close()
+            Files.deleteIfExists(path)
+    }
+
+    def "A seeded deal contains all 52 cards exactly once" () {
+        when:
+            def gameState = GameStateController.init(7L)
+            def cards = gameState.columns.values().flatten() + gameState.stock + gameState.waste
+        then:
+            cards.size() == 52
+            cards.toSet().size() == 52
+            gameState.columns["G"].invisibleCards == 6
+    }
+
+    def "The index streams only deals of the requested difficulty" () {
+        given:
+            def corpusPath = Files.createTempFile("deals", ".bin")
+            DealCorpusWriter.write(corpusPath, 0L, 10L)
+            def indexPath = DealIndex.pathFor(corpusPath)
+            def index = DealIndex.create(indexPath, 10L)
+            index.set(3, Solvability.SOLVABLE, Difficulty.HARD)
+            index.set(7, Solvability.UNSOLVABLE, Difficulty.HARD)
+            index.close()
+        when:
+            def corpus = DealCorpus.open(corpusPath)
+            index = DealIndex.open(indexPath)
+        then:
+            index.getSolvability(3) == Solvability.SOLVABLE
+            index.getDifficulty(0) == Difficulty.UNRATED
+            corpus.stream(index.indices(Difficulty.HARD)).collect { it.seed } == [3L, 7L]
+        cleanup:
+            corpus?.close()
+            index?.close()
+            Files.deleteIfExists(corpusPath)
+            Files.deleteIfExists(indexPath)
+    }
+}
@@ -0,0 +1,42 @@
+package nl.quintor.solitaire.fuzz
+
+import nl.quintor.solitaire.game.GameStateController
+import spock.lang.Specification
+
+
+class EngineFuzzerSpec extends Specification {
+
+    def "fuzzing should not break any engine invariants"() {
+        given:
+            def fuzzer = new EngineFuzzer(300)
+        when:
+            fuzzer.fuzz(0L, 200, 2)
+        then:
+            noExceptionThrown()
+            fuzzer.commands > 20_000
+    }
+
+    def "runs should be reproducible from their seed"() {
+        given:
+            def first = new EngineFuzzer(300)
+            def second = new EngineFuzzer(300)
+        when:
+            def trace = first.run(12L)
+            def repeated = second.run(12L)
+            def other = second.run(13L)
+            EngineFuzzer.replay(12L, trace)
+        then:
+            noExceptionThrown()
+            trace.size() == first.commands
+            repeated == trace
+            other != trace
+    }
+
+    def "invariant check should report a duplicate card"() {
+        given:
+            def gameState = GameStateController.init(3L)
+            gameState.stackPiles["SA"].add(gameState.stock[0])
+        expect:
+            Invariants.check(gameState, Invariants.decks(gameState)).startsWith("duplicate card")
+    }
+}
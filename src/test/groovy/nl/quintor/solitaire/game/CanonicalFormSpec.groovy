@@ -0,0 +1,51 @@
+package nl.quintor.solitaire.game
+
+import nl.quintor.solitaire.models.card.Card
+import nl.quintor.solitaire.models.card.Rank
+import nl.quintor.solitaire.models.card.Suit
+import spock.lang.Specification
+
+class CanonicalFormSpec extends Specification {
+
+    def "Positions that only differ in the order of the columns and stack piles have the same canonical hash" () {
+        given:
+            def gameState = GameStateController.init(11L)
+            gameState.stackPiles.get("SC").add(new Card(Suit.HEARTS, Rank.ACE))
+            def swapped = gameState.copy()
+            def columnA = swapped.columns.get("A")
+            def columnG = swapped.columns.get("G")
+            def cardsA = new ArrayList(columnA)
+            def invisibleA = columnA.invisibleCards
+            columnA.clear(); columnA.addAll(columnG); columnA.invisibleCards = columnG.invisibleCards
+            columnG.clear(); columnG.addAll(cardsA); columnG.invisibleCards = invisibleA
+            swapped.stackPiles.get("SC").clear()
+            swapped.stackPiles.get("SA").add(new Card(Suit.HEARTS, Rank.ACE))
+        expect:
+            StateHash.of(gameState) != StateHash.of(swapped)
+            CanonicalForm.hash(gameState) == CanonicalForm.hash(swapped)
+            CanonicalForm.equivalent(gameState, swapped)
+    }
+
+    def "The canonical hash is the hash of the canonical form, and the canonical form is stable" () {
+        given:
+            def gameState = GameStateController.init(seed)
+            def canonical = CanonicalForm.of(gameState)
+        expect:
+            CanonicalForm.hash(gameState) == StateHash.of(canonical)
+            StateHash.of(CanonicalForm.of(canonical)) == StateHash.of(canonical)
+            canonical.columns.values()*.size().sort() == gameState.columns.values()*.size().sort()
+        where:
+            seed << [0L, 1L, 2L]
+    }
+
+    def "Different positions have different canonical hashes" () {
+        given:
+            def gameState = GameStateController.init(11L)
+            def other = gameState.copy()
+            other.columns.get("B").invisibleCards = 0
+        expect:
+            CanonicalForm.hash(gameState) != CanonicalForm.hash(other)
+            !CanonicalForm.equivalent(gameState, other)
+            CanonicalForm.hash(gameState) != CanonicalForm.hash(GameStateController.init(12L))
+    }
+}
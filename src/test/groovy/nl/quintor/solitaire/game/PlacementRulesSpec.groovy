@@ -0,0 +1,40 @@
+package nl.quintor.solitaire.game
+
+import nl.quintor.solitaire.models.card.Card
+import nl.quintor.solitaire.models.card.Rank
+import nl.quintor.solitaire.models.card.Suit
+import spock.lang.Specification
+
+class PlacementRulesSpec extends Specification {
+
+    def "The Klondike column table matches the alternating color, decreasing rank rule for all card pairs" () {
+        expect:
+            (0..<52).every { target ->
+                (0..<52).every { add ->
+                    def targetCard = new Card(target)
+                    def cardToAdd = new Card(add)
+                    def expected = CardMoveChecks.opposingColor(targetCard, cardToAdd) &&
+                        targetCard.rank.ordinal() - cardToAdd.rank.ordinal() == 1
+                    PlacementRules.KLONDIKE.acceptsOnColumn(targetCard, cardToAdd) == expected
+                }
+            }
+    }
+
+    def "The Klondike stack table accepts the same suit from Ace to King" () {
+        expect:
+            PlacementRules.KLONDIKE.acceptsOnStack(null, new Card(Suit.SPADES, Rank.ACE))
+            PlacementRules.KLONDIKE.acceptsOnStack(new Card(Suit.SPADES, Rank.ACE), new Card(Suit.SPADES, Rank.TWO))
+            PlacementRules.KLONDIKE.acceptsOnStack(new Card(Suit.SPADES, Rank.QUEEN), new Card(Suit.SPADES, Rank.KING))
+            !PlacementRules.KLONDIKE.acceptsOnStack(new Card(Suit.SPADES, Rank.KING), new Card(Suit.SPADES, Rank.ACE))
+            !PlacementRules.KLONDIKE.acceptsOnStack(new Card(Suit.SPADES, Rank.ACE), new Card(Suit.CLUBS, Rank.TWO))
+            !PlacementRules.KLONDIKE.acceptsOnStack(null, new Card(Suit.JOKER, Rank.JOKER_RED))
+    }
+
+    def "Rule variants supply their own tables" () {
+        given: "a variant in which empty columns accept any card"
+            def rules = new PlacementRules(new long[54], new long[54], 0L, (1L << 52) - 1)
+        expect:
+            rules.acceptsOnColumn(null, new Card(Suit.HEARTS, Rank.FIVE))
+            !rules.acceptsOnStack(null, new Card(Suit.HEARTS, Rank.ACE))
+    }
+}
@@ -89,6 +89,26 @@ class CycleStockSpec extends Specification {
 
     }
 
-
-
-}
\ No newline at end of file
+    def "Drawing three cards and reverting restores the stock, waste and cycle count" () {
+        given:
+            def gameState = TestUtil.createGameWithEmptyStockAndWaste()
+            gameState.drawCount = 3
+            gameState.stock.addAll(Deck.createDefaultDeck().subList(0, 2))
+            gameState.waste.addAll(Deck.createDefaultDeck().subList(2, 6))
+            def stock = new ArrayList(gameState.stock)
+            def waste = new ArrayList(gameState.waste)
+        when:
+            def moves = (1..3).collect { def move = new CycleStock(); move.apply(gameState); move }
+        then:
+            gameState.stockCycles == 1
+            gameState.baseScore == -100
+            gameState.stock.size() == 3
+        when:
+            moves.reverse().each { it.revert(gameState) }
+        then:
+            gameState.stock == stock
+            gameState.waste == waste
+            gameState.stockCycles == 0
+            gameState.baseScore == 0
+    }
+}
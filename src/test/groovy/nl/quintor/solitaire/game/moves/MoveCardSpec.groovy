@@ -1,13 +1,17 @@
 package nl.quintor.solitaire.game.moves
 
+import groovy.transform.CompileStatic
 import nl.quintor.solitaire.TestUtil
 import nl.quintor.solitaire.models.card.Card
 import nl.quintor.solitaire.models.card.Rank
 import nl.quintor.solitaire.models.card.Suit
+import nl.quintor.solitaire.models.state.GameState
 import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.lang.management.ManagementFactory
+
 
 class MoveCardSpec extends Specification {
 
@@ -47,4 +51,30 @@ class MoveCardSpec extends Specification {
             "M C2 SA"|"Moved [♧ 2] from C2 to SA"|"legal move from column to stack"
     }
 
-}
\ No newline at end of file
+    def "Applying and reverting a move allocates nothing but the result messages" (){
+        given:
+            def gameState = TestUtil.createFixedNewGame()
+            def moved = new MoveCard("M B1 A")
+            def messageLength = moved.apply(gameState).length() + moved.revert(gameState).length()
+            gameState.forget(moved)
+        when: "the moves are applied and reverted a second time, after the code has been compiled"
+            applyAndRevert(gameState, 20000)
+            def bytes = applyAndRevert(gameState, 20000)
+        then: "building a message takes at most a few copies of its UTF-16 characters"
+            bytes < 16 * messageLength
+    }
+
+    @CompileStatic
+    private static long applyAndRevert(GameState gameState, int count) {
+        MoveCard[] moves = new MoveCard[count]
+        for (int i = 0; i < count; i++) moves[i] = new MoveCard("M B1 A")
+        def threads = (com.sun.management.ThreadMXBean) ManagementFactory.threadMXBean
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().id)
+        for (int i = 0; i < count; i++) {
+            moves[i].apply(gameState)
+            moves[i].revert(gameState)
+            gameState.forget(moves[i])
+        }
+        (threads.getThreadAllocatedBytes(Thread.currentThread().id) - before).intdiv(count)
+    }
+}
@@ -91,4 +91,22 @@ class RevertMoveSpec extends Specification {
             }
     }
 
-}
\ No newline at end of file
+    def "A run of cards moved between columns is moved back in order" () {
+        given:
+            def gameState = TestUtil.createFixedNewGame()
+            new MoveCard().createInstance("M B1 A").apply(gameState)
+            gameState.columns["A"].add(new Card(Suit.DIAMONDS, Rank.JACK))
+            gameState.columns["G"].add(new Card(Suit.DIAMONDS, Rank.KING))
+            def columnA = new ArrayList(gameState.columns["A"])
+        when:
+            def result = new MoveCard().createInstance("M A1 G").apply(gameState)
+        then:
+            result == "Moved [♧ Q, ♦ J] from A1 to G"
+            gameState.columns["A"].size() == 1
+        when:
+            new Revert().createInstance("R").apply(gameState)
+        then:
+            gameState.columns["A"] == columnA
+            gameState.columns["G"].size() == 8
+    }
+}
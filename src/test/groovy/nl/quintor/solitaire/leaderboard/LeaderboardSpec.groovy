@@ -0,0 +1,89 @@
+package nl.quintor.solitaire.leaderboard
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+
+class LeaderboardSpec extends Specification {
+
+    def "top should return the best scores in order, earliest first on ties, and rank should count higher scores"() {
+        given:
+            def leaderboard = new Leaderboard(3)
+        when:
+            leaderboard.submit("a", 10, 1)
+            leaderboard.submit("b", 30, 2)
+            leaderboard.submit("c", 20, 3)
+            leaderboard.submit("d", 30, 4)
+            leaderboard.submit("e", 5, 5)
+        then:
+            leaderboard.size() == 3
+            leaderboard.top(10)*.getPlayer() == ["b", "d", "c"]
+            leaderboard.top(1)*.getPlayer() == ["b"]
+            leaderboard.rank(30) == 1
+            leaderboard.rank(25) == 3
+            leaderboard.rank(20) == 3
+            leaderboard.rank(1) == 4
+    }
+
+    def "concurrent submissions should keep exactly the best scores"() {
+        given:
+            def leaderboard = new Leaderboard(100)
+        when:
+            def threads = (0..<4).collect { t ->
+                Thread.start { (0..<2500).each { i -> leaderboard.submit("p" + t, i * 4 + t, i) } }
+            }
+            threads*.join()
+        then:
+            leaderboard.size() == 100
+            leaderboard.top(100)*.getScore() == (9999..9900).toList()
+    }
+
+    def "a reopened leaderboard should contain the persisted scores, and compaction should shrink the log"() {
+        given:
+            def log = Files.createTempDirectory("leaderboard").resolve("leaderboard.log")
+        when:
+            def leaderboard = Leaderboard.open(log, 10)
+            (0..<1000).each { leaderboard.submit("p", it, it) }
+            leaderboard.close()
+            def reopened = Leaderboard.open(log, 10)
+            def next = reopened.submit("q", 2000, 0)
+            reopened.close()
+        then:
+            reopened.getLastError() == null
+            reopened.top(10)*.getScore() == [2000] + (999..991).toList()
+            next.getSequence() == 1000
+            Files.size(log) < 100 * 50
+    }
+
+    def "a partial last record should be ignored and truncated"() {
+        given:
+            def log = Files.createTempDirectory("leaderboard").resolve("leaderboard.log")
+            def leaderboard = Leaderboard.open(log, 10)
+            leaderboard.submit("a", 1, 1)
+            leaderboard.submit("b", 2, 2)
+            leaderboard.close()
+            def bytes = Files.readAllBytes(log)
+            Files.write(log, Arrays.copyOf(bytes, bytes.length - 3))
+        when:
+            def reopened = Leaderboard.open(log, 10)
+            reopened.submit("c", 3, 3)
+            reopened.close()
+        then:
+            Leaderboard.open(log, 10).top(10)*.getPlayer() == ["c", "a"]
+    }
+
+    def "close should write the queued scores even if the thread is interrupted, and keep the interrupt"() {
+        given:
+            def log = Files.createTempDirectory("leaderboard").resolve("leaderboard.log")
+            def leaderboard = Leaderboard.open(log, 10)
+        when:
+            leaderboard.submit("a", 1, 1)
+            Thread.currentThread().interrupt()
+            leaderboard.close()
+            def interrupted = Thread.interrupted()
+        then:
+            interrupted
+            Leaderboard.open(log, 10).top(10)*.getPlayer() == ["a"]
+    }
+}
@@ -0,0 +1,42 @@
+package nl.quintor.solitaire.models.card
+
+import nl.quintor.solitaire.models.deck.Deck
+import spock.lang.Specification
+import spock.lang.Unroll
+
+
+class CardOrderSpec extends Specification {
+
+    @Unroll
+    def "counting sort in #order order should match a comparison sort"() {
+        given:
+            def deck = Deck.createDefaultDeckWithJokers()
+            Collections.shuffle(deck, new Random(order.ordinal()))
+            def expected = new ArrayList<Card>(deck)
+            expected.sort(true, order as Comparator<Card>)
+        when:
+            deck.sort(order)
+        then:
+            deck == expected
+        where:
+            order << CardOrder.values()
+    }
+
+    def "Klondike order should start with the aces and consider suits equal"() {
+        given:
+            def deck = new Deck([new Card(Suit.HEARTS, Rank.TWO), new Card(Suit.SPADES, Rank.ACE),
+                                 new Card(Suit.CLUBS, Rank.ACE), new Card(Suit.CLUBS, Rank.KING)])
+        expect:
+            deck.toComparativeString(CardOrder.KLONDIKE) ==
+                "[${card(Suit.SPADES, Rank.ACE)} = ${card(Suit.CLUBS, Rank.ACE)} < ${card(Suit.HEARTS, Rank.TWO)} < ${card(Suit.CLUBS, Rank.KING)}]"
+            deck.toComparativeString(CardOrder.SUIT_FIRST) ==
+                "[${card(Suit.CLUBS, Rank.ACE)} < ${card(Suit.CLUBS, Rank.KING)} < ${card(Suit.HEARTS, Rank.TWO)} < ${card(Suit.SPADES, Rank.ACE)}]"
+            deck.toComparativeString(CardOrder.RANK_FIRST) ==
+                "[${card(Suit.HEARTS, Rank.TWO)} < ${card(Suit.CLUBS, Rank.KING)} < ${card(Suit.CLUBS, Rank.ACE)} < ${card(Suit.SPADES, Rank.ACE)}]"
+            deck.toComparativeString(CardOrder.NATURAL) == deck.toComparativeString({ a, b -> a <=> b } as Comparator<Card>)
+    }
+
+    private static String card(Suit suit, Rank rank) {
+        new Card(suit, rank).toShortString()
+    }
+}
@@ -0,0 +1,66 @@
+package nl.quintor.solitaire.models.card
+
+import spock.lang.Specification
+
+
+class CardSetSpec extends Specification {
+
+    def "CardSet should behave like a Set of cards in ordinal order"() {
+        given:
+            def aceOfSpades = new Card(Suit.SPADES, Rank.ACE)
+            def twoOfClubs = new Card(Suit.CLUBS, Rank.TWO)
+            def set = new MutableCardSet([aceOfSpades, twoOfClubs, aceOfSpades]).toCardSet()
+        expect:
+            set.size() == 2
+            set.contains(new Card(Suit.SPADES, Rank.ACE))
+            !set.contains(new Card(Suit.HEARTS, Rank.ACE))
+            !set.contains("not a card")
+            set as List == [twoOfClubs, aceOfSpades]
+            set == [aceOfSpades, twoOfClubs] as Set
+            set.hashCode() == ([aceOfSpades, twoOfClubs] as Set).hashCode()
+    }
+
+    def "CardSet should be immutable"() {
+        when:
+            CardSet.STANDARD_DECK.add(new Card(0))
+        then:
+            thrown(UnsupportedOperationException)
+    }
+
+    def "set operations should combine the bits"() {
+        given:
+            def a = CardSet.ofBits(0b0110)
+            def b = CardSet.ofBits(0b1100)
+        expect:
+            a.union(b).bits == 0b1110
+            a.intersection(b).bits == 0b0100
+            a.minus(b).bits == 0b0010
+            CardSet.STANDARD_DECK.size() == 52
+            CardSet.ALL.containsAll(CardSet.STANDARD_DECK)
+            !CardSet.STANDARD_DECK.containsAll(CardSet.ALL)
+    }
+
+    def "MutableCardSet should add and remove cards, also through its iterator"() {
+        given:
+            def set = new MutableCardSet()
+        when:
+            def added = (0..<52).collect { set.add(it) }
+            def addedAgain = set.add(new Card(7))
+            set.removeAll(CardSet.ofBits(0xFF))
+            def iterator = set.iterator()
+            while (iterator.hasNext()) if (iterator.next().ordinal % 2 == 0) iterator.remove()
+        then:
+            added.every()
+            !addedAgain
+            set.size() == 22
+            set.every { it.ordinal % 2 == 1 && it.ordinal >= 8 }
+            set.toCardSet() == set
+    }
+
+    def "ofBits should reject bits above the Jokers"() {
+        when:
+            CardSet.ofBits(1L << 54)
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
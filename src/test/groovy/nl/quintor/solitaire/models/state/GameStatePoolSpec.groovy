@@ -0,0 +1,53 @@
+package nl.quintor.solitaire.models.state
+
+import nl.quintor.solitaire.game.GameStateController
+import spock.lang.Specification
+
+
+class GameStatePoolSpec extends Specification {
+
+    def "reset should deal the same cards as init with the same seed"() {
+        given:
+            def expected = GameStateController.init(42L)
+            def gameState = GameStateController.init(7L)
+            gameState.setGameWon(true)
+            gameState.setBaseScore(100)
+        when:
+            gameState.reset(42L)
+        then:
+            gameState.seed == 42L
+            !gameState.gameOver
+            gameState.score == 0
+            gameState.stock == expected.stock
+            gameState.waste == expected.waste
+            gameState.columns.every { header, deck ->
+                deck == expected.columns[header] && deck.invisibleCards == expected.columns[header].invisibleCards
+            }
+            gameState.stackPiles.values().every { it.isEmpty() }
+    }
+
+    def "acquire should reuse released GameState objects"() {
+        given:
+            def pool = new GameStatePool(1)
+            def first = pool.acquire(1L)
+        when:
+            pool.release(first)
+            def second = pool.acquire(2L)
+        then:
+            second.is(first)
+            second.seed == 2L
+            !pool.acquire(3L).is(first)
+    }
+
+    def "acquireCopy should return an independent copy"() {
+        given:
+            def pool = new GameStatePool(1)
+            def source = GameStateController.init(5L)
+        when:
+            def copy = pool.acquireCopy(source)
+            copy.columns["G"].clear()
+        then:
+            copy.stock == source.stock
+            source.columns["G"].size() == 7
+    }
+}
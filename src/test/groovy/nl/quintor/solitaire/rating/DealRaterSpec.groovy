@@ -0,0 +1,83 @@
+package nl.quintor.solitaire.rating
+
+import nl.quintor.solitaire.corpus.DealCorpus
+import nl.quintor.solitaire.corpus.DealCorpusWriter
+import nl.quintor.solitaire.corpus.DealIndex
+import nl.quintor.solitaire.corpus.Difficulty
+import nl.quintor.solitaire.corpus.Solvability
+import nl.quintor.solitaire.game.GameStateController
+import nl.quintor.solitaire.game.StateHash
+import nl.quintor.solitaire.solver.SolveCache
+import nl.quintor.solitaire.solver.SolveResult
+import nl.quintor.solitaire.solver.Solver
+import nl.quintor.solitaire.solver.TranspositionTable
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class DealRaterSpec extends Specification {
+
+    def rater = new DealRater(new Solver(new TranspositionTable(1 << 22), 20_000, Solver.DEFAULT_MAX_DEPTH))
+
+    def "A solvable deal is rated by its solution, an unsolved deal is unrated" () {
+        when:
+            def solvable = rater.rate(0L)
+            def unsolved = new DealRater(new Solver(new TranspositionTable(1 << 16), 10, 10)).rate(0L)
+        then:
+            solvable.result.solvability == Solvability.SOLVABLE
+            solvable.difficulty != Difficulty.UNRATED
+            solvable.score > 0 && solvable.score <= 100
+            solvable.unlockDelay > 0 && solvable.unlockDelay < 1
+            unsolved.difficulty == Difficulty.UNRATED
+            unsolved.score == 0
+    }
+
+    def "A cached unsolved result is reused, unless the budget of the search was smaller" () {
+        given:
+            def cache = SolveCache.open(Files.createTempDirectory("rating").resolve("solve.cache"), 64)
+            def hash = StateHash.of(GameStateController.init(1L))
+        when:
+            cache.put(hash, new SolveResult(Solvability.UNSOLVABLE, 0, 7))
+            def unsolvable = new DealRater(rater.solver, cache).rate(1L)
+            cache.put(hash, new SolveResult(Solvability.UNKNOWN, 0, 11))
+            def small = new DealRater(new Solver(new TranspositionTable(1 << 16), 10, 10), cache).rate(1L)
+            def large = new DealRater(rater.solver, cache).rate(1L)
+        then:
+            unsolvable.result == new SolveResult(Solvability.UNSOLVABLE, 0, 7)
+            small.result == new SolveResult(Solvability.UNKNOWN, 0, 11)
+            large.result == rater.rate(1L).result
+            cache.get(hash) == large.result
+        cleanup:
+            cache?.close()
+    }
+
+    def "Rating a range in parallel gives the same ratings as rating every deal" () {
+        when:
+            def ratings = rater.rateAll(0L, 8, 2)
+        then:
+            ratings*.seed == (0L..7L).toList()
+            ratings*.score == (0L..7L).collect { rater.rate(it).score }
+    }
+
+    def "Rating a corpus fills its index, which hands out deals of the requested difficulty" () {
+        given:
+            def corpusPath = Files.createTempDirectory("rating").resolve("deals.corpus")
+            DealCorpusWriter.write(corpusPath, 100L, 12L)
+            def corpus = DealCorpus.open(corpusPath)
+            def index = DealIndex.create(DealIndex.pathFor(corpusPath), corpus.size())
+        when:
+            def ratings = rater.rateAll(corpus, index, 2)
+        then:
+            ratings*.seed == (100L..111L).toList()
+            ratings.every { index.getDifficulty(corpus.indexOf(it.seed)) == it.difficulty }
+            ratings.every { index.getSolvability(corpus.indexOf(it.seed)) == it.result.solvability }
+            Difficulty.values().every { difficulty ->
+                def expected = ratings.findAll { it.difficulty == difficulty }*.seed
+                def picked = (0..<20).collect { index.random(difficulty, new Random(it)) }
+                expected.isEmpty() ? picked.every { !it.isPresent() } : picked.every { expected.contains(corpus.seed(it.getAsLong())) }
+            }
+        cleanup:
+            corpus?.close()
+            index?.close()
+    }
+}
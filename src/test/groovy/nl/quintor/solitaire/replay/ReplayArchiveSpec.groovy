@@ -0,0 +1,120 @@
+package nl.quintor.solitaire.replay
+
+import nl.quintor.solitaire.game.GameStateController
+import nl.quintor.solitaire.game.moves.CycleStock
+import nl.quintor.solitaire.game.moves.Help
+import nl.quintor.solitaire.game.moves.MoveCard
+import nl.quintor.solitaire.game.moves.Revert
+import nl.quintor.solitaire.models.state.GameState
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+
+
+class ReplayArchiveSpec extends Specification {
+
+    @Unroll
+    def "move code #code should round-trip to #input"() {
+        expect:
+            MoveCode.of(new MoveCard(input)) == code
+            MoveCode.toMove(code).getPlayerInput() == input
+        where:
+            input       | code
+            "M O SA"    | 2
+            "M SD G"    | 2 + 10 + 11 * 4
+            "M G18 A"   | 2 + 4 + 11 * (11 + 12 * 18)
+    }
+
+    def "cycles, reverts and moves that don't change the game should be coded"() {
+        expect:
+            MoveCode.of(new CycleStock()) == MoveCode.CYCLE
+            MoveCode.of(new Revert()) == MoveCode.REVERT
+            MoveCode.of(new Help()) == -1
+            MoveCode.toMove(MoveCode.CYCLE) instanceof CycleStock
+            MoveCode.toMove(MoveCode.REVERT) instanceof Revert
+            MoveCode.cardMove(MoveCode.SOURCES.length - 1, 99, MoveCode.DESTINATIONS.length - 1) < MoveCode.MAX_CODE
+    }
+
+    def "invalid move codes should be rejected"() {
+        when:
+            MoveCode.toMove(2 + 11 * 12) // row 1 of the stock
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def "replays read from an archive should reproduce the games"() {
+        given:
+            def path = Files.createTempDirectory("replays").resolve("games.sra")
+            def replays = (0..<50).collect { seed -> record(seed) }
+            def writer = new ReplayArchiveWriter(path, 256)
+        when:
+            replays.each { writer.append(it) }
+            writer.close()
+            def read = []
+            def reader = ReplayArchiveReader.open(path)
+            reader.forEach { read << it }
+            reader.close()
+        then:
+            read == replays
+            writer.getReplays() == 50
+            writer.getBytes() == Files.size(path)
+            !Files.exists(path.resolveSibling("games.sra.tmp"))
+            read.every { replay -> sameGame(replay.play(new GameState()), play(replay.getSeed())) }
+    }
+
+    def "damaged archives should be rejected"() {
+        given:
+            def path = Files.createTempDirectory("replays").resolve("games.sra")
+            def writer = new ReplayArchiveWriter(path)
+            writer.append(record(1))
+            writer.close()
+            def bytes = Files.readAllBytes(path)
+            bytes[bytes.length - 1] ^= 0x55
+            Files.write(path, bytes)
+            def reader = ReplayArchiveReader.open(path)
+        when:
+            reader.forEach { }
+        then:
+            thrown(IOException)
+        cleanup:
+            reader.close()
+    }
+
+    /**
+     * Plays a few moves of a game: cycles of the stock, each followed by a revert, a cycle, a help and a move of the
+     * stock card to the first column that accepts it.
+     */
+    private static GameState play(long seed, List played = []) {
+        def gameState = GameStateController.init(seed)
+        def apply = { move ->
+            move.apply(gameState)
+            played << move
+        }
+        6.times {
+            [new CycleStock(), new Revert(), new CycleStock(), new Help()].each(apply)
+            def column = ["A", "B", "C", "D", "E", "F", "G"].find { column ->
+                try {
+                    new MoveCard("M O " + column).apply(gameState.copy())
+                    true
+                } catch (ignored) {
+                    false
+                }
+            }
+            if (column != null) apply(new MoveCard("M O " + column))
+        }
+        gameState
+    }
+
+    private static Replay record(long seed) {
+        def played = []
+        def gameState = play(seed, played)
+        Replay.of(seed, gameState.getDrawCount(), played)
+    }
+
+    private static boolean sameGame(GameState replayed, GameState played) {
+        replayed.getStock() == played.getStock() && replayed.getWaste() == played.getWaste() &&
+            replayed.getColumns() == played.getColumns() && replayed.getBaseScore() == played.getBaseScore() &&
+            replayed.getStockCycles() == played.getStockCycles()
+    }
+}
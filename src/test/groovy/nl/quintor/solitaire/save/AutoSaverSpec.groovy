@@ -0,0 +1,88 @@
+package nl.quintor.solitaire.save
+
+import nl.quintor.solitaire.game.GameStateController
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+
+class AutoSaverSpec extends Specification {
+
+    def "load should restore the last submitted game, including the face-down cards"() {
+        given:
+            def file = Files.createTempDirectory("autosave").resolve("autosave.bin")
+            def gameState = GameStateController.init(42)
+            gameState.setBaseScore(15)
+            gameState.setStockCycles(2)
+            def autoSaver = new AutoSaver(file)
+        when:
+            autoSaver.submit(GameStateController.init(7))
+            autoSaver.submit(gameState)
+            autoSaver.close()
+            def restored = AutoSaver.load(file).get()
+        then:
+            autoSaver.getLastError() == null
+            restored.getSeed() == 42
+            restored.getBaseScore() == 15
+            restored.getStockCycles() == 2
+            restored.getStock() == gameState.getStock()
+            restored.getWaste() == gameState.getWaste()
+            restored.getColumns() == gameState.getColumns()
+            restored.getColumns().values()*.getInvisibleCards() == gameState.getColumns().values()*.getInvisibleCards()
+            !Files.exists(file.resolveSibling("autosave.bin.tmp"))
+    }
+
+    def "snapshots submitted faster than they can be written should be coalesced"() {
+        given:
+            def file = Files.createTempDirectory("autosave").resolve("autosave.bin")
+            def gameState = GameStateController.init(1)
+            def autoSaver = new AutoSaver(file)
+        when:
+            1000.times { autoSaver.submit(gameState) }
+            autoSaver.close()
+        then:
+            autoSaver.getWrites() >= 1
+            autoSaver.getWrites() < 1000
+            AutoSaver.load(file).isPresent()
+    }
+
+    def "load should ignore missing and damaged save files"() {
+        given:
+            def directory = Files.createTempDirectory("autosave")
+            def file = directory.resolve("autosave.bin")
+            def autoSaver = new AutoSaver(file)
+            autoSaver.submit(GameStateController.init(3))
+            autoSaver.close()
+            def bytes = Files.readAllBytes(file)
+            bytes[20] ^= 1
+            Files.write(file, bytes)
+        expect:
+            !AutoSaver.load(directory.resolve("missing.bin")).isPresent()
+            !AutoSaver.load(file).isPresent()
+    }
+
+    def "discard should delete the save file"() {
+        given:
+            def file = Files.createTempDirectory("autosave").resolve("autosave.bin")
+            def autoSaver = new AutoSaver(file)
+            autoSaver.submit(GameStateController.init(3))
+        when:
+            autoSaver.discard()
+        then:
+            !Files.exists(file)
+    }
+
+    def "close should write the last snapshot even if the thread is interrupted, and keep the interrupt"() {
+        given:
+            def file = Files.createTempDirectory("autosave").resolve("autosave.bin")
+            def autoSaver = new AutoSaver(file)
+        when:
+            autoSaver.submit(GameStateController.init(3))
+            Thread.currentThread().interrupt()
+            autoSaver.close()
+            def interrupted = Thread.interrupted()
+        then:
+            interrupted
+            AutoSaver.load(file).get().getSeed() == 3
+    }
+}
@@ -0,0 +1,73 @@
+package nl.quintor.solitaire.server
+
+import nl.quintor.solitaire.leaderboard.Leaderboard
+import spock.lang.Specification
+
+class GameServerSpec extends Specification {
+
+    def server = new GameServer(new InetSocketAddress("localhost", 0), new Leaderboard(10))
+
+    def setup() {
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop()
+    }
+
+    def "A game can be created, played and fetched by its session id"() {
+        when:
+            def created = request("POST", "/games?seed=5", null)
+            def id = (created.body =~ /"id":"([^"]+)"/)[0][1]
+            def moved = request("POST", "/games/$id/moves", '{"command":"c"}')
+            def fetched = request("GET", "/games/$id", null)
+        then:
+            created.status == 201
+            created.body.contains('"seed":5')
+            created.body.contains('"waste":{"invisible":0,"cards":[' + (["null"] * 23).join(",") + ']}')
+            created.body.contains('"A":{"invisible":0,"cards":["')
+            moved.status == 200
+            moved.body.contains('"message":"Stock card 2 out of 24, cycle 0"')
+            moved.body.contains('"moves":1')
+            fetched.status == 200
+            fetched.body == moved.body.replaceFirst(/,"message":"[^"]*"/, "")
+            server.sessionCount == 1
+    }
+
+    def "Illegal moves, unknown sessions and bad requests get error responses"() {
+        given:
+            def id = (request("POST", "/games", null).body =~ /"id":"([^"]+)"/)[0][1]
+        expect:
+            request("POST", "/games/$id/moves", "M SA A").status == 422
+            request("POST", "/games/$id/moves", "X").body == '{"error":"Unknown move played: X"}'
+            request("POST", "/games/$id/moves", '{"move":"C"}').status == 400
+            request("GET", "/games/unknown", null).status == 404
+            request("GET", "/games", null).status == 405
+            request("DELETE", "/games/$id", null).status == 204
+            request("GET", "/games/$id", null).status == 404
+    }
+
+    def "A reverted move restores the game, and the leaderboard is served"() {
+        given:
+            def id = (request("POST", "/games?seed=9", null).body =~ /"id":"([^"]+)"/)[0][1]
+            def before = request("GET", "/games/$id", null).body
+        when:
+            request("POST", "/games/$id/moves", "C")
+            request("POST", "/games/$id/moves", "R")
+        then:
+            request("GET", "/games/$id", null).body == before
+            request("GET", "/leaderboard?top=3", null).body == "[]"
+    }
+
+    private Map request(String method, String path, String body) {
+        def connection = (HttpURLConnection) new URL("http://localhost:${server.port}$path").openConnection()
+        connection.requestMethod = method
+        if (body != null) {
+            connection.doOutput = true
+            connection.outputStream.withCloseable { it.write(body.getBytes("UTF-8")) }
+        }
+        def status = connection.responseCode
+        def stream = status >= 400 ? connection.errorStream : connection.inputStream
+        [status: status, body: stream == null ? "" : stream.getText("UTF-8")]
+    }
+}
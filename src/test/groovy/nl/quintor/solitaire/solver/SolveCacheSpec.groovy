@@ -0,0 +1,97 @@
+package nl.quintor.solitaire.solver
+
+import nl.quintor.solitaire.corpus.Solvability
+import nl.quintor.solitaire.game.GameStateController
+import nl.quintor.solitaire.game.StateHash
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+import java.nio.file.Files
+
+class SolveCacheSpec extends Specification {
+
+    def "Stored results survive reopening the cache" () {
+        given:
+            def path = Files.createTempFile("solve", ".cache")
+            Files.delete(path)
+            def cache = SolveCache.open(path, 1024)
+            cache.put(42L, new SolveResult(Solvability.SOLVABLE, 117, 123456L))
+            cache.put(0L, new SolveResult(Solvability.UNSOLVABLE, 0, 99L))
+            cache.close()
+        when:
+            cache = SolveCache.open(path, 16)
+        then:
+            cache.capacity == 1024
+            cache.get(42L) == new SolveResult(Solvability.SOLVABLE, 117, 123456L)
+            cache.get(0L) == new SolveResult(Solvability.UNSOLVABLE, 0, 99L)
+            cache.get(43L) == null
+        cleanup:
+            cache?.close()
+            Files.deleteIfExists(path)
+    }
+
+    @Unroll
+    def "A cache file with capacity #capacity and #extraBytes extra bytes is rejected" () {
+        given:
+            def path = Files.createTempFile("solve", ".cache")
+            Files.delete(path)
+            SolveCache.open(path, 1024).close()
+            def bytes = Files.readAllBytes(path)
+            ByteBuffer.wrap(bytes).putInt(4, capacity)
+            Files.write(path, Arrays.copyOf(bytes, bytes.length + extraBytes))
+        when:
+            SolveCache.open(path, 16)
+        then:
+            thrown(IOException)
+            Files.size(path) == bytes.length + extraBytes
+        cleanup:
+            Files.deleteIfExists(path)
+        where:
+            capacity | extraBytes
+            1000     | 0
+            1 << 30  | 0
+            2048     | 0
+            1024     | 16
+            1024     | -16
+    }
+
+    def "The solver is only called on a cache miss" () {
+        given:
+            def path = Files.createTempFile("solve", ".cache")
+            Files.delete(path)
+            def cache = SolveCache.open(path, 64)
+            def gameState = GameStateController.init(5L)
+            def calls = 0
+            def solver = { calls++; new SolveResult(Solvability.SOLVABLE, 90, 1000L) }
+        when:
+            cache.getOrSolve(gameState, solver)
+            def result = cache.getOrSolve(GameStateController.init(5L), solver)
+        then:
+            calls == 1
+            result.solutionLength == 90
+            cache.get(StateHash.of(gameState)) == result
+        cleanup:
+            cache?.close()
+            Files.deleteIfExists(path)
+    }
+
+    def "Concurrent inserts from many threads are all stored" () {
+        given:
+            def path = Files.createTempFile("solve", ".cache")
+            Files.delete(path)
+            def cache = SolveCache.open(path, 1 << 14)
+        when:
+            (0..<8).collect { thread ->
+                Thread.start {
+                    for (int i = thread; i < 10000; i += 8) cache.put(i * 7919L, new SolveResult(Solvability.SOLVABLE, i % 200, i))
+                }
+            }*.join()
+        then:
+            cache.count() == 10000
+            (0..<10000).every { cache.get(it * 7919L).effort == it }
+        cleanup:
+            cache?.close()
+            Files.deleteIfExists(path)
+    }
+}
@@ -0,0 +1,90 @@
+package nl.quintor.solitaire.solver
+
+import nl.quintor.solitaire.corpus.Solvability
+import nl.quintor.solitaire.game.GameStateController
+import spock.lang.Specification
+
+class TranspositionTableSpec extends Specification {
+
+    def "Stored entries are found with their depth and value" () {
+        given:
+            def table = new TranspositionTable(1 << 16)
+        when:
+            table.put(42L, 7, -3)
+            table.put(0L, 1, 5)
+            def entry = table.get(42L)
+        then:
+            table.capacity == (1 << 16) / 16
+            entry != TranspositionTable.MISS
+            TranspositionTable.depth(entry) == 7
+            TranspositionTable.value(entry) == -3
+            TranspositionTable.value(table.get(0L)) == 5
+            table.get(43L) == TranspositionTable.MISS
+            table.count() == 2
+    }
+
+    def "A full bucket replaces the entry with the lowest depth, and deeper entries are not overwritten" () {
+        given:
+            def table = new TranspositionTable(TranspositionTable.BUCKET_SIZE)
+        when:
+            (1..4).each { table.put(it, it * 10, it) }
+            def stored = table.put(5L, 15, 5)
+            def shallower = table.put(4L, 1, 0)
+        then:
+            stored
+            !shallower
+            table.get(1L) == TranspositionTable.MISS
+            [2L, 3L, 4L, 5L].every { table.get(it) != TranspositionTable.MISS }
+            TranspositionTable.depth(table.get(4L)) == 40
+    }
+
+    def "After a new search starts, entries of the earlier search are replaced first, whatever their depth" () {
+        given:
+            def table = new TranspositionTable(TranspositionTable.BUCKET_SIZE)
+            (1..4).each { table.put(it, it * 10, it) }
+        when:
+            table.newSearch()
+            table.put(5L, 1, 5)
+            table.put(6L, 2, 6)
+            def shallower = table.put(4L, 3, 0)
+            table.put(7L, 0, 7)
+        then:
+            shallower
+            [1L, 2L, 3L].every { table.get(it) == TranspositionTable.MISS }
+            TranspositionTable.depth(table.get(4L)) == 3
+            [5L, 6L, 7L].every { table.get(it) != TranspositionTable.MISS }
+            table.count() == 4
+    }
+
+    def "Concurrent writers never produce entries of the wrong position" () {
+        given:
+            def table = new TranspositionTable(1 << 10)
+            def mismatches = Collections.synchronizedList([])
+        when:
+            def threads = (0..<4).collect { t ->
+                Thread.start {
+                    for (long i = 0; i < 50_000; i++) {
+                        long hash = i * 0x9E3779B97F4A7C15L
+                        table.put(hash, (int) (i % 100), (int) i)
+                        long entry = table.get(hash)
+                        if (entry != TranspositionTable.MISS && TranspositionTable.value(entry) != (int) i) mismatches << i
+                    }
+                }
+            }
+            threads*.join()
+        then:
+            mismatches.isEmpty()
+    }
+
+    def "The solver finds a solution, and reports an exhausted budget as unknown" () {
+        given:
+            def table = new TranspositionTable(1 << 20)
+        when:
+            def solved = new Solver(table).solve(GameStateController.init(0L))
+            def limited = new Solver(table, 10, Solver.DEFAULT_MAX_DEPTH).solve(GameStateController.init(3L))
+        then:
+            solved.solvability == Solvability.SOLVABLE
+            solved.solutionLength > 0
+            limited.solvability == Solvability.UNKNOWN
+    }
+}
@@ -0,0 +1,82 @@
+package nl.quintor.solitaire.sync
+
+import nl.quintor.solitaire.bot.LegalMoves
+import nl.quintor.solitaire.codec.StateLayout
+import nl.quintor.solitaire.game.GameStateController
+import nl.quintor.solitaire.models.deck.Deck
+import nl.quintor.solitaire.models.state.GameState
+import spock.lang.Specification
+
+
+class DeltaEncoderSpec extends Specification {
+
+    def "decoded state should match the visible state after every move"() {
+        given:
+            def gameState = GameStateController.init(seed)
+            def encoder = new DeltaEncoder()
+            def decoder = new DeltaDecoder()
+            def random = new Random(seed)
+            def sizes = []
+        when:
+            decoder.apply(encoder.encode(gameState))
+            def matches = [visible(decoder.gameState) == visible(gameState)]
+            for (int i = 0; i < 200; i++) {
+                def moves = LegalMoves.of(gameState)
+                if (moves.isEmpty()) break
+                moves[random.nextInt(moves.size())].apply(gameState)
+                def message = encoder.encode(gameState)
+                sizes << message.length
+                decoder.apply(message)
+                matches << (visible(decoder.gameState) == visible(gameState))
+            }
+        then:
+            matches.every()
+            decoder.gameState.score == gameState.score
+            decoder.gameState.stockCycles == gameState.stockCycles
+            sizes.sum() / sizes.size() < 12
+        where:
+            seed << [1L, 2L, 3L]
+    }
+
+    def "a delta should be rejected after a missed message, until the next snapshot"() {
+        given:
+            def gameState = GameStateController.init(4L)
+            def encoder = new DeltaEncoder()
+            def decoder = new DeltaDecoder()
+            decoder.apply(encoder.encode(gameState))
+            LegalMoves.of(gameState)[0].apply(gameState)
+            encoder.encode(gameState) // lost
+            LegalMoves.of(gameState)[0].apply(gameState)
+        when:
+            decoder.apply(encoder.encode(gameState))
+        then:
+            thrown(IllegalStateException)
+            !decoder.synced
+        when:
+            decoder.apply(encoder.snapshot(gameState))
+        then:
+            decoder.synced
+            visible(decoder.gameState) == visible(gameState)
+    }
+
+    def "a new deal should be sent as a snapshot"() {
+        given:
+            def gameState = GameStateController.init(5L)
+            def encoder = new DeltaEncoder()
+            encoder.encode(gameState)
+        when:
+            gameState.reset(6L)
+        then:
+            encoder.encode(gameState)[0] == DeltaEncoder.SNAPSHOT
+    }
+
+    private static List visible(GameState gameState) {
+        def decks = new Deck[StateLayout.PILES]
+        StateLayout.decks(gameState, decks)
+        (0..<StateLayout.PILES).collect { pile ->
+            def projection = new byte[StateLayout.MAX_SIZE]
+            def size = StateLayout.project(pile, decks[pile], projection)
+            [decks[pile].invisibleCards] + (projection[0..<size] as List)
+        }
+    }
+}
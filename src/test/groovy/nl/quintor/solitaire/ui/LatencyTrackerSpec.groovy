@@ -0,0 +1,56 @@
+package nl.quintor.solitaire.ui
+
+import nl.quintor.solitaire.game.moves.ShowLatency
+import spock.lang.Specification
+
+import static nl.quintor.solitaire.ui.LatencyTracker.Phase.*
+
+
+class LatencyTrackerSpec extends Specification {
+
+    def "a frame should record the total latency of every input that was waiting for it"() {
+        given:
+            def tracker = new LatencyTracker()
+            def read = System.nanoTime() - 5_000_000
+        when:
+            tracker.inputRead(read)
+            tracker.inputRead(read + 1_000_000)
+            def start = tracker.record(PARSE, System.nanoTime())
+            start = tracker.record(APPLY, start)
+            tracker.record(UPDATE, start)
+            tracker.frameRendered(System.nanoTime())
+            tracker.frameRendered(System.nanoTime())
+        then:
+            tracker.getTotal().getCount() == 2
+            tracker.getTotal().getMin() >= 4_000_000
+            tracker.getPhase(PARSE).getCount() == 1
+            tracker.getPhase(APPLY).getCount() == 1
+            tracker.getPhase(UPDATE).getCount() == 1
+            tracker.getPhase(RENDER).getCount() == 2
+    }
+
+    def "inputs beyond the pending buffer should not grow the tracker"() {
+        given:
+            def tracker = new LatencyTracker()
+        when:
+            10_000.times { tracker.inputRead(System.nanoTime()) }
+            tracker.frameRendered(System.nanoTime())
+        then:
+            tracker.getTotal().getCount() == 256
+    }
+
+    def "the hidden latency command should show the report of the session"() {
+        given:
+            def tracker = new LatencyTracker()
+            tracker.inputRead(System.nanoTime())
+            tracker.frameRendered(System.nanoTime())
+            def command = new ShowLatency(tracker)
+        when:
+            def instance = command.createInstance("L")
+            def report = instance.apply(null)
+        then:
+            !instance.is(command)
+            report.startsWith("Input latency of this session (ms):")
+            ["parse", "apply", "update", "render", "total"].every { report.contains("\n" + it + " ") }
+    }
+}
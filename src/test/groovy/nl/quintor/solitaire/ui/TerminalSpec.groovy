@@ -0,0 +1,21 @@
+package nl.quintor.solitaire.ui
+
+import nl.quintor.solitaire.models.card.Card
+import spock.lang.Specification
+
+
+class TerminalSpec extends Specification {
+
+    def "command should underline the first letter on Unicode terminals"() {
+        expect:
+            Terminal.command("Quit") == (Terminal.supportsUnicode() ? "Q̲uit" : "Quit")
+    }
+
+    def "cardLabel should match the suit and rank symbols of every card"() {
+        expect:
+            (0..53).every { ordinal ->
+                def card = new Card(ordinal)
+                Terminal.cardLabel(ordinal) == card.suit.symbol + " " + card.rank.symbol
+            }
+    }
+}
@@ -0,0 +1,38 @@
+package nl.quintor.solitaire.ui.cli
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+
+class InputReaderSpec extends Specification {
+
+    def "takeAll should return all queued lines in order, followed by quit at the end of the input"() {
+        given:
+            def reader = new InputReader(new ByteArrayInputStream("C\nM O SA\n\n".bytes))
+        when:
+            def lines = []
+            while (lines.isEmpty() || lines.last() != InputReader.END_OF_INPUT) {
+                lines.addAll(reader.takeAll())
+            }
+        then:
+            lines == ["C", "M O SA", "", "Q"]
+    }
+
+    @Timeout(10)
+    def "the end of the input should be queued when the queue is full"() {
+        given: "more lines than the queue holds, without a quit command"
+            def reader = new InputReader(new ByteArrayInputStream(("C\n" * 300).bytes))
+        when: "the game falls behind until the queue is full at the end of the input"
+            def lines = []
+            44.times { lines << reader.take() }
+            while (reader.lines.remainingCapacity() > 0) Thread.yield()
+            def thread = Thread.allStackTraces.keySet().find { it.name == "input-reader" && it.alive }
+            while (thread?.state == Thread.State.RUNNABLE) Thread.yield()
+            while (lines.last() != InputReader.END_OF_INPUT) {
+                lines.addAll(reader.takeAll())
+            }
+        then:
+            lines.size() == 301
+            lines.count { it == "C" } == 300
+    }
+}
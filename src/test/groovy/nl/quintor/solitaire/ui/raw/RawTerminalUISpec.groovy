@@ -0,0 +1,87 @@
+package nl.quintor.solitaire.ui.raw
+
+import nl.quintor.solitaire.game.GameStateController
+import nl.quintor.solitaire.ui.LatencyTracker
+import spock.lang.Specification
+import spock.lang.Timeout
+
+
+class RawTerminalUISpec extends Specification {
+
+    def "the screen buffer should only send the cells that changed"() {
+        given:
+            def screen = new ScreenBuffer(3, 10)
+        when:
+            screen.put(1, 2, "abc", 0)
+            def first = screen.flush(new StringBuilder())
+            def unchangedOutput = new StringBuilder()
+            screen.put(1, 2, "abc", 0)
+            def unchanged = screen.flush(unchangedOutput)
+            def out = new StringBuilder()
+            screen.put(1, 2, "abd", ScreenBuffer.RED)
+            def changed = screen.flush(out)
+        then:
+            first == 30
+            unchanged == 0
+            unchangedOutput.toString() == ""
+            changed == 3
+            out.toString() == "\033[2;3H\033[0;31mabd\033[0m"
+    }
+
+    def "picking up a card and dropping it on another pile should produce a move command"() {
+        given:
+            def ui = createUI("\033[B \033[C ")
+            def gameState = GameStateController.init(1)
+        when:
+            def commands = commands(ui, gameState, 1)
+        then:
+            commands[0] == "M A0 B"
+    }
+
+    def "command keys should produce commands, and the end of the input should quit"() {
+        given:
+            def ui = createUI("cuh?")
+            def gameState = GameStateController.init(1)
+        expect:
+            commands(ui, gameState, 5) == ["C", "R", "H", "H", "Q"]
+    }
+
+    def "cards can't be dropped on the stock"() {
+        given:
+            def ui = createUI("\033[B \033[A ")
+            def gameState = GameStateController.init(1)
+        when:
+            def commands = commands(ui, gameState, 1)
+        then:
+            commands[0] == "Q"
+            ui.message == "You can't move cards to the stock"
+    }
+
+    @Timeout(10)
+    def "the end of the input should be queued when the key queue is full"() {
+        given: "more keys than the queue holds, without a quit key"
+            def terminal = new RawTerminal(new ByteArrayInputStream(("c" * 300).bytes), new ByteArrayOutputStream(),
+                30, 80, null)
+        when: "the UI falls behind until the queue is full at the end of the input"
+            def keys = []
+            44.times { keys << terminal.take().key }
+            while (terminal.keys.remainingCapacity() > 0) Thread.yield()
+            def thread = Thread.allStackTraces.keySet().find { it.name == "key-reader" && it.alive }
+            while (thread?.state == Thread.State.RUNNABLE) Thread.yield()
+            while (keys.last() != RawTerminal.END_OF_INPUT) keys << terminal.take().key
+        then:
+            keys.size() == 301
+            keys.count { it == (int) 'c' } == 300
+    }
+
+    private static RawTerminalUI createUI(String keys) {
+        def terminal = new RawTerminal(new ByteArrayInputStream(keys.bytes), new ByteArrayOutputStream(), 30, 80, null)
+        new RawTerminalUI(terminal, new LatencyTracker())
+    }
+
+    private static List<String> commands(RawTerminalUI ui, gameState, int count) {
+        def commands = []
+        while (commands.size() < count) commands.addAll(ui.refreshAndRequestMoves(gameState, []))
+        commands
+    }
+}